@@ -0,0 +1,110 @@
+package com.stackflov.reco;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * item_sim 집계: 기존 박싱 맵 구현 vs CoOccurrenceEngine.
+ * 실행: ./gradlew jmh  (gc 프로파일러의 gc.alloc.rate.norm이 1회당 할당 바이트)
+ * 입력은 인기 글에 몰리는 분포(대략 Zipf)로 생성한 사용자별 positive 게시글 목록.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CoOccurrenceBenchmark {
+
+    private static final int PER_USER_MAX = 50;
+    private static final int TOP_K = 50;
+
+    @Param({"5000", "20000"})
+    public int users;
+
+    @Param({"20000"})
+    public int boards;
+
+    private List<List<Long>> baskets;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        baskets = new ArrayList<>(users);
+        for (int u = 0; u < users; u++) {
+            int size = 1 + random.nextInt(PER_USER_MAX + 10);
+            List<Long> basket = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                // 앞쪽 id일수록 자주 나오도록
+                double x = Math.pow(random.nextDouble(), 2.5);
+                basket.add(1L + (long) (x * boards));
+            }
+            baskets.add(basket);
+        }
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public void legacyBoxedMaps(Blackhole bh) {
+        Map<Long, Integer> boardCnt = new HashMap<>();
+        Map<Long, Map<Long, Integer>> co = new HashMap<>();
+        for (List<Long> boards : baskets) {
+            List<Long> limited = boards.size() > PER_USER_MAX ? boards.subList(0, PER_USER_MAX) : boards;
+            List<Long> list = new ArrayList<>(new LinkedHashSet<>(limited));
+            for (Long a : list) boardCnt.merge(a, 1, Integer::sum);
+            for (int i = 0; i < list.size(); i++) {
+                for (int j = 0; j < list.size(); j++) {
+                    if (i == j) continue;
+                    co.computeIfAbsent(list.get(i), k -> new HashMap<>()).merge(list.get(j), 1, Integer::sum);
+                }
+            }
+        }
+        for (Map.Entry<Long, Map<Long, Integer>> entry : co.entrySet()) {
+            int cntA = boardCnt.getOrDefault(entry.getKey(), 1);
+            List<AbstractMap.SimpleEntry<Long, Double>> top = entry.getValue().entrySet().stream()
+                    .map(en -> new AbstractMap.SimpleEntry<>(en.getKey(),
+                            en.getValue() / Math.sqrt((double) cntA * boardCnt.getOrDefault(en.getKey(), 1))))
+                    .sorted((x, y) -> Double.compare(y.getValue(), x.getValue()))
+                    .limit(TOP_K)
+                    .toList();
+            bh.consume(top);
+        }
+    }
+
+    @Benchmark
+    public void primitiveEngine(Blackhole bh) {
+        CoOccurrenceEngine engine = new CoOccurrenceEngine(PER_USER_MAX, boards);
+        long[] buffer = new long[PER_USER_MAX + 10];
+        for (List<Long> basket : baskets) {
+            for (int i = 0; i < basket.size(); i++) buffer[i] = basket.get(i);
+            engine.addBasket(buffer, basket.size());
+        }
+        engine.compute(pool, pool.getParallelism() * 4, TOP_K, (a, bs, sims, n) -> {
+            bh.consume(a);
+            bh.consume(n > 0 ? sims[0] : 0);
+        });
+    }
+
+    @Benchmark
+    public void primitiveEngineSingleThread(Blackhole bh) {
+        CoOccurrenceEngine engine = new CoOccurrenceEngine(PER_USER_MAX, boards);
+        long[] buffer = new long[PER_USER_MAX + 10];
+        for (List<Long> basket : baskets) {
+            for (int i = 0; i < basket.size(); i++) buffer[i] = basket.get(i);
+            engine.addBasket(buffer, basket.size());
+        }
+        try (ForkJoinPool single = new ForkJoinPool(1)) {
+            engine.compute(single, 1, TOP_K, (a, bs, sims, n) -> {
+                bh.consume(a);
+                bh.consume(n > 0 ? sims[0] : 0);
+            });
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.stackflov.reco;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용자 프로필 점수 누적: 기존 "TYPE|VALUE" 문자열 키 HashMap vs 사전 id + FeatureVector.
+ * 실행: ./gradlew jmh  (gc 프로파일러의 gc.alloc.rate.norm이 1회(사용자 1명)당 할당 바이트)
+ * 게시글마다 feature 6개(카테고리/작성자/태그 4개), 사용자마다 이벤트 events개.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProfileScoringBenchmark {
+
+    private static final String[] TYPES = {"CATEGORY", "AUTHOR", "TAG", "TAG", "TAG", "TAG"};
+
+    @Param({"200", "2000"})
+    public int events;
+
+    @Param({"500"})
+    public int boards;
+
+    // 기존 방식 입력: 게시글별 (type, value, weight)
+    private String[][] featureTypes;
+    private String[][] featureValues;
+    private double[][] featureWeights;
+
+    // 새 방식 입력: 게시글별 (feature id, weight) — 사전 조회는 이벤트 루프 밖에서 한 번
+    private int[][] featureIds;
+
+    private int[] eventBoards;
+    private double[] eventWeights;
+    private int[] eventDaysAgo;
+    private double[] decayByDay;
+
+    private FeatureDictionary dictionary;
+    private FeatureVector reusable;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        dictionary = new FeatureDictionary();
+        int nextId = 1;
+
+        featureTypes = new String[boards][TYPES.length];
+        featureValues = new String[boards][TYPES.length];
+        featureWeights = new double[boards][TYPES.length];
+        featureIds = new int[boards][TYPES.length];
+        for (int b = 0; b < boards; b++) {
+            for (int k = 0; k < TYPES.length; k++) {
+                String value = switch (k) {
+                    case 0 -> String.valueOf(random.nextInt(12));
+                    case 1 -> String.valueOf(random.nextInt(300));
+                    default -> "tag" + random.nextInt(2000);
+                };
+                featureTypes[b][k] = TYPES[k];
+                featureValues[b][k] = value;
+                featureWeights[b][k] = 1.0;
+                int id = dictionary.get(TYPES[k], value);
+                if (id < 0) {
+                    id = nextId++;
+                    dictionary.put(id, TYPES[k], value);
+                }
+                featureIds[b][k] = id;
+            }
+        }
+
+        eventBoards = new int[events];
+        eventWeights = new double[events];
+        eventDaysAgo = new int[events];
+        double[] weights = {1.0, 2.0, 5.0, 6.0, 1.5};
+        for (int i = 0; i < events; i++) {
+            eventBoards[i] = random.nextInt(boards);
+            eventWeights[i] = weights[random.nextInt(weights.length)];
+            eventDaysAgo[i] = random.nextInt(31);
+        }
+        decayByDay = new double[32];
+        for (int d = 0; d < decayByDay.length; d++) decayByDay[d] = Math.exp(-0.10 * d);
+        reusable = new FeatureVector(64);
+    }
+
+    @Benchmark
+    public void legacyStringKeys(Blackhole bh) {
+        Map<String, Double> scoreMap = new HashMap<>();
+        for (int i = 0; i < events; i++) {
+            int b = eventBoards[i];
+            double decay = Math.exp(-0.10 * eventDaysAgo[i]);
+            for (int k = 0; k < TYPES.length; k++) {
+                String key = featureTypes[b][k] + "|" + featureValues[b][k];
+                scoreMap.merge(key, eventWeights[i] * decay * featureWeights[b][k], Double::sum);
+            }
+        }
+        for (Map.Entry<String, Double> en : scoreMap.entrySet()) {
+            if (en.getValue() <= 0) continue;
+            String[] parts = en.getKey().split("\\|", 2);
+            bh.consume(parts[0]);
+            bh.consume(parts[1]);
+        }
+    }
+
+    @Benchmark
+    public void primitiveVector(Blackhole bh) {
+        FeatureVector scores = new FeatureVector(64);
+        accumulate(scores);
+        scores.forEach((id, score) -> {
+            if (score <= 0) return;
+            bh.consume(dictionary.typeOf(id));
+            bh.consume(dictionary.valueOf(id));
+        });
+    }
+
+    // 벡터까지 재사용하면 이벤트 수와 무관하게 할당이 거의 0
+    @Benchmark
+    public void primitiveVectorReused(Blackhole bh) {
+        reusable.clear();
+        accumulate(reusable);
+        reusable.forEach((id, score) -> {
+            if (score <= 0) return;
+            bh.consume(dictionary.typeOf(id));
+            bh.consume(dictionary.valueOf(id));
+        });
+    }
+
+    private void accumulate(FeatureVector scores) {
+        for (int i = 0; i < events; i++) {
+            int[] ids = featureIds[eventBoards[i]];
+            double[] w = featureWeights[eventBoards[i]];
+            double base = eventWeights[i] * decayByDay[eventDaysAgo[i]];
+            for (int k = 0; k < ids.length; k++) scores.add(ids[k], base * w[k]);
+        }
+    }
+}
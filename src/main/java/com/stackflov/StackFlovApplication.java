@@ -4,12 +4,14 @@ import jakarta.annotation.PostConstruct;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.TimeZone;
 
 @EnableAsync
+@EnableScheduling // 조회수 flush 등 주기 작업용 (추천 배치 RecoBatchJob은 app.reco.batch.enabled로 따로 켬)
 @SpringBootApplication
 public class StackFlovApplication {
 	@PostConstruct
@@ -0,0 +1,30 @@
+package com.stackflov.config;
+
+import com.stackflov.service.BannedWordService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Slf4j
+@Configuration
+public class RedisPubSubConfig {
+
+    // 노드 간 로컬 캐시 동기화용 구독
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       BannedWordService bannedWordService) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener((message, pattern) -> {
+            try {
+                bannedWordService.reload();
+            } catch (Exception e) {
+                log.warn("[PubSub] 금칙어 매처 재구성 실패: {}", e.getMessage());
+            }
+        }, new ChannelTopic(BannedWordService.CHANGED_CHANNEL));
+        return container;
+    }
+}
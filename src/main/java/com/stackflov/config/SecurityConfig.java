@@ -120,7 +120,7 @@ public class SecurityConfig {
                         // Bookmarks
                         .requestMatchers(HttpMethod.POST, "/bookmarks").authenticated()
                         .requestMatchers(HttpMethod.DELETE, "/bookmarks").authenticated()
-                        .requestMatchers(HttpMethod.GET, "/bookmarks/my").authenticated()
+                        .requestMatchers(HttpMethod.GET, "/bookmarks/my", "/bookmarks/my/scroll").authenticated()
                         .requestMatchers(HttpMethod.GET, "/bookmarks/board/**").permitAll()
 
                         // Profiles
@@ -133,12 +133,14 @@ public class SecurityConfig {
                         .requestMatchers("/admin/**").hasRole("ADMIN")
 
                         // Feed
-                        .requestMatchers("/feed").authenticated()
+                        .requestMatchers("/feed", "/feed/scroll").authenticated()
 
                         //내가 작성한 게시글,
                         .requestMatchers("/my/**").authenticated()
 
                         .requestMatchers(HttpMethod.GET, "/map/**").permitAll() // 지도 위치, 리뷰 조회 등
+                        .requestMatchers(HttpMethod.GET, "/hashtags/trending").permitAll() // 인기 해시태그
+                        .requestMatchers(HttpMethod.GET, "/notifications/badge").authenticated()
                         .requestMatchers(HttpMethod.GET, "/notifications/**").permitAll() // 알림 조회 (또는 authenticated)
                         .requestMatchers(HttpMethod.GET, "/comments/review/**").permitAll()
 
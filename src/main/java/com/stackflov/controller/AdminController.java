@@ -42,6 +42,17 @@ public class AdminController {
         return ResponseEntity.ok(users);
     }
 
+    @Operation(
+            summary = "관리자: 사용자 목록 조회 (COUNT 없음)",
+            description = "Slice 형태로 조회합니다. approximateTotal은 주기적으로 갱신되는 대략적인 전체 사용자 수입니다."
+    )
+    @GetMapping("/users/slice")
+    public ResponseEntity<SliceResponseDto<AdminUserDto>> getUsersSlice(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(adminService.getUsersSlice(page, size));
+    }
+
     @Operation(
             summary = "관리자: 사용자 역할 변경",
             description = "지정한 사용자 ID의 역할(ROLE_USER/ROLE_ADMIN 등)을 변경합니다."
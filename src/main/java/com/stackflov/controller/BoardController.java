@@ -44,19 +44,51 @@ public class BoardController {
         return ResponseEntity.ok(response);
     }
 
-    @Operation(summary = "게시글 목록 조회", description = "Pageable(page,size,sort)로 게시글을 페이징 조회합니다. 기본: createdAt,DESC")
+    @Operation(summary = "게시글 목록 조회", description = "Pageable(page,size)로 게시글을 페이징 조회합니다. order=latest(기본, createdAt DESC) | popular(좋아요 수 DESC)")
     @GetMapping
     public ResponseEntity<Page<BoardListResponseDto>> getBoards(
             @ParameterObject Pageable pageable,
+            @RequestParam(defaultValue = "latest") String order,
             @AuthenticationPrincipal @Nullable CustomUserPrincipal principal) {
 
         Page<BoardListResponseDto> boards = boardService.getBoards(
                 pageable.getPageNumber(),
                 pageable.getPageSize(),
-                emailOf(principal));
+                emailOf(principal),
+                order);
         return ResponseEntity.ok(boards);
     }
 
+    @Operation(summary = "게시글 목록 조회 (COUNT 없음)",
+            description = "Slice 형태로 조회합니다. hasNext로 다음 페이지 여부를 판단하고, approximateTotal은 주기적으로 갱신되는 대략적인 전체 개수입니다.")
+    @GetMapping("/slice")
+    public ResponseEntity<SliceResponseDto<BoardListResponseDto>> getBoardsSlice(
+            @ParameterObject Pageable pageable,
+            @RequestParam(defaultValue = "latest") String order,
+            @AuthenticationPrincipal @Nullable CustomUserPrincipal principal) {
+        return ResponseEntity.ok(boardService.getBoardsSlice(
+                pageable.getPageNumber(), pageable.getPageSize(), emailOf(principal), order));
+    }
+
+    @Operation(summary = "게시글 여러 건 목록 형태로 조회",
+            description = "ids 순서대로 목록 DTO를 한 번에 반환합니다 (최대 100개). 비활성/삭제된 게시글은 빠지며, 조회수는 올리지 않습니다.")
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BoardListResponseDto>> getBoardsBatch(
+            @Valid @RequestBody BoardBatchRequestDto request,
+            @AuthenticationPrincipal @Nullable CustomUserPrincipal principal) {
+        return ResponseEntity.ok(boardService.getBoardsBatch(request.getIds(), emailOf(principal)));
+    }
+
+    @Operation(summary = "게시글 목록 커서 조회 (무한 스크롤)",
+            description = "최신순 게시글을 커서 기반으로 조회합니다. 첫 페이지는 cursor 없이 호출하고, 응답의 nextCursor를 다음 요청에 그대로 전달합니다. 전체 개수는 제공하지 않습니다.")
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageResponseDto<BoardListResponseDto>> getBoardsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = Cursor.DEFAULT_SIZE) int size,
+            @AuthenticationPrincipal @Nullable CustomUserPrincipal principal) {
+        return ResponseEntity.ok(boardService.getBoardsByCursor(cursor, size, emailOf(principal)));
+    }
+
     @Operation(summary = "게시글 수정 (멀티파트)",
             description = "`data` 파트에 JSON, `images` 파트에 파일을 담아 전송합니다.")
     @PutMapping(value = "/{boardId}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -84,9 +116,10 @@ public class BoardController {
     @GetMapping("/search")
     public ResponseEntity<Page<BoardResponseDto>> searchBoards(
             @ParameterObject @ModelAttribute BoardSearchConditionDto condition,
-            @ParameterObject Pageable pageable) {
+            @ParameterObject Pageable pageable,
+            @AuthenticationPrincipal @Nullable CustomUserPrincipal principal) {
 
-        Page<BoardResponseDto> results = boardService.searchBoards(condition, pageable);
+        Page<BoardResponseDto> results = boardService.searchBoards(condition, pageable, emailOf(principal));
         return ResponseEntity.ok(results);
     }
 
@@ -3,6 +3,8 @@ package com.stackflov.controller;
 import com.stackflov.config.CustomUserPrincipal;
 import com.stackflov.dto.BookmarkRequestDto;
 import com.stackflov.dto.BookmarkResponseDto;
+import com.stackflov.dto.Cursor;
+import com.stackflov.dto.CursorPageResponseDto;
 import com.stackflov.service.BookmarkService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -66,6 +68,15 @@ public class BookmarkController {
         return ResponseEntity.ok(bookmarks);
     }
 
+    @Operation(summary = "내 북마크 커서 조회 (무한 스크롤)", description = "활성 북마크를 최신순 커서 기반으로 조회합니다. 응답의 nextCursor를 다음 요청에 전달합니다.")
+    @GetMapping("/my/scroll")
+    public ResponseEntity<CursorPageResponseDto<BookmarkResponseDto>> getUserBookmarksByCursor(
+            @AuthenticationPrincipal CustomUserPrincipal principal,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = Cursor.DEFAULT_SIZE) int size) {
+        return ResponseEntity.ok(bookmarkService.getUserBookmarksByCursor(principal.getEmail(), cursor, size));
+    }
+
     @Operation(summary = "게시글 북마크 여부 확인", description = "특정 게시글이 내 북마크에 있는지 확인합니다. 비로그인(게스트)도 호출 가능.")
     @GetMapping("/board/{boardId}/check")
     public ResponseEntity<Boolean> isBookmarked(
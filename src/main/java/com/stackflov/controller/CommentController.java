@@ -3,6 +3,8 @@ package com.stackflov.controller;
 import com.stackflov.config.CustomUserPrincipal;
 import com.stackflov.dto.CommentRequestDto;
 import com.stackflov.dto.CommentResponseDto;
+import com.stackflov.dto.Cursor;
+import com.stackflov.dto.CursorPageResponseDto;
 import com.stackflov.service.CommentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -53,6 +55,15 @@ public class CommentController {
         return ResponseEntity.ok(comments);
     }
 
+    @Operation(summary = "게시글 댓글 커서 조회 (무한 스크롤)", description = "특정 게시글의 댓글을 최신순 커서 기반으로 조회합니다. 응답의 nextCursor를 다음 요청에 전달합니다.")
+    @GetMapping("/board/{boardId}/scroll")
+    public ResponseEntity<CursorPageResponseDto<CommentResponseDto>> getCommentsByBoardWithCursor(
+            @PathVariable Long boardId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = Cursor.DEFAULT_SIZE) int size) {
+        return ResponseEntity.ok(commentService.getCommentsByBoardIdWithCursor(boardId, cursor, size));
+    }
+
     @Operation(summary = "리뷰 댓글 목록 조회", description = "특정 리뷰(reviewId)의 댓글 목록을 조회합니다.")
     @GetMapping("/review/{reviewId}")
     public ResponseEntity<List<CommentResponseDto>> getCommentsByReview(@PathVariable Long reviewId) {
@@ -2,6 +2,8 @@ package com.stackflov.controller;
 
 import com.stackflov.config.CustomUserPrincipal;
 import com.stackflov.dto.BoardListResponseDto;
+import com.stackflov.dto.Cursor;
+import com.stackflov.dto.CursorPageResponseDto;
 import com.stackflov.service.FeedService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -11,6 +13,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @Tag(name = "Feed", description = "개인화 피드 조회 API")
@@ -31,4 +34,16 @@ public class FeedController {
         Page<BoardListResponseDto> feed = feedService.getFeed(principal.getEmail(), pageable);
         return ResponseEntity.ok(feed);
     }
+
+    @Operation(
+            summary = "피드 커서 조회 (무한 스크롤)",
+            description = "팔로우한 사용자의 게시글을 최신순 커서 기반으로 조회합니다. 응답의 nextCursor를 다음 요청에 전달합니다."
+    )
+    @GetMapping("/feed/scroll")
+    public ResponseEntity<CursorPageResponseDto<BoardListResponseDto>> getFeedByCursor(
+            @AuthenticationPrincipal CustomUserPrincipal principal,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = Cursor.DEFAULT_SIZE) int size) {
+        return ResponseEntity.ok(feedService.getFeedByCursor(principal.getEmail(), cursor, size));
+    }
 }
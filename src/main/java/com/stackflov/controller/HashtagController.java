@@ -0,0 +1,34 @@
+package com.stackflov.controller;
+
+import com.stackflov.dto.TrendingHashtagDto;
+import com.stackflov.service.TrendingHashtagService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Tag(name = "Hashtag", description = "해시태그 API")
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/hashtags")
+public class HashtagController {
+
+    private final TrendingHashtagService trendingHashtagService;
+
+    @Operation(
+            summary = "인기 해시태그 조회",
+            description = "최근 기간(1h, 24h, 7d) 동안 게시글 작성/조회에서 많이 등장한 해시태그를 순위대로 조회합니다. (최근일수록 가중치가 큼, 근사값)"
+    )
+    @GetMapping("/trending")
+    public ResponseEntity<List<TrendingHashtagDto>> getTrending(
+            @RequestParam(defaultValue = "24h") String window,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(trendingHashtagService.getTrending(window, limit));
+    }
+}
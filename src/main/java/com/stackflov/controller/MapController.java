@@ -136,6 +136,17 @@ public class MapController {
         Page<ReviewListResponseDto> reviews = mapService.getReviews(pageable, email);
         return ResponseEntity.ok(reviews);
     }
+    @Operation(summary = "리뷰 목록 조회 (COUNT 없음)",
+            description = "Slice 형태로 조회합니다. hasNext로 다음 페이지 여부를 판단하고, approximateTotal은 대략적인 전체 개수입니다.")
+    @GetMapping("/reviews/slice")
+    public ResponseEntity<SliceResponseDto<ReviewListResponseDto>> getReviewsSlice(
+            @ParameterObject Pageable pageable,
+            @AuthenticationPrincipal @Nullable CustomUserPrincipal principal
+    ) {
+        String email = principal == null ? null : principal.getEmail();
+        return ResponseEntity.ok(mapService.getReviewsSlice(pageable, email));
+    }
+
     @Operation(summary = "리뷰 상세 조회")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "성공"),
@@ -3,6 +3,7 @@ package com.stackflov.controller;
 import com.stackflov.config.CustomUserPrincipal;
 import com.stackflov.dto.NoticeCreateRequestDto;
 import com.stackflov.dto.NoticeResponseDto;
+import com.stackflov.dto.SliceResponseDto;
 import com.stackflov.service.NoticeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -29,6 +30,12 @@ public class NoticeController {
         return ResponseEntity.ok(noticeService.getAllNotices(pageable));
     }
 
+    @Operation(summary = "공지 목록 조회 (COUNT 없음)", description = "Slice 형태로 조회합니다. approximateTotal은 대략적인 전체 개수입니다.")
+    @GetMapping("/notices/slice")
+    public ResponseEntity<SliceResponseDto<NoticeResponseDto>> getAllNoticesSlice(@PageableDefault(size = 10) Pageable pageable) {
+        return ResponseEntity.ok(noticeService.getAllNoticesSlice(pageable));
+    }
+
     @Operation(summary = "공지 상세 조회", description = "noticeId에 해당하는 공지사항을 조회합니다.")
     @GetMapping("/notices/{noticeId}")
     public ResponseEntity<NoticeResponseDto> getNotice(@PathVariable Long noticeId) {
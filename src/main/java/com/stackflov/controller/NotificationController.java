@@ -1,8 +1,12 @@
 package com.stackflov.controller;
 
 import com.stackflov.config.CustomUserPrincipal;
+import com.stackflov.dto.Cursor;
+import com.stackflov.dto.CursorPageResponseDto;
 import com.stackflov.dto.NotificationDto;
+import com.stackflov.dto.UnreadBadgeDto;
 import com.stackflov.service.NotificationService;
+import com.stackflov.service.UnreadCounterService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -21,6 +25,16 @@ import java.util.List;
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final UnreadCounterService unreadCounterService;
+
+    @Operation(
+            summary = "안 읽은 알림/채팅 수 (배지)",
+            description = "안 읽은 알림 수와 채팅방별 안 읽은 메시지 수를 조회합니다. 변경 시 /sub/badge/{userId} 로도 푸시됩니다."
+    )
+    @GetMapping("/badge")
+    public ResponseEntity<UnreadBadgeDto> getBadge(@AuthenticationPrincipal CustomUserPrincipal principal) {
+        return ResponseEntity.ok(unreadCounterService.getBadge(principal.getId()));
+    }
 
     // 내 알림 목록
     @Operation(summary = "내 알림 목록 조회", description = "로그인한 사용자의 알림을 페이징으로 조회합니다.")
@@ -32,6 +46,16 @@ public class NotificationController {
         return ResponseEntity.ok(page);
     }
 
+    // 내 알림 목록 (커서)
+    @Operation(summary = "내 알림 커서 조회 (무한 스크롤)", description = "최신순 알림을 커서 기반으로 조회합니다. 응답의 nextCursor를 다음 요청에 전달합니다.")
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageResponseDto<NotificationDto>> getMyNotificationsByCursor(
+            @AuthenticationPrincipal CustomUserPrincipal principal,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = Cursor.DEFAULT_SIZE) int size) {
+        return ResponseEntity.ok(notificationService.getMyNotificationsByCursor(principal.getEmail(), cursor, size));
+    }
+
     // 단건 읽음
     @Operation(summary = "알림 단건 읽음 처리", description = "알림 ID에 해당하는 알림을 읽음으로 표시합니다.")
     @PostMapping("/{id}/read")
@@ -1,35 +1,36 @@
 package com.stackflov.controller;
 
-import com.stackflov.domain.UserReco;
-import com.stackflov.repository.UserRecoRepository;
 import com.stackflov.config.CustomUserPrincipal;
-import org.springframework.data.domain.PageRequest;
+import com.stackflov.dto.BoardListResponseDto;
+import com.stackflov.dto.Cursor;
+import com.stackflov.dto.CursorPageResponseDto;
+import com.stackflov.service.PersonalFeedService;
+import com.stackflov.service.RecommendationService;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/feed")
 public class PersonalFeedController {
 
-    private final UserRecoRepository userRecoRepository;
+    private final PersonalFeedService personalFeedService;
+    private final RecommendationService recommendationService;
 
-    public PersonalFeedController(UserRecoRepository userRecoRepository) {
-        this.userRecoRepository = userRecoRepository;
+    public PersonalFeedController(PersonalFeedService personalFeedService,
+                                  RecommendationService recommendationService) {
+        this.personalFeedService = personalFeedService;
+        this.recommendationService = recommendationService;
     }
 
-    public record RecoItem(Long boardId, double score) {}
-
+    // 추천 순위대로 목록 DTO까지 채워서 반환 (nextCursor로 다음 페이지)
     @GetMapping("/personal")
-    public List<RecoItem> personal(
+    public CursorPageResponseDto<BoardListResponseDto> personal(
             @AuthenticationPrincipal CustomUserPrincipal principal,
-            @RequestParam(defaultValue = "20") int size
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = Cursor.DEFAULT_SIZE) int size
     ) {
-        Long userId = principal.getId();
-        return userRecoRepository.findTopByUserId(userId, PageRequest.of(0, size))
-                .stream()
-                .map(r -> new RecoItem(r.getId().getBoardId(), r.getScore()))
-                .toList();
+        // 추천 캐시가 아직 없으면 첫 페이지에서 바로 계산 (프로필부터, 사용자당 on-demand-ttl-ms에 한 번)
+        if (cursor == null) recommendationService.ensureUserReco(principal.getId());
+        return personalFeedService.getPersonalFeed(principal.getId(), cursor, size);
     }
-}
\ No newline at end of file
+}
@@ -2,7 +2,9 @@ package com.stackflov.domain;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -10,7 +12,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "boards")
+@Table(name = "boards", indexes = {
+        @Index(name = "idx_boards_active_like_count", columnList = "active, like_count DESC"),
+        @Index(name = "idx_boards_active_created_id", columnList = "active, created_at DESC, board_id DESC"),
+        @Index(name = "idx_boards_updated_id", columnList = "updated_at, board_id")
+})
+@DynamicUpdate // 카운터 컬럼은 벌크 UPDATE로만 바뀌므로, 엔티티 수정 시 변경된 컬럼만 UPDATE
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
@@ -40,6 +47,22 @@ public class Board {
     @Column(nullable = false)
     private int viewCount;
 
+    // === 비정규화 카운터 (LikeService/CommentService/BookmarkService에서 +1/-1, EngagementCountReconciler가 보정) ===
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(name = "like_count", nullable = false)
+    private long likeCount = 0;
+
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(name = "comment_count", nullable = false)
+    private long commentCount = 0;
+
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(name = "bookmark_count", nullable = false)
+    private long bookmarkCount = 0;
+
     @Builder.Default
     // 게시판 이미지 연관관계 (1:N)
     @OneToMany(mappedBy = "board", cascade = CascadeType.ALL, orphanRemoval = true)
@@ -56,8 +79,13 @@ public class Board {
     @Column(nullable = false)
     private boolean active = true;
 
+    // 비활성화된 시각 (보존 기간 정리 기준, 활성 상태면 null)
+    @Column(name = "deactivated_at")
+    private LocalDateTime deactivatedAt;
+
     // === 비활성화를 위한 비즈니스 메서드 추가 ===
     public void deactivate() {
+        if (this.active) this.deactivatedAt = LocalDateTime.now();
         this.active = false;
     }
 
@@ -74,6 +102,7 @@ public class Board {
 
     public void activate() {
         this.active = true;
+        this.deactivatedAt = null;
     }
 
     public void addImage(BoardImage image) {
@@ -8,7 +8,8 @@ import lombok.*;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
 @Builder
-@Table(name = "board_hashtags")
+@Table(name = "board_hashtags", uniqueConstraints = @UniqueConstraint(
+        name = "uk_board_hashtags_board_hashtag", columnNames = {"board_id", "hashtag_id"}))
 public class BoardHashtag {
 
     @Id
@@ -5,7 +5,8 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "board_images")
+@Table(name = "board_images",
+        indexes = @Index(name = "idx_board_images_board_active_sort", columnList = "board_id, active, sort_order"))
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
@@ -9,6 +9,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "bookmarks", uniqueConstraints = {
         @UniqueConstraint(columnNames = {"user_id", "board_id"})
+}, indexes = {
+        @Index(name = "idx_bookmarks_user_active_created_id", columnList = "user_id, active, created_at DESC, bookmark_id DESC")
 })
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -40,8 +42,13 @@ public class Bookmark {
     @Column(nullable = false)
     private boolean active = true;
 
+    // 비활성화된 시각 (보존 기간 정리 기준, 활성 상태면 null)
+    @Column(name = "deactivated_at")
+    private LocalDateTime deactivatedAt;
+
     // === 비활성화를 위한 비즈니스 메서드 추가 ===
     public void deactivate() {
+        if (this.active) this.deactivatedAt = LocalDateTime.now();
         this.active = false;
     }
 }
\ No newline at end of file
@@ -8,7 +8,9 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+        @Index(name = "idx_comments_board_active_created_id", columnList = "board_id, active, created_at DESC, comment_id DESC")
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
@@ -45,8 +47,13 @@ public class Comment {
     @Column(nullable = false)
     private boolean active = true;
 
+    // 비활성화된 시각 (보존 기간 정리 기준, 활성 상태면 null)
+    @Column(name = "deactivated_at")
+    private LocalDateTime deactivatedAt;
+
     // === 비활성화를 위한 비즈니스 메서드 추가 ===
     public void deactivate() {
+        if (this.active) this.deactivatedAt = LocalDateTime.now();
         this.active = false;
     }
 
@@ -57,5 +64,6 @@ public class Comment {
 
     public void activate() {
         this.active = true;
+        this.deactivatedAt = null;
     }
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.stackflov.domain;
+
+import jakarta.persistence.*;
+
+/**
+ * item_feature의 (feature_type, feature_value) → 정수 id 사전. 행은 추가만 하고 지우지 않습니다.
+ */
+@Entity
+@Table(name="feature_dict", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_feature_dict_type_value", columnNames = {"feature_type", "feature_value"})
+})
+public class FeatureDict {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name="feature_id")
+    private Integer featureId;
+
+    @Column(name="feature_type", nullable=false, length=32)
+    private String featureType;
+
+    @Column(name="feature_value", nullable=false, length=128)
+    private String featureValue;
+
+    protected FeatureDict() {}
+
+    public Integer getFeatureId() { return featureId; }
+    public String getFeatureType() { return featureType; }
+    public String getFeatureValue() { return featureValue; }
+}
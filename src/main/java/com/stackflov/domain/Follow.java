@@ -9,6 +9,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "follows", uniqueConstraints = {
         @UniqueConstraint(columnNames = {"follower_id", "followed_id"})
+}, indexes = {
+        @Index(name = "idx_follows_followed_active_follower", columnList = "followed_id, active, follower_id")
 })
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -0,0 +1,22 @@
+package com.stackflov.domain;
+
+import jakarta.persistence.*;
+
+/**
+ * item_sim 증분 갱신용 co-occurrence 카운트 (board_a, board_b 양방향으로 저장)
+ */
+@Entity
+@Table(name="item_cooc")
+public class ItemCooc {
+
+    @EmbeddedId
+    private ItemSimId id; // (board_a, board_b) 쌍 키는 item_sim과 같음
+
+    @Column(name="cnt", nullable=false)
+    private int cnt;
+
+    protected ItemCooc() {}
+
+    public ItemSimId getId() { return id; }
+    public int getCnt() { return cnt; }
+}
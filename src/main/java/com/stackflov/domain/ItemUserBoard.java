@@ -0,0 +1,23 @@
+package com.stackflov.domain;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * item_sim 증분 갱신용: 사용자별 positive 게시글 바구니 (최근 last_at 순으로 최대 N개 유지)
+ */
+@Entity
+@Table(name="item_user_board")
+public class ItemUserBoard {
+
+    @EmbeddedId
+    private ItemUserBoardId id;
+
+    @Column(name="last_at", nullable=false)
+    private LocalDateTime lastAt;
+
+    protected ItemUserBoard() {}
+
+    public ItemUserBoardId getId() { return id; }
+    public LocalDateTime getLastAt() { return lastAt; }
+}
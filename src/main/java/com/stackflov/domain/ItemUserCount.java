@@ -0,0 +1,29 @@
+package com.stackflov.domain;
+
+import jakarta.persistence.*;
+
+/**
+ * item_sim 증분 갱신용: 게시글을 바구니에 가진 사용자 수 + item_sim 재계산 필요 표시
+ */
+@Entity
+@Table(name="item_user_count", indexes = {
+        @Index(name = "idx_item_user_count_dirty", columnList = "dirty")
+})
+public class ItemUserCount {
+
+    @Id
+    @Column(name="board_id")
+    private Long boardId;
+
+    @Column(name="user_count", nullable=false)
+    private int userCount;
+
+    @Column(name="dirty", nullable=false)
+    private boolean dirty;
+
+    protected ItemUserCount() {}
+
+    public Long getBoardId() { return boardId; }
+    public int getUserCount() { return userCount; }
+    public boolean isDirty() { return dirty; }
+}
@@ -42,13 +42,24 @@ public class Like {
     @Column(nullable = false)
     private boolean active = true;
 
+    // 비활성화된 시각 (보존 기간 정리 기준, 활성 상태면 null)
+    @Column(name = "deactivated_at")
+    private LocalDateTime deactivatedAt;
+
     public void deactivate() {
+        if (this.active) this.deactivatedAt = LocalDateTime.now();
         this.active = false;
     }
-    public void activate() { this.active = true; }
+    public void activate() {
+        this.active = true;
+        this.deactivatedAt = null;
+    }
     public boolean isActive() { return active; }
 
-    public void setActive(boolean active) { this.active = active; }
+    public void setActive(boolean active) {
+        if (active) activate();
+        else deactivate();
+    }
     public boolean isBoardLike() { return board != null && review == null; }
     public boolean isReviewLike() { return review != null && board == null; }
 }
@@ -2,13 +2,15 @@ package com.stackflov.domain;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "notifications", indexes = {
-        @Index(name = "idx_notifications_receiver_created", columnList = "user_id, createdAt DESC")
+        @Index(name = "idx_notifications_receiver_created", columnList = "user_id, createdAt DESC"),
+        @Index(name = "idx_notifications_receiver_created_id", columnList = "user_id, created_at DESC, notification_id DESC")
 })
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -42,6 +44,15 @@ public class Notification {
     @Column(nullable = false, name = "`read`")
     private boolean isRead = false;
 
+    // 합쳐진 알림: 행위자 수 / 최근 행위자 id (최신순, 쉼표 구분)
+    @Builder.Default
+    @ColumnDefault("1")
+    @Column(nullable = false)
+    private int actorCount = 1;
+
+    @Column(length = 100)
+    private String latestActorIds;
+
     @CreationTimestamp
     private LocalDateTime createdAt;
 
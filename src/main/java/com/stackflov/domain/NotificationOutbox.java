@@ -0,0 +1,68 @@
+package com.stackflov.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 알림 outbox. 알림을 발생시킨 트랜잭션 안에서 한 줄만 쓰고,
+ * NotificationDispatcher가 커밋된 행을 모아 notifications INSERT + 웹소켓 푸시를 수행합니다.
+ */
+@Entity
+@Table(name = "notification_outbox", indexes = {
+        @Index(name = "idx_notification_outbox_due", columnList = "status, next_attempt_at, outbox_id"),
+        @Index(name = "idx_notification_outbox_receiver", columnList = "receiver_id, outbox_id")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class NotificationOutbox {
+
+    public enum Status { PENDING, DEAD }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "outbox_id")
+    private Long id;
+
+    @Column(name = "receiver_id", nullable = false)
+    private Long receiverId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, name = "`type`")
+    private NotificationType notificationType;
+
+    @Column(nullable = false, length = 200)
+    private String message;
+
+    @Column(length = 300)
+    private String link;
+
+    // 합치기 대상 알림이면 행위자 정보가 있고, message에는 "님이 " 뒤에 올 문구만 저장 (예: "\"제목\"를 좋아합니다.")
+    @Column(name = "actor_id")
+    private Long actorId;
+
+    @Column(name = "actor_name", length = 50)
+    private String actorName;
+
+    // 알림 발생 시각 (notifications.created_at으로 그대로 사용)
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Status status = Status.PENDING;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private int attempts = 0;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 500)
+    private String lastError;
+}
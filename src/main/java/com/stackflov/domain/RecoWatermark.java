@@ -0,0 +1,28 @@
+package com.stackflov.domain;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 추천 배치 증분 처리 위치 (반영한 마지막 user_event id). 델타 반영과 같은 트랜잭션에서 갱신합니다.
+ */
+@Entity
+@Table(name="reco_watermark")
+public class RecoWatermark {
+
+    @Id
+    @Column(name="name", length=50)
+    private String name;
+
+    @Column(name="last_event_id", nullable=false)
+    private long lastEventId;
+
+    @Column(name="updated_at", nullable=false)
+    private LocalDateTime updatedAt;
+
+    protected RecoWatermark() {}
+
+    public String getName() { return name; }
+    public long getLastEventId() { return lastEventId; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
@@ -2,7 +2,9 @@ package com.stackflov.domain;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.annotations.Where;
 
@@ -15,6 +17,7 @@ import java.util.List;
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Where(clause = "active = true")
+@DynamicUpdate // 카운터 컬럼은 벌크 UPDATE로만 바뀌므로, 엔티티 수정 시 변경된 컬럼만 UPDATE
 @Builder
 @AllArgsConstructor
 public class Review {
@@ -45,6 +48,22 @@ public class Review {
     @Column(nullable = false)
     private int rating;
 
+    // === 비정규화 카운터 (LikeService/CommentService/BookmarkService에서 +1/-1, EngagementCountReconciler가 보정) ===
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(name = "like_count", nullable = false)
+    private long likeCount = 0;
+
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(name = "comment_count", nullable = false)
+    private long commentCount = 0;
+
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(name = "bookmark_count", nullable = false)
+    private long bookmarkCount = 0;
+
     @CreationTimestamp
     private LocalDateTime createdAt;
 
@@ -5,7 +5,10 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "user_event")
+@Table(name = "user_event", indexes = {
+        // 배치 스트리밍 스캔 (user_id, created_at 순)
+        @Index(name = "idx_user_event_user_created", columnList = "user_id, created_at")
+})
 public class UserEvent {
 
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -37,6 +40,7 @@ public class UserEvent {
         this.createdAt = createdAt;
     }
 
+    public Long getUserEventId() { return userEventId; }
     public Long getUserId() { return userId; }
     public Long getBoardId() { return boardId; }
     public EventType getEventType() { return eventType; }
@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name="user_reco")
+@Table(name="user_reco", indexes = {
+        @Index(name="idx_user_reco_user_score", columnList="user_id, score DESC, board_id DESC")
+})
 public class UserReco {
 
     @EmbeddedId
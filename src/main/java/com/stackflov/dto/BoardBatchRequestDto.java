@@ -0,0 +1,16 @@
+package com.stackflov.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+public class BoardBatchRequestDto {
+    @NotEmpty(message = "게시글 ID를 하나 이상 입력해주세요.")
+    @Size(max = 100, message = "한 번에 최대 100개까지 조회할 수 있습니다.")
+    private List<Long> ids;
+}
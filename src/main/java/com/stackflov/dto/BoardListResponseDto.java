@@ -4,12 +4,14 @@ import com.stackflov.domain.Board;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
 @Getter
-@Builder
+@Builder(toBuilder = true)
 @AllArgsConstructor
+@NoArgsConstructor // 캐시(JSON) 역직렬화용
 public class BoardListResponseDto {
     private Long id;
     private String title;
@@ -23,6 +25,7 @@ public class BoardListResponseDto {
     private LocalDateTime updatedAt;
     private boolean isBookmarked;
     private long likeCount;
+    private long commentCount;
     private boolean isLiked;
 
     public BoardListResponseDto(Board board) {
@@ -37,7 +40,8 @@ public class BoardListResponseDto {
         this.createdAt = board.getCreatedAt();
         this.updatedAt = board.getUpdatedAt();
         this.isBookmarked = false;
-        this.likeCount = 0; // 이 부분은 필요하다면 likeRepository.countByBoard(board) 등으로 채울 수 있습니다.
+        this.likeCount = board.getLikeCount();
+        this.commentCount = board.getCommentCount();
         this.isLiked = false;
     }
 }
\ No newline at end of file
@@ -8,7 +8,7 @@ import lombok.NoArgsConstructor;
 import java.util.List;
 
 @Getter
-@Builder // DTO에 @Builder가 있어야 Service에서 .builder() 사용 가능
+@Builder(toBuilder = true) // DTO에 @Builder가 있어야 Service에서 .builder() 사용 가능 (캐시 값 복사 시 toBuilder)
 @AllArgsConstructor
 @NoArgsConstructor
 public class BoardResponseDto {
@@ -25,6 +25,7 @@ public class BoardResponseDto {
     private java.time.LocalDateTime updatedAt;
     private String authorProfileImageUrl;
     private long likeCount;
+    private long commentCount;
     private boolean isLiked;
     private boolean isBookmarked;
     private List<String> hashtags;
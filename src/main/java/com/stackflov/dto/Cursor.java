@@ -0,0 +1,40 @@
+package com.stackflov.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 무한 스크롤용 keyset 커서 (createdAt, id).
+ * - 클라이언트에는 Base64URL 문자열로만 노출 (형식에 의존하지 않도록)
+ * - 다음 페이지 조건: createdAt < :at OR (createdAt = :at AND id < :id)
+ */
+public record Cursor(LocalDateTime createdAt, Long id) {
+
+    // 첫 페이지: 모든 행보다 "뒤"에 있는 가상의 위치 (MySQL DATETIME 최대값)
+    public static final Cursor FIRST = new Cursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    // 커서 API의 기본 페이지 크기 (@RequestParam defaultValue에 쓰므로 문자열 상수)
+    public static final String DEFAULT_SIZE = "20";
+    public static final int MAX_SIZE = 100;
+
+    public static Cursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return FIRST;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int comma = raw.lastIndexOf(',');
+            return new Cursor(LocalDateTime.parse(raw.substring(0, comma)), Long.parseLong(raw.substring(comma + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+    }
+
+    public String encode() {
+        String raw = createdAt + "," + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+}
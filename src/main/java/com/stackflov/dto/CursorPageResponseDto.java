@@ -0,0 +1,44 @@
+package com.stackflov.dto;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 커서 기반 페이지 응답 (전체 개수 없음).
+ * 조회는 size + 1건으로 하고, 넘친 1건으로 다음 페이지 존재 여부만 판단합니다.
+ */
+@Getter
+public class CursorPageResponseDto<T> {
+    private final List<T> items;
+    private final String nextCursor; // 마지막 페이지면 null
+    private final boolean hasNext;
+
+    private CursorPageResponseDto(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasNext = nextCursor != null;
+    }
+
+    public static <T> CursorPageResponseDto<T> of(List<T> fetched, int size,
+                                                 Function<T, LocalDateTime> createdAt,
+                                                 Function<T, Long> id) {
+        if (fetched.size() <= size) {
+            return new CursorPageResponseDto<>(fetched, null);
+        }
+        List<T> page = fetched.subList(0, size);
+        T last = page.get(size - 1);
+        return new CursorPageResponseDto<>(page, new Cursor(createdAt.apply(last), id.apply(last)).encode());
+    }
+
+    /** (createdAt, id)가 아닌 다른 정렬 키를 쓰는 경우: 호출 측에서 만든 커서를 그대로 */
+    public static <T> CursorPageResponseDto<T> of(List<T> items, String nextCursor) {
+        return new CursorPageResponseDto<>(items, nextCursor);
+    }
+
+    public <R> CursorPageResponseDto<R> map(Function<T, R> mapper) {
+        return new CursorPageResponseDto<>(items.stream().map(mapper).toList(), nextCursor);
+    }
+}
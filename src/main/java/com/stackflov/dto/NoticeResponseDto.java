@@ -18,11 +18,16 @@ public class NoticeResponseDto {
 
     // 상세 조회용 생성자
     public NoticeResponseDto(Notice notice) {
+        this(notice, notice.getViewCount());
+    }
+
+    // 상세 조회용 생성자 (flush 대기 중인 조회수까지 합산한 값을 사용)
+    public NoticeResponseDto(Notice notice, int viewCount) {
         this.id = notice.getId();
         this.title = notice.getTitle();
         this.content = notice.getContent();
         this.authorNickname = notice.getAuthor().getNickname();
-        this.viewCount = notice.getViewCount();
+        this.viewCount = viewCount;
         this.createdAt = notice.getCreatedAt();
         this.updatedAt = notice.getUpdatedAt();
         this.active = notice.isActive();
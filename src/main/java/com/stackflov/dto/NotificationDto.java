@@ -2,11 +2,15 @@ package com.stackflov.dto;
 
 import com.stackflov.domain.Notification;
 import com.stackflov.domain.NotificationType;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
 
 @Getter
+@AllArgsConstructor
 public class NotificationDto {
     private final Long id;
     private final NotificationType type;
@@ -14,6 +18,8 @@ public class NotificationDto {
     private final String link;
     private final boolean read;
     private final LocalDateTime createdAt;
+    private final int actorCount;              // 합쳐진 알림의 행위자 수 (일반 알림은 1)
+    private final List<Long> latestActorIds;   // 최근 행위자 (최신순)
 
     public NotificationDto(Notification n) {
         this.id = n.getId();
@@ -22,5 +28,12 @@ public class NotificationDto {
         this.link = n.getLink();
         this.read = n.isRead();
         this.createdAt = n.getCreatedAt();
+        this.actorCount = Math.max(1, n.getActorCount());
+        this.latestActorIds = parseIds(n.getLatestActorIds());
+    }
+
+    public static List<Long> parseIds(String ids) {
+        if (ids == null || ids.isBlank()) return List.of();
+        return Arrays.stream(ids.split(",")).map(Long::valueOf).toList();
     }
 }
@@ -0,0 +1,29 @@
+package com.stackflov.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 추천 피드용 keyset 커서 (score, boardId).
+ * - 다음 페이지 조건: score < :score OR (score = :score AND boardId < :boardId)
+ */
+public record RecoCursor(double score, long boardId) {
+
+    public static final RecoCursor FIRST = new RecoCursor(Double.MAX_VALUE, Long.MAX_VALUE);
+
+    public static RecoCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return FIRST;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int comma = raw.lastIndexOf(',');
+            return new RecoCursor(Double.parseDouble(raw.substring(0, comma)), Long.parseLong(raw.substring(comma + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+    }
+
+    public String encode() {
+        String raw = score + "," + boardId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
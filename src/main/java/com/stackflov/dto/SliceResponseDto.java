@@ -0,0 +1,28 @@
+package com.stackflov.dto;
+
+import lombok.Getter;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * COUNT 쿼리 없는 페이지 응답.
+ * - hasNext: size + 1건 조회로 판단 (정확)
+ * - approximateTotal: 주기적으로 갱신되는 대략적인 전체 개수 (모르면 -1)
+ */
+@Getter
+public class SliceResponseDto<T> {
+    private final List<T> content;
+    private final int page;
+    private final int size;
+    private final boolean hasNext;
+    private final long approximateTotal;
+
+    public SliceResponseDto(Slice<T> slice, long approximateTotal) {
+        this.content = slice.getContent();
+        this.page = slice.getNumber();
+        this.size = slice.getSize();
+        this.hasNext = slice.hasNext();
+        this.approximateTotal = approximateTotal;
+    }
+}
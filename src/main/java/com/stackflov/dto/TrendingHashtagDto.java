@@ -0,0 +1,11 @@
+package com.stackflov.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class TrendingHashtagDto {
+    private String name;
+    private double score; // 감쇠가 적용된 추정 빈도 (순위 비교용)
+}
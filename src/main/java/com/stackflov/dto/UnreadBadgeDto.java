@@ -0,0 +1,14 @@
+package com.stackflov.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+public class UnreadBadgeDto {
+    private long notifications;      // 안 읽은 알림 수
+    private long chats;              // 안 읽은 채팅 메시지 수 (전체 방 합계)
+    private Map<Long, Long> rooms;   // 방 id → 안 읽은 메시지 수 (0인 방은 생략)
+}
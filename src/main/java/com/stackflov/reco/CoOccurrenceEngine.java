@@ -0,0 +1,261 @@
+package com.stackflov.reco;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * 게시글 co-occurrence 기반 유사도 (cosine: co(a,b) / sqrt(cnt(a)·cnt(b))) 계산기.
+ * - 게시글 id는 사전(LongIntHashMap)으로 0부터 이어지는 int 인덱스로 바꿔서 보관
+ * - 게시글 → 바구니 역색인(CSR)을 만든 뒤, a마다 dense int 배열에 co(a, b)를 누적 (쌍 해시맵 없음)
+ * - boardA 해시로 샤드를 나눠 ForkJoinPool에서 병렬 처리, a별 TopK(min-heap)로 상위만 남김
+ * - 증분 갱신용 원본 카운트(게시글별 사용자 수, 전체 공동 등장 횟수)도 꺼낼 수 있음 (forEachBoard, forEachCooccurrence)
+ * addBasket은 단일 스레드에서 호출하고, 수집이 끝난 뒤에 compute/forEach*를 호출합니다.
+ */
+public final class CoOccurrenceEngine {
+
+    /** boardA 한 행: boardBs/sims는 유사도 내림차순, count개만 유효 (배열은 재사용되므로 호출 안에서만 사용) */
+    @FunctionalInterface
+    public interface RowConsumer {
+        void accept(long boardA, long[] boardBs, double[] sims, int count);
+    }
+
+    /** boardA 한 행의 공동 등장 횟수: boardBs/counts는 count개만 유효, 순서 없음 (배열은 재사용되므로 호출 안에서만 사용) */
+    @FunctionalInterface
+    public interface CountConsumer {
+        void accept(long boardA, long[] boardBs, int[] counts, int count);
+    }
+
+    @FunctionalInterface
+    public interface BoardCountConsumer {
+        void accept(long boardId, int users);
+    }
+
+    private final int maxBasketSize;
+    private final LongIntHashMap dictionary;
+    private long[] boardIds;   // 인덱스 → 게시글 id
+    private int[] boardCounts; // 인덱스 → 포함된 바구니(사용자) 수
+    private int[] lastBasket;  // 바구니 내 중복 제거용 표시
+    private int boards;
+    private int basketSeq;
+    private final List<int[]> baskets = new ArrayList<>();
+    private long pairCount;
+
+    public CoOccurrenceEngine(int maxBasketSize) {
+        this(maxBasketSize, 1024);
+    }
+
+    public CoOccurrenceEngine(int maxBasketSize, int expectedBoards) {
+        this.maxBasketSize = maxBasketSize;
+        this.dictionary = new LongIntHashMap(expectedBoards);
+        int capacity = Math.max(16, expectedBoards);
+        this.boardIds = new long[capacity];
+        this.boardCounts = new int[capacity];
+        this.lastBasket = new int[capacity];
+        Arrays.fill(lastBasket, -1);
+    }
+
+    /** 한 사용자의 positive 게시글 (앞쪽이 우선, 중복은 한 번만, maxBasketSize개까지) */
+    public void addBasket(long[] boardIdsOfUser, int length) {
+        int basketNo = basketSeq++;
+        int[] basket = new int[Math.min(length, maxBasketSize)];
+        int n = 0;
+        for (int i = 0; i < length && n < basket.length; i++) {
+            int idx = indexOf(boardIdsOfUser[i]);
+            if (lastBasket[idx] == basketNo) continue;
+            lastBasket[idx] = basketNo;
+            boardCounts[idx]++;
+            basket[n++] = idx;
+        }
+        // 한 개짜리는 cnt에만 반영 (쌍이 없음)
+        if (n < 2) return;
+        baskets.add(n == basket.length ? basket : Arrays.copyOf(basket, n));
+        pairCount += (long) n * (n - 1);
+    }
+
+    public int boardCount() {
+        return boards;
+    }
+
+    /** 누적된 (a, b) 순서쌍 증가 횟수 (중복 포함) */
+    public long pairCount() {
+        return pairCount;
+    }
+
+    /**
+     * 샤드별로 병렬 집계 후, 호출한 스레드에서 boardA 순서와 무관하게 행을 하나씩 넘깁니다.
+     */
+    public void compute(ForkJoinPool pool, int shards, int topK, RowConsumer consumer) {
+        if (baskets.isEmpty()) return;
+        int shardCount = Math.max(1, shards);
+        int[] shardOf = new int[boards];
+        for (int i = 0; i < boards; i++) {
+            shardOf[i] = (int) ((LongIntHashMap.mix(boardIds[i]) >>> 1) % shardCount);
+        }
+        int[][] basketArray = baskets.toArray(new int[0][]);
+        Membership membership = Membership.of(basketArray, boards);
+
+        List<ForkJoinTask<ShardResult>> tasks = new ArrayList<>(shardCount);
+        for (int s = 0; s < shardCount; s++) {
+            final int shard = s;
+            tasks.add(pool.submit(() -> computeShard(shard, shardCount, shardOf, basketArray, membership, topK)));
+        }
+
+        long[] outB = new long[topK];
+        double[] outSims = new double[topK];
+        for (ForkJoinTask<ShardResult> task : tasks) {
+            ShardResult result = task.join();
+            for (int r = 0; r < result.rows; r++) {
+                int from = result.offsets[r];
+                int count = result.offsets[r + 1] - from;
+                for (int i = 0; i < count; i++) outB[i] = boardIds[result.neighbors[from + i]];
+                System.arraycopy(result.sims, from, outSims, 0, count);
+                consumer.accept(boardIds[result.rowBoards[r]], outB, outSims, count);
+            }
+        }
+    }
+
+    /** 게시글마다 포함된 바구니(사용자) 수 */
+    public void forEachBoard(BoardCountConsumer consumer) {
+        for (int i = 0; i < boards; i++) consumer.accept(boardIds[i], boardCounts[i]);
+    }
+
+    /**
+     * 모든 (a, b) 공동 등장 횟수를 boardA 단위로 호출한 스레드에서 차례로 넘깁니다.
+     * 쌍을 모아 두지 않고 a마다 dense 배열에 누적했다가 바로 넘기므로, 메모리는 게시글 수에 비례합니다.
+     */
+    public void forEachCooccurrence(CountConsumer consumer) {
+        if (baskets.isEmpty()) return;
+        int[][] basketArray = baskets.toArray(new int[0][]);
+        Membership membership = Membership.of(basketArray, boards);
+        int[] co = new int[boards];
+        int[] touched = new int[boards];
+        long[] outB = new long[boards];
+        int[] outCounts = new int[boards];
+
+        for (int a = 0; a < boards; a++) {
+            int touchedCount = 0;
+            for (int m = membership.offsets[a]; m < membership.offsets[a + 1]; m++) {
+                for (int b : basketArray[membership.baskets[m]]) {
+                    if (b == a) continue;
+                    if (co[b]++ == 0) touched[touchedCount++] = b;
+                }
+            }
+            if (touchedCount == 0) continue;
+            for (int t = 0; t < touchedCount; t++) {
+                int b = touched[t];
+                outB[t] = boardIds[b];
+                outCounts[t] = co[b];
+                co[b] = 0;
+            }
+            consumer.accept(boardIds[a], outB, outCounts, touchedCount);
+        }
+    }
+
+    /**
+     * 샤드에 속한 a마다: a가 들어 있는 바구니들을 훑으며 co(a, b)를 dense 배열에 누적 (sparse accumulator)
+     * → 건드린 b만 TopK에 넣고 0으로 되돌림. 해시/정렬 없이 캐시 친화적으로 동작합니다.
+     */
+    private ShardResult computeShard(int shard, int shardCount, int[] shardOf, int[][] basketArray,
+                                     Membership membership, int topK) {
+        int[] co = new int[boards];
+        int[] touched = new int[boards];
+        TopK heap = new TopK(topK);
+        int[] drainedIds = new int[topK];
+        double[] drainedSims = new double[topK];
+        ShardResult result = new ShardResult(Math.max(16, boards / shardCount), topK);
+
+        for (int a = 0; a < boards; a++) {
+            if (shardOf[a] != shard) continue;
+            int touchedCount = 0;
+            for (int m = membership.offsets[a]; m < membership.offsets[a + 1]; m++) {
+                for (int b : basketArray[membership.baskets[m]]) {
+                    if (b == a) continue;
+                    if (co[b]++ == 0) touched[touchedCount++] = b;
+                }
+            }
+            if (touchedCount == 0) continue;
+
+            double cntA = boardCounts[a];
+            for (int t = 0; t < touchedCount; t++) {
+                int b = touched[t];
+                heap.offer(b, co[b] / Math.sqrt(cntA * boardCounts[b]));
+                co[b] = 0;
+            }
+            int n = heap.drainDescending(drainedIds, drainedSims);
+            result.add(a, drainedIds, drainedSims, n);
+        }
+        return result;
+    }
+
+    private int indexOf(long boardId) {
+        int idx = dictionary.putIfAbsent(boardId, boards);
+        if (idx == boards) {
+            if (boards == boardIds.length) grow();
+            boardIds[boards] = boardId;
+            boards++;
+        }
+        return idx;
+    }
+
+    private void grow() {
+        int capacity = boardIds.length << 1;
+        boardIds = Arrays.copyOf(boardIds, capacity);
+        boardCounts = Arrays.copyOf(boardCounts, capacity);
+        int old = lastBasket.length;
+        lastBasket = Arrays.copyOf(lastBasket, capacity);
+        Arrays.fill(lastBasket, old, capacity, -1);
+    }
+
+    /** 게시글 → 포함된 바구니 번호 (CSR) */
+    private record Membership(int[] offsets, int[] baskets) {
+        static Membership of(int[][] basketArray, int boards) {
+            int[] offsets = new int[boards + 1];
+            for (int[] basket : basketArray) {
+                for (int b : basket) offsets[b + 1]++;
+            }
+            for (int i = 0; i < boards; i++) offsets[i + 1] += offsets[i];
+            int[] fill = Arrays.copyOf(offsets, boards);
+            int[] members = new int[offsets[boards]];
+            for (int k = 0; k < basketArray.length; k++) {
+                for (int b : basketArray[k]) members[fill[b]++] = k;
+            }
+            return new Membership(offsets, members);
+        }
+    }
+
+    /** 샤드 결과 (CSR 형태: rowBoards[r]의 이웃은 neighbors[offsets[r] .. offsets[r+1])) */
+    private static final class ShardResult {
+        int rows;
+        int[] rowBoards;
+        int[] offsets;
+        int[] neighbors;
+        double[] sims;
+
+        ShardResult(int expectedRows, int topK) {
+            this.rowBoards = new int[expectedRows];
+            this.offsets = new int[expectedRows + 1];
+            this.neighbors = new int[expectedRows * Math.max(1, Math.min(topK, 8))];
+            this.sims = new double[neighbors.length];
+        }
+
+        void add(int a, int[] ids, double[] scores, int n) {
+            if (rows == rowBoards.length) {
+                rowBoards = Arrays.copyOf(rowBoards, Math.max(16, rows << 1));
+                offsets = Arrays.copyOf(offsets, rowBoards.length + 1);
+            }
+            int from = offsets[rows];
+            if (from + n > neighbors.length) {
+                int capacity = Math.max(from + n, neighbors.length << 1);
+                neighbors = Arrays.copyOf(neighbors, capacity);
+                sims = Arrays.copyOf(sims, capacity);
+            }
+            System.arraycopy(ids, 0, neighbors, from, n);
+            System.arraycopy(scores, 0, sims, from, n);
+            rowBoards[rows] = a;
+            offsets[++rows] = from + n;
+        }
+    }
+}
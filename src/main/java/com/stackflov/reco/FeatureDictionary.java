@@ -0,0 +1,62 @@
+package com.stackflov.reco;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * (feature_type, feature_value) ↔ 정수 id 메모리 사전.
+ * - 조회는 타입별 맵 두 단계라 "TYPE|VALUE" 같은 문자열을 만들지 않음
+ * - id → 문자열은 id를 인덱스로 쓰는 배열 (id는 DB IDENTITY라 0 이상, 중간이 비어 있을 수 있음)
+ * - feature_dict는 대소문자 무시 collation이라 값은 소문자로 맞춰 조회 ("Java"와 "java"는 같은 id),
+ *   valueOf는 DB에 저장된 원래 값을 돌려줌
+ * 조회는 여러 스레드에서 동시에 해도 되고, put은 내부에서 직렬화합니다.
+ */
+public final class FeatureDictionary {
+
+    private final Map<String, Map<String, Integer>> idsByType = new ConcurrentHashMap<>();
+    private volatile String[] types = new String[1024];
+    private volatile String[] values = new String[1024];
+    private volatile int size;
+
+    /** 없으면 -1 */
+    public int get(String type, String value) {
+        Map<String, Integer> ids = idsByType.get(type);
+        if (ids == null) return -1;
+        Integer id = ids.get(key(value));
+        return id == null ? -1 : id;
+    }
+
+    public synchronized void put(int id, String type, String value) {
+        if (id < 0) throw new IllegalArgumentException("feature id는 0 이상이어야 합니다: " + id);
+        if (id >= types.length) {
+            int capacity = Math.max(types.length << 1, id + 1);
+            values = Arrays.copyOf(values, capacity);
+            types = Arrays.copyOf(types, capacity);
+        }
+        if (types[id] == null) size++;
+        // 배열 원소를 먼저 채운 뒤 맵에 노출 (맵에서 id를 본 스레드는 문자열도 볼 수 있도록)
+        values[id] = value;
+        types[id] = type;
+        idsByType.computeIfAbsent(type, t -> new ConcurrentHashMap<>()).put(key(value), id);
+    }
+
+    public String typeOf(int id) {
+        String[] t = types;
+        return id < t.length ? t[id] : null;
+    }
+
+    public String valueOf(int id) {
+        String[] v = values;
+        return id < v.length ? v[id] : null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static String key(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+}
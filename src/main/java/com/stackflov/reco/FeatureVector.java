@@ -0,0 +1,112 @@
+package com.stackflov.reco;
+
+import java.util.Arrays;
+
+/**
+ * int feature id → double 점수 희소 벡터 (open addressing, linear probing). 누적 중에는 객체를 만들지 않습니다.
+ * - 키는 0 이상 (빈 칸은 -1)
+ * - 삭제는 지원하지 않음 (집계 전용), clear 후 재사용 가능
+ * - 스레드 안전하지 않음
+ */
+public final class FeatureVector {
+
+    private static final float LOAD_FACTOR = 0.6f;
+    private static final int EMPTY = -1;
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(int featureId, double score);
+    }
+
+    private int[] keys;
+    private double[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    public FeatureVector() {
+        this(16);
+    }
+
+    public FeatureVector(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) Math.ceil(expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double get(int featureId) {
+        int slot = slot(featureId);
+        while (true) {
+            int k = keys[slot];
+            if (k == EMPTY) return 0.0;
+            if (k == featureId) return values[slot];
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    public void add(int featureId, double delta) {
+        if (featureId < 0) throw new IllegalArgumentException("feature id는 0 이상이어야 합니다: " + featureId);
+        int slot = slot(featureId);
+        while (true) {
+            int k = keys[slot];
+            if (k == featureId) {
+                values[slot] += delta;
+                return;
+            }
+            if (k == EMPTY) {
+                keys[slot] = featureId;
+                values[slot] = delta;
+                if (++size >= resizeAt) resize();
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    public void forEach(EntryConsumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) consumer.accept(keys[i], values[i]);
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+
+    private void resize() {
+        int[] oldKeys = keys;
+        double[] oldValues = values;
+        allocate(keys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            int k = oldKeys[i];
+            if (k == EMPTY) continue;
+            int slot = slot(k);
+            while (keys[slot] != EMPTY) slot = (slot + 1) & mask;
+            keys[slot] = k;
+            values[slot] = oldValues[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+        values = new double[capacity];
+        mask = capacity - 1;
+        resizeAt = Math.max(1, (int) (capacity * LOAD_FACTOR));
+    }
+
+    private int slot(int key) {
+        // 연속된 id도 고르게 퍼지도록 (murmur3 fmix32)
+        int h = key;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h & mask;
+    }
+}
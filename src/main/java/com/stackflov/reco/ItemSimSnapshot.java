@@ -0,0 +1,200 @@
+package com.stackflov.reco;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * item_sim 읽기 전용 스냅샷 (CSR 구조, 파일을 메모리 매핑해서 힙 밖에서 조회).
+ * 파일 구조 (빅엔디언):
+ *  - 헤더 32바이트: magic, version, generation, boardA 수(rows), 쌍 수(pairs)
+ *  - 쌍: (boardB long, sim float) 12바이트씩. boardA 순이고 같은 boardA 안에서는 sim 내림차순
+ *  - boardA 표: long[rows] 오름차순 (이진 탐색)
+ *  - 오프셋 표: int[rows + 1] (i번째 boardA의 쌍 = offsets[i] ~ offsets[i+1])
+ * 쌍을 앞에 두고 표를 뒤에 붙여서, 정렬된 행을 한 번 훑으면서 파일을 만들 수 있습니다.
+ * MappedByteBuffer 한 개로 읽으므로 파일은 2GB를 넘을 수 없습니다. (boardA당 50개면 게시글 약 350만 개)
+ */
+public final class ItemSimSnapshot {
+
+    private static final int MAGIC = 0x49534D31; // "ISM1"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final int PAIR_BYTES = 12;
+
+    @FunctionalInterface
+    public interface NeighborConsumer {
+        void accept(long boardB, float sim);
+    }
+
+    private final long generation;
+    private final int rows;
+    private final int pairs;
+    private final int tableAt;
+    private final int offsetsAt;
+    // 절대 위치 get만 쓰므로 여러 스레드가 같이 읽어도 됨
+    private final ByteBuffer buffer;
+
+    private ItemSimSnapshot(ByteBuffer buffer) {
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalStateException("item_sim 스냅샷 형식이 아닙니다.");
+        }
+        this.buffer = buffer;
+        this.generation = buffer.getLong(8);
+        this.rows = buffer.getInt(16);
+        long pairCount = buffer.getLong(24);
+        long expected = fileSize(rows, pairCount);
+        if (rows < 0 || pairCount < 0 || expected != buffer.capacity()) {
+            throw new IllegalStateException("item_sim 스냅샷 크기가 맞지 않습니다: " + buffer.capacity() + " != " + expected);
+        }
+        this.pairs = (int) pairCount;
+        this.tableAt = HEADER_BYTES + pairs * PAIR_BYTES;
+        this.offsetsAt = tableAt + rows * Long.BYTES;
+    }
+
+    /** 파일을 읽기 전용으로 매핑 (채널을 닫아도 매핑은 GC될 때까지 유지됨) */
+    public static ItemSimSnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalStateException("item_sim 스냅샷이 2GB를 넘습니다: " + size);
+            }
+            return new ItemSimSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
+    }
+
+    public long generation() {
+        return generation;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int pairs() {
+        return pairs;
+    }
+
+    /**
+     * boardA의 이웃을 sim 내림차순으로 최대 limit개 넘깁니다.
+     * @return 넘긴 개수 (boardA가 없으면 0)
+     */
+    public int forEachSimilar(long boardA, int limit, NeighborConsumer consumer) {
+        int row = find(boardA);
+        if (row < 0) return 0;
+        int from = buffer.getInt(offsetsAt + row * Integer.BYTES);
+        int to = Math.min(buffer.getInt(offsetsAt + (row + 1) * Integer.BYTES), from + limit);
+        for (int p = from; p < to; p++) {
+            int at = HEADER_BYTES + p * PAIR_BYTES;
+            consumer.accept(buffer.getLong(at), buffer.getFloat(at + Long.BYTES));
+        }
+        return Math.max(0, to - from);
+    }
+
+    private int find(long boardA) {
+        int lo = 0;
+        int hi = rows - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            long v = buffer.getLong(tableAt + mid * Long.BYTES);
+            if (v < boardA) lo = mid + 1;
+            else if (v > boardA) hi = mid - 1;
+            else return mid;
+        }
+        return -1;
+    }
+
+    private static long fileSize(long rows, long pairs) {
+        return HEADER_BYTES + pairs * PAIR_BYTES + rows * Long.BYTES + (rows + 1) * Integer.BYTES;
+    }
+
+    public static Writer writer(Path path, long generation) throws IOException {
+        return new Writer(path, generation);
+    }
+
+    /**
+     * (boardA 오름차순, 같은 boardA 안에서는 sim 내림차순) 행을 받아 스냅샷 파일을 씁니다.
+     * 쌍은 바로 파일로 흘려보내고, 메모리에는 boardA/오프셋 표만 둡니다.
+     */
+    public static final class Writer implements Closeable {
+
+        private static final int BUFFER_BYTES = 64 * 1024;
+
+        private final long generation;
+        private final FileChannel channel;
+        private final ByteBuffer out = ByteBuffer.allocate(BUFFER_BYTES);
+        private long[] boardAs = new long[1024];
+        private int[] offsets = new int[1025];
+        private int rows;
+        private int pairs;
+
+        private Writer(Path path, long generation) throws IOException {
+            this.generation = generation;
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE);
+            channel.position(HEADER_BYTES);
+        }
+
+        public void add(long boardA, long boardB, float sim) throws IOException {
+            if (rows == 0 || boardAs[rows - 1] != boardA) {
+                if (rows > 0 && boardAs[rows - 1] > boardA) {
+                    throw new IllegalArgumentException("boardA 오름차순으로 넣어야 합니다: " + boardA);
+                }
+                if (rows + 1 == boardAs.length) {
+                    boardAs = Arrays.copyOf(boardAs, boardAs.length * 2);
+                    offsets = Arrays.copyOf(offsets, boardAs.length + 1);
+                }
+                boardAs[rows] = boardA;
+                offsets[rows] = pairs;
+                rows++;
+            }
+            if (fileSize(rows, pairs + 1L) > Integer.MAX_VALUE) {
+                throw new IllegalStateException("item_sim 스냅샷이 2GB를 넘습니다. (쌍 " + pairs + "개)");
+            }
+            if (out.remaining() < PAIR_BYTES) drain();
+            out.putLong(boardB).putFloat(sim);
+            pairs++;
+        }
+
+        /** 표와 헤더를 쓰고 디스크에 반영합니다. */
+        public void finish() throws IOException {
+            offsets[rows] = pairs;
+            for (int i = 0; i < rows; i++) {
+                if (out.remaining() < Long.BYTES) drain();
+                out.putLong(boardAs[i]);
+            }
+            for (int i = 0; i <= rows; i++) {
+                if (out.remaining() < Integer.BYTES) drain();
+                out.putInt(offsets[i]);
+            }
+            drain();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC).putInt(VERSION).putLong(generation).putInt(rows).putInt(0).putLong(pairs).flip();
+            while (header.hasRemaining()) channel.write(header, header.position());
+            channel.force(true);
+        }
+
+        public int rows() {
+            return rows;
+        }
+
+        public int pairs() {
+            return pairs;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+
+        private void drain() throws IOException {
+            out.flip();
+            while (out.hasRemaining()) channel.write(out);
+            out.clear();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.stackflov.reco;
+
+import java.util.Arrays;
+
+/**
+ * long → int 해시맵 (open addressing, linear probing). 박싱 없이 배열 두 개로만 저장합니다.
+ * - 삭제는 지원하지 않음 (집계 전용)
+ * - 키 0은 빈 칸 표시로 쓰므로 별도 필드로 보관
+ * - 스레드 안전하지 않음
+ */
+public final class LongIntHashMap {
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long key, int value);
+    }
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    private boolean hasZeroKey;
+    private int zeroValue;
+
+    public LongIntHashMap() {
+        this(16);
+    }
+
+    public LongIntHashMap(int expectedSize) {
+        int capacity = tableSizeFor((int) Math.ceil(Math.max(4, expectedSize) / LOAD_FACTOR));
+        allocate(capacity);
+    }
+
+    public int size() {
+        return size + (hasZeroKey ? 1 : 0);
+    }
+
+    public int get(long key, int defaultValue) {
+        if (key == 0) return hasZeroKey ? zeroValue : defaultValue;
+        int slot = slot(key);
+        while (true) {
+            long k = keys[slot];
+            if (k == 0) return defaultValue;
+            if (k == key) return values[slot];
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /** 값에 delta를 더하고 결과를 반환 (없으면 0에서 시작) */
+    public int addTo(long key, int delta) {
+        if (key == 0) {
+            hasZeroKey = true;
+            return zeroValue += delta;
+        }
+        int slot = slot(key);
+        while (true) {
+            long k = keys[slot];
+            if (k == key) return values[slot] += delta;
+            if (k == 0) {
+                keys[slot] = key;
+                values[slot] = delta;
+                if (++size >= resizeAt) resize();
+                return delta;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /** 키가 있으면 기존 값, 없으면 value를 넣고 그대로 반환 (사전 id 부여용) */
+    public int putIfAbsent(long key, int value) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                zeroValue = value;
+            }
+            return zeroValue;
+        }
+        int slot = slot(key);
+        while (true) {
+            long k = keys[slot];
+            if (k == key) return values[slot];
+            if (k == 0) {
+                keys[slot] = key;
+                values[slot] = value;
+                if (++size >= resizeAt) resize();
+                return value;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    public void forEach(EntryConsumer consumer) {
+        if (hasZeroKey) consumer.accept(0L, zeroValue);
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) consumer.accept(keys[i], values[i]);
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        size = 0;
+        hasZeroKey = false;
+        zeroValue = 0;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(keys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            long k = oldKeys[i];
+            if (k == 0) continue;
+            int slot = slot(k);
+            while (keys[slot] != 0) slot = (slot + 1) & mask;
+            keys[slot] = k;
+            values[slot] = oldValues[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        resizeAt = Math.max(1, (int) (capacity * LOAD_FACTOR));
+    }
+
+    private int slot(long key) {
+        return (int) mix(key) & mask;
+    }
+
+    /** murmur3 fmix64: 연속된 id/패킹된 쌍도 고르게 퍼지도록 */
+    static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static int tableSizeFor(int n) {
+        int capacity = Integer.highestOneBit(Math.max(2, n - 1)) << 1;
+        if (capacity <= 0) throw new IllegalArgumentException("맵 크기가 너무 큽니다: " + n);
+        return capacity;
+    }
+}
@@ -0,0 +1,90 @@
+package com.stackflov.reco;
+
+/**
+ * 점수 상위 k개만 유지하는 min-heap (int id + double 점수, 박싱 없음).
+ * 점수가 같으면 id가 작은 쪽을 우선합니다. (결과가 실행마다 같도록)
+ */
+public final class TopK {
+
+    private final int[] ids;
+    private final double[] scores;
+    private int size;
+
+    public TopK(int k) {
+        if (k <= 0) throw new IllegalArgumentException("k는 1 이상이어야 합니다.");
+        this.ids = new int[k];
+        this.scores = new double[k];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void offer(int id, double score) {
+        if (size < ids.length) {
+            ids[size] = id;
+            scores[size] = score;
+            siftUp(size++);
+        } else if (worse(0, id, score)) {
+            ids[0] = id;
+            scores[0] = score;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * 점수 내림차순으로 정렬해서 out 배열에 채우고 개수를 반환합니다. 호출 후 힙은 비워집니다.
+     */
+    public int drainDescending(int[] outIds, double[] outScores) {
+        int n = size;
+        for (int i = n - 1; i >= 0; i--) {
+            outIds[i] = ids[0];
+            outScores[i] = scores[0];
+            size--;
+            if (size > 0) {
+                ids[0] = ids[size];
+                scores[0] = scores[size];
+                siftDown(0);
+            }
+        }
+        return n;
+    }
+
+    // 힙의 i번 원소가 (id, score)보다 "뒤"인지
+    private boolean worse(int i, int id, double score) {
+        return scores[i] < score || (scores[i] == score && ids[i] > id);
+    }
+
+    private boolean less(int a, int b) {
+        return scores[a] < scores[b] || (scores[a] == scores[b] && ids[a] > ids[b]);
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!less(i, parent)) break;
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) break;
+            int smallest = (left + 1 < size && less(left + 1, left)) ? left + 1 : left;
+            if (!less(smallest, i)) break;
+            swap(i, smallest);
+            i = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        double score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+}
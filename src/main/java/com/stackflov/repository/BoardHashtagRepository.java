@@ -4,8 +4,10 @@ import com.stackflov.domain.Board;
 import com.stackflov.domain.BoardHashtag;
 import io.lettuce.core.dynamic.annotation.Param;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface BoardHashtagRepository extends JpaRepository<BoardHashtag, Long> {
@@ -18,4 +20,11 @@ public interface BoardHashtagRepository extends JpaRepository<BoardHashtag, Long
            order by lower(h.name)
            """)
     List<String> findHashtagNamesByBoardId(@Param("boardId") Long boardId);
+
+    @Query("select bh.hashtag.id from BoardHashtag bh where bh.board.id = :boardId")
+    List<Long> findHashtagIdsByBoardId(@Param("boardId") Long boardId);
+
+    @Modifying
+    @Query("delete from BoardHashtag bh where bh.board.id = :boardId and bh.hashtag.id in :hashtagIds")
+    int deleteLinks(@Param("boardId") Long boardId, @Param("hashtagIds") Collection<Long> hashtagIds);
 }
\ No newline at end of file
@@ -2,25 +2,99 @@ package com.stackflov.repository;
 
 import com.stackflov.domain.Board;
 import com.stackflov.domain.User;
+import com.stackflov.repository.projection.BoardListProjection;
+import com.stackflov.repository.projection.BoardSearchSourceProjection;
 import com.stackflov.repository.projection.DailyStatProjection;
+import com.stackflov.repository.projection.EngagementCountProjection;
 import org.springframework.data.repository.query.Param;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface BoardRepository extends JpaRepository<Board, Long>, JpaSpecificationExecutor<Board> {
+
+    // === 목록 projection: 필요한 컬럼 + 썸네일 key만 한 번에 조회 ===
+    String LIST_SELECT = "SELECT b.id as id, b.title as title, b.category as category, b.viewCount as viewCount, " +
+            "b.likeCount as likeCount, b.commentCount as commentCount, b.createdAt as createdAt, b.updatedAt as updatedAt, " +
+            "a.id as authorId, a.email as authorEmail, a.nickname as authorNickname, " +
+            "(SELECT bi.imageUrl FROM BoardImage bi WHERE bi.board = b AND bi.active = true " +
+            " ORDER BY CASE WHEN bi.sortOrder IS NULL THEN 1 ELSE 0 END, bi.sortOrder, bi.id LIMIT 1) as thumbnailKey " +
+            "FROM Board b JOIN b.author a ";
+
     // 활성화된 게시글만 ID로 조회
     Optional<Board> findByIdAndActiveTrue(Long id);
     long countByAuthor_Id(Long authorId);
 
     // 활성화된 모든 게시글을 페이징하여 조회
     Page<Board> findAllByActiveTrue(Pageable pageable);
+
+    @Query(value = LIST_SELECT + "WHERE b.active = true",
+            countQuery = "SELECT COUNT(b) FROM Board b WHERE b.active = true")
+    Page<BoardListProjection> findActiveList(Pageable pageable);
+
+    // Slice: COUNT 없이 size + 1건만 조회
+    @Query(LIST_SELECT + "WHERE b.active = true")
+    Slice<BoardListProjection> findActiveListSlice(Pageable pageable);
+
+    @Query(value = LIST_SELECT + "WHERE b.active = true AND a.id = :authorId",
+            countQuery = "SELECT COUNT(b) FROM Board b WHERE b.active = true AND b.author.id = :authorId")
+    Page<BoardListProjection> findActiveListByAuthorId(@Param("authorId") Long authorId, Pageable pageable);
+
+    @Query(value = LIST_SELECT + "WHERE b.active = true AND a.id IN :authorIds ORDER BY b.createdAt DESC",
+            countQuery = "SELECT COUNT(b) FROM Board b WHERE b.active = true AND b.author.id IN :authorIds")
+    Page<BoardListProjection> findActiveListByAuthorIds(@Param("authorIds") Collection<Long> authorIds, Pageable pageable);
+
+    @Query(value = LIST_SELECT + "WHERE b.active = true AND EXISTS " +
+            "(SELECT 1 FROM BoardHashtag bh WHERE bh.board = b AND bh.hashtag.name = :tagName)",
+            countQuery = "SELECT COUNT(b) FROM Board b WHERE b.active = true AND EXISTS " +
+                    "(SELECT 1 FROM BoardHashtag bh WHERE bh.board = b AND bh.hashtag.name = :tagName)")
+    Page<BoardListProjection> findActiveListByHashtagName(@Param("tagName") String tagName, Pageable pageable);
+
+    // === 커서(keyset) 조회: (active, created_at, id) 인덱스를 타고 건너뛴 행은 읽지 않음, COUNT 없음 ===
+    @Query(LIST_SELECT + "WHERE b.active = true " +
+            "AND (b.createdAt < :cursorAt OR (b.createdAt = :cursorAt AND b.id < :cursorId)) " +
+            "ORDER BY b.createdAt DESC, b.id DESC")
+    List<BoardListProjection> findActiveListBefore(@Param("cursorAt") LocalDateTime cursorAt,
+                                                   @Param("cursorId") Long cursorId,
+                                                   Limit limit);
+
+    @Query(LIST_SELECT + "WHERE b.active = true AND a.id IN :authorIds " +
+            "AND (b.createdAt < :cursorAt OR (b.createdAt = :cursorAt AND b.id < :cursorId)) " +
+            "ORDER BY b.createdAt DESC, b.id DESC")
+    List<BoardListProjection> findActiveListByAuthorIdsBefore(@Param("authorIds") Collection<Long> authorIds,
+                                                              @Param("cursorAt") LocalDateTime cursorAt,
+                                                              @Param("cursorId") Long cursorId,
+                                                              Limit limit);
+    // === 타임라인: id 내림차순(= 작성 순) ===
+    @Query("SELECT b.id FROM Board b WHERE b.active = true AND b.author.id IN :authorIds AND b.id < :beforeId " +
+            "ORDER BY b.id DESC")
+    List<Long> findActiveIdsByAuthorIdsBefore(@Param("authorIds") Collection<Long> authorIds,
+                                              @Param("beforeId") Long beforeId,
+                                              Limit limit);
+
+    // 피드 전체 개수: 팔로우 중인 작성자의 활성 게시글 (대략값 캐시용)
+    @Query("SELECT COUNT(b) FROM Board b WHERE b.active = true AND b.author.id IN " +
+            "(SELECT f.followed.id FROM Follow f WHERE f.follower.id = :followerId AND f.active = true)")
+    long countActiveByFollowerId(@Param("followerId") Long followerId);
+
+    // 비활성 포함 (타임라인에서 지울 때)
+    @Query("SELECT b.id FROM Board b WHERE b.author.id = :authorId ORDER BY b.id DESC")
+    List<Long> findRecentIdsByAuthorId(@Param("authorId") Long authorId, Limit limit);
+
+    @Query(LIST_SELECT + "WHERE b.active = true AND b.id IN :ids")
+    List<BoardListProjection> findActiveListByIds(@Param("ids") Collection<Long> ids);
+
     long countByActiveTrue();
     @Query("SELECT b FROM Board b WHERE " +
             "(:type = 'title' AND b.title LIKE %:keyword%) OR " +
@@ -41,4 +115,60 @@ public interface BoardRepository extends JpaRepository<Board, Long>, JpaSpecific
 
     @Query("SELECT bh.board FROM BoardHashtag bh JOIN bh.hashtag h WHERE h.name = :tagName AND bh.board.active = true")
     Page<Board> findByHashtagName(@Param("tagName") String tagName, Pageable pageable);
-}
\ No newline at end of file
+
+    // === 검색 인덱스 구성 ===
+    String SEARCH_SOURCE_SELECT = "SELECT b.id as id, b.title as title, b.content as content, a.nickname as authorNickname, " +
+            "b.active as active, b.createdAt as createdAt, b.updatedAt as updatedAt FROM Board b JOIN b.author a ";
+
+    // 전체 재구성: id 순서로 청크 단위
+    @Query(SEARCH_SOURCE_SELECT + "WHERE b.id > :afterId ORDER BY b.id")
+    List<BoardSearchSourceProjection> findSearchSourcesAfterId(@Param("afterId") Long afterId, Limit limit);
+
+    // 변경분 따라잡기: (updatedAt, id) 기준 keyset
+    @Query(SEARCH_SOURCE_SELECT + "WHERE b.updatedAt > :since OR (b.updatedAt = :since AND b.id > :afterId) " +
+            "ORDER BY b.updatedAt, b.id")
+    List<BoardSearchSourceProjection> findSearchSourcesUpdatedSince(@Param("since") LocalDateTime since,
+                                                                    @Param("afterId") Long afterId,
+                                                                    Limit limit);
+
+    // 조회수 write-behind 반영: 같은 증가분을 가진 게시글들을 한 번에 UPDATE (updatedAt은 건드리지 않음)
+    @Modifying
+    @Transactional
+    @Query("UPDATE Board b SET b.viewCount = b.viewCount + :delta WHERE b.id IN :ids")
+    int addViewCount(@Param("delta") int delta, @Param("ids") Collection<Long> ids);
+
+    // === 비정규화 카운터: 원자적 증감 (SET x = x + :delta) ===
+    @Modifying
+    @Query("UPDATE Board b SET b.likeCount = b.likeCount + :delta WHERE b.id = :boardId")
+    void addLikeCount(@Param("boardId") Long boardId, @Param("delta") long delta);
+
+    @Modifying
+    @Query("UPDATE Board b SET b.commentCount = b.commentCount + :delta WHERE b.id = :boardId")
+    void addCommentCount(@Param("boardId") Long boardId, @Param("delta") long delta);
+
+    @Modifying
+    @Query("UPDATE Board b SET b.bookmarkCount = b.bookmarkCount + :delta WHERE b.id = :boardId")
+    void addBookmarkCount(@Param("boardId") Long boardId, @Param("delta") long delta);
+
+    // 보정 배치: 실제 집계값을 그대로 씀 (몇 번 실행해도 결과가 같음)
+    @Modifying
+    @Query("UPDATE Board b SET " +
+            "b.likeCount = (SELECT COUNT(l) FROM Like l WHERE l.board.id = b.id AND l.active = true), " +
+            "b.commentCount = (SELECT COUNT(c) FROM Comment c WHERE c.board.id = b.id AND c.active = true), " +
+            "b.bookmarkCount = (SELECT COUNT(k) FROM Bookmark k WHERE k.board.id = b.id AND k.active = true) " +
+            "WHERE b.id IN :boardIds")
+    int recountEngagementCounts(@Param("boardIds") List<Long> boardIds);
+
+    // 검색 결과 로딩 (인덱스 반영 전에 비활성화된 글 제외)
+    List<Board> findAllByIdInAndActiveTrue(Collection<Long> ids);
+
+    // 캐시된 상세/목록에 최신 카운터를 덧씌울 때 (PK IN 조회, 좁은 컬럼만)
+    @Query("SELECT b.id as id, b.likeCount as likeCount, b.commentCount as commentCount, b.bookmarkCount as bookmarkCount " +
+            "FROM Board b WHERE b.id IN :ids")
+    List<EngagementCountProjection> findEngagementCountsByIds(@Param("ids") Collection<Long> ids);
+
+    // 보정 배치: id 기준으로 청크 단위 조회 (content LOB 제외)
+    @Query("SELECT b.id as id, b.likeCount as likeCount, b.commentCount as commentCount, b.bookmarkCount as bookmarkCount " +
+            "FROM Board b WHERE b.id > :afterId ORDER BY b.id")
+    List<EngagementCountProjection> findEngagementCountsAfter(@Param("afterId") Long afterId, Pageable pageable);
+}
@@ -4,8 +4,13 @@ import com.stackflov.domain.Board;
 import com.stackflov.domain.Bookmark;
 import com.stackflov.domain.Review;
 import com.stackflov.domain.User;
+import com.stackflov.repository.projection.IdCountProjection;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +24,15 @@ public interface BookmarkRepository extends JpaRepository<Bookmark, Long> {
 
     List<Bookmark> findByUserAndActiveTrue(User user);
 
+    // 커서(keyset) 조회 (게시글 제목 표시용 board fetch join)
+    @Query("select bm from Bookmark bm left join fetch bm.board where bm.user = :user and bm.active = true " +
+            "and (bm.createdAt < :cursorAt or (bm.createdAt = :cursorAt and bm.id < :cursorId)) " +
+            "order by bm.createdAt desc, bm.id desc")
+    List<Bookmark> findActiveByUserBefore(@Param("user") User user,
+                                          @Param("cursorAt") LocalDateTime cursorAt,
+                                          @Param("cursorId") Long cursorId,
+                                          Limit limit);
+
     boolean existsByUserAndBoardAndActiveTrue(User user, Board board);
 
     boolean existsByUserAndReviewAndActiveTrue(User user, Review review);
@@ -26,4 +40,23 @@ public interface BookmarkRepository extends JpaRepository<Bookmark, Long> {
     Optional<Bookmark> findByUserAndReview(User user, Review review);
 
     long countByReview(Review review);
+
+    @Query("""
+           select b.board.id
+           from Bookmark b
+           where b.active = true
+             and b.user.id = :userId
+             and b.board.id in :boardIds
+           """)
+    List<Long> findBookmarkedBoardIds(@Param("userId") Long userId,
+                                      @Param("boardIds") List<Long> boardIds);
+
+    // 게시글/리뷰별 활성 북마크 수 집계 (카운터 보정용)
+    @Query("select b.board.id as id, count(b) as cnt from Bookmark b " +
+            "where b.active = true and b.board.id in :boardIds group by b.board.id")
+    List<IdCountProjection> countActiveByBoardIds(@Param("boardIds") List<Long> boardIds);
+
+    @Query("select b.review.id as id, count(b) as cnt from Bookmark b " +
+            "where b.active = true and b.review.id in :reviewIds group by b.review.id")
+    List<IdCountProjection> countActiveByReviewIds(@Param("reviewIds") List<Long> reviewIds);
 }
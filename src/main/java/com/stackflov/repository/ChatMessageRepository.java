@@ -1,6 +1,7 @@
 package com.stackflov.repository;
 
 import com.stackflov.domain.ChatMessage;
+import com.stackflov.repository.projection.IdCountProjection;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
@@ -17,6 +18,13 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
     // (조건: 발신자가 내가 아니고, 읽음 표시가 false인 메시지)
     long countByChatRoomIdAndSenderIdNotAndIsReadFalse(Long roomId, Long myId);
 
+    // 내가 참가한 방별 안 읽은 메시지 수 (읽지 않은 카운터 재집계용)
+    @Query("SELECT m.chatRoom.id as id, COUNT(m) as cnt FROM ChatMessage m " +
+            "WHERE m.isRead = false AND m.sender.id <> :userId " +
+            "AND m.chatRoom.id IN (SELECT r.id FROM ChatRoom r JOIN r.participants p WHERE p.id = :userId) " +
+            "GROUP BY m.chatRoom.id")
+    List<IdCountProjection> countUnreadByRoomForUser(@Param("userId") Long userId);
+
     // 채팅방 입장 시 메시지 읽음 처리
     @Modifying
     @Query("UPDATE ChatMessage m SET m.isRead = true WHERE m.chatRoom.id = :roomId AND m.sender.id != :myId")
@@ -3,7 +3,9 @@ package com.stackflov.repository;
 import com.stackflov.domain.Comment;
 import com.stackflov.domain.User;
 import com.stackflov.repository.projection.DailyStatProjection;
+import com.stackflov.repository.projection.IdCountProjection;
 import io.lettuce.core.dynamic.annotation.Param;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -23,6 +25,15 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
 
     List<Comment> findByBoardIdAndActiveTrue(Long boardId);
 
+    // 커서(keyset) 조회 (작성자 fetch join)
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.board.id = :boardId AND c.active = true " +
+            "AND (c.createdAt < :cursorAt OR (c.createdAt = :cursorAt AND c.id < :cursorId)) " +
+            "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Comment> findActiveByBoardIdBefore(@Param("boardId") Long boardId,
+                                            @Param("cursorAt") LocalDateTime cursorAt,
+                                            @Param("cursorId") Long cursorId,
+                                            Limit limit);
+
     long countByActiveTrue();
 
     @Query("SELECT c FROM Comment c WHERE c.content LIKE %:keyword% OR c.user.nickname LIKE %:keyword%")
@@ -35,8 +46,8 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findByReviewIdAndActiveTrue(Long reviewId);
 
     @Modifying(clearAutomatically = true) // 벌크 연산 후 영속성 컨텍스트를 초기화
-    @Query("UPDATE Comment c SET c.active = false WHERE c.id IN :ids")
-    void bulkDeactivateByIds(@Param("ids") List<Long> ids);
+    @Query("UPDATE Comment c SET c.active = false, c.deactivatedAt = COALESCE(c.deactivatedAt, :now) WHERE c.id IN :ids")
+    void bulkDeactivateByIds(@Param("ids") List<Long> ids, @Param("now") LocalDateTime now);
 
     @Query("SELECT FUNCTION('DATE', c.createdAt) as date, COUNT(c.id) as count FROM Comment c WHERE c.createdAt >= :startDate GROUP BY date ORDER BY date")
     List<DailyStatProjection> countDailyComments(@Param("startDate") LocalDateTime startDate);
@@ -48,11 +59,20 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     Page<Comment> findActiveByUserOnReviews(@Param("user") User user, Pageable pageable);
 
     @Modifying(clearAutomatically = true, flushAutomatically = true)
-    @Query("update Comment c set c.active = false " +
+    @Query("update Comment c set c.active = false, c.deactivatedAt = :now " +
             "where c.review.id = :reviewId and c.active = true")
-    int bulkDeactivateByReviewId(@Param("reviewId") Long reviewId);
+    int bulkDeactivateByReviewId(@Param("reviewId") Long reviewId, @Param("now") LocalDateTime now);
 
     @Query("SELECT c FROM Comment c WHERE c.user = :user AND c.active = true " +
             "AND ((c.board IS NOT NULL AND c.board.active = true) OR (c.review IS NOT NULL AND c.review.active = true))")
     Page<Comment> findAllMyActiveComments(@Param("user") User user, Pageable pageable);
+
+    // 게시글/리뷰별 활성 댓글 수 집계 (카운터 보정용)
+    @Query("SELECT c.board.id as id, COUNT(c) as cnt FROM Comment c " +
+            "WHERE c.active = true AND c.board.id IN :boardIds GROUP BY c.board.id")
+    List<IdCountProjection> countActiveByBoardIds(@Param("boardIds") List<Long> boardIds);
+
+    @Query("SELECT c.review.id as id, COUNT(c) as cnt FROM Comment c " +
+            "WHERE c.active = true AND c.review.id IN :reviewIds GROUP BY c.review.id")
+    List<IdCountProjection> countActiveByReviewIds(@Param("reviewIds") List<Long> reviewIds);
 }
@@ -2,6 +2,7 @@ package com.stackflov.repository;
 
 import com.stackflov.domain.Follow;
 import com.stackflov.domain.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -38,5 +39,18 @@ public interface FollowRepository extends JpaRepository<Follow, Long> {
     @Query("UPDATE Follow f SET f.active = false WHERE f.follower.id = :userId OR f.followed.id = :userId")
     void deactivateAllByUserId(@Param("userId") Long userId);
 
+    // === 타임라인용: id만 조회 ===
+    @Query("SELECT f.followed.id FROM Follow f WHERE f.follower.id = :followerId AND f.active = true")
+    List<Long> findActiveFollowedIds(@Param("followerId") Long followerId);
+
+    @Query("SELECT f.follower.id FROM Follow f WHERE f.followed.id = :followedId AND f.active = true")
+    List<Long> findActiveFollowerIds(@Param("followedId") Long followedId);
+
+    @Query("SELECT f.follower.id FROM Follow f WHERE f.followed.id = :followedId AND f.active = true " +
+            "AND f.follower.id > :afterId ORDER BY f.follower.id")
+    List<Long> findActiveFollowerIdsAfter(@Param("followedId") Long followedId,
+                                          @Param("afterId") Long afterId,
+                                          Limit limit);
+
     boolean existsByFollowerIdAndFollowedIdAndActiveTrue(Long followerId, Long followedId);
 }
@@ -2,8 +2,11 @@ package com.stackflov.repository;
 
 import com.stackflov.domain.Hashtag;
 import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface HashtagRepository extends JpaRepository<Hashtag, Long> {
     Optional<Hashtag> findByName(String name);
+    List<Hashtag> findByNameIn(Collection<String> names);
 }
\ No newline at end of file
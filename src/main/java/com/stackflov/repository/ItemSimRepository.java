@@ -2,11 +2,16 @@ package com.stackflov.repository;
 
 import com.stackflov.domain.ItemSim;
 import com.stackflov.domain.ItemSimId;
+import com.stackflov.repository.projection.ItemSimRowProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ItemSimRepository extends JpaRepository<ItemSim, ItemSimId> {
 
@@ -20,4 +25,20 @@ public interface ItemSimRepository extends JpaRepository<ItemSim, ItemSimId> {
         order by s.sim desc
     """)
     List<ItemSim> findTopSimilar(@Param("boardA") Long boardA, Pageable pageable);
-}
\ No newline at end of file
+
+    @Query("select s from ItemSim s where s.id.boardA in :boardAs")
+    List<ItemSim> findByBoardAIn(@Param("boardAs") Collection<Long> boardAs);
+
+    // 스냅샷 내보내기용 전체 스캔: boardA 오름차순, 같은 boardA 안에서는 sim 내림차순 (MySQL 행 단위 스트리밍)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("""
+        select s.id.boardA as boardA, s.id.boardB as boardB, s.sim as sim
+        from ItemSim s
+        order by s.id.boardA, s.sim desc, s.id.boardB
+    """)
+    Stream<ItemSimRowProjection> streamAllOrdered();
+}
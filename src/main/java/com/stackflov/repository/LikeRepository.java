@@ -53,4 +53,29 @@ public interface LikeRepository extends JpaRepository<Like, Long> {
            """)
     List<ReviewLikeCount> countActiveLikesByReviewIds(@Param("reviewIds") List<Long> reviewIds);
     long countByReviewAndActiveTrue(Review review);
+
+    // 게시글별 좋아요 수 집계 (목록 페이지 단위로 한 번에)
+    interface BoardLikeCount {
+        Long getBoardId();
+        Long getCnt();
+    }
+
+    @Query("""
+           select l.board.id as boardId, count(l) as cnt
+           from Like l
+           where l.active = true
+             and l.board.id in :boardIds
+           group by l.board.id
+           """)
+    List<BoardLikeCount> countActiveLikesByBoardIds(@Param("boardIds") List<Long> boardIds);
+
+    @Query("""
+           select l.board.id
+           from Like l
+           where l.active = true
+             and l.user.id = :userId
+             and l.board.id in :boardIds
+           """)
+    List<Long> findLikedBoardIds(@Param("userId") Long userId,
+                                 @Param("boardIds") List<Long> boardIds);
 }
@@ -3,13 +3,27 @@ package com.stackflov.repository;
 import com.stackflov.domain.Notice;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.Optional;
 
 public interface NoticeRepository extends JpaRepository<Notice, Long> {
     Page<Notice> findAllByOrderByCreatedAtDesc(Pageable pageable);     // 전체
     Optional<Notice> findByIdAndActiveTrue(Long id);                   // 단건(활성)
     Page<Notice> findByActiveTrueOrderByCreatedAtDesc(Pageable pageable); // 활성만
+    Slice<Notice> findSliceByActiveTrueOrderByCreatedAtDesc(Pageable pageable); // 활성만 (COUNT 없음)
+    long countByActiveTrue();
     Page<Notice> findByActiveOrderByCreatedAtDesc(boolean active, Pageable pageable); // ← 이름 수정
-}
\ No newline at end of file
+
+    // 조회수 write-behind 반영
+    @Modifying
+    @Transactional
+    @Query("UPDATE Notice n SET n.viewCount = n.viewCount + :delta WHERE n.id IN :ids")
+    int addViewCount(@Param("delta") int delta, @Param("ids") Collection<Long> ids);
+}
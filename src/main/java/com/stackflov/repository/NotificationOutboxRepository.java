@@ -0,0 +1,42 @@
+package com.stackflov.repository;
+
+import com.stackflov.domain.NotificationOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    /**
+     * 발송할 차례인 행을 id 순으로 잠금 조회.
+     * 같은 수신자의 앞선 행이 재시도 대기 중이면 뒤 행도 건너뜀 (수신자별 순서 보장).
+     * SKIP LOCKED 대신 일반 잠금 → 다른 노드는 앞 배치가 끝날 때까지 기다렸다가 이어서 처리
+     */
+    @Query(value = "SELECT * FROM notification_outbox o " +
+            "WHERE o.status = 'PENDING' AND o.next_attempt_at <= :now " +
+            "AND NOT EXISTS (SELECT 1 FROM notification_outbox p " +
+            "  WHERE p.receiver_id = o.receiver_id AND p.outbox_id < o.outbox_id " +
+            "  AND p.status = 'PENDING' AND p.next_attempt_at > :now) " +
+            "ORDER BY o.outbox_id LIMIT :limit FOR UPDATE", nativeQuery = true)
+    List<NotificationOutbox> lockDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("DELETE FROM NotificationOutbox o WHERE o.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE NotificationOutbox o SET o.attempts = :attempts, o.nextAttemptAt = :nextAttemptAt, " +
+            "o.status = :status, o.lastError = :error WHERE o.id = :id")
+    int markFailed(@Param("id") Long id,
+                   @Param("attempts") int attempts,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                   @Param("status") NotificationOutbox.Status status,
+                   @Param("error") String error);
+
+    long countByStatus(NotificationOutbox.Status status);
+}
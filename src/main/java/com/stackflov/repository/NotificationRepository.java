@@ -2,21 +2,56 @@ package com.stackflov.repository;
 
 import com.stackflov.domain.Notification;
 import com.stackflov.domain.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
 
     Page<Notification> findByReceiverOrderByCreatedAtDesc(User receiver, Pageable pageable);
 
+    // 커서(keyset) 조회
+    @Query("SELECT n FROM Notification n WHERE n.receiver = :receiver " +
+            "AND (n.createdAt < :cursorAt OR (n.createdAt = :cursorAt AND n.id < :cursorId)) " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findByReceiverBefore(@Param("receiver") User receiver,
+                                            @Param("cursorAt") LocalDateTime cursorAt,
+                                            @Param("cursorId") Long cursorId,
+                                            Limit limit);
+
     long countByReceiverAndIsReadFalse(User receiver);
 
+    long countByReceiver_IdAndIsReadFalse(Long receiverId);
+
+    // 합치기 후보: 아직 안 읽은 최근 알림 (키 매칭은 호출 측에서)
+    @Query("SELECT n FROM Notification n WHERE n.receiver.id IN :receiverIds AND n.link IN :links " +
+            "AND n.latestActorIds IS NOT NULL AND n.isRead = false AND n.createdAt >= :since ORDER BY n.id DESC")
+    List<Notification> findOpenForCoalescing(@Param("receiverIds") Collection<Long> receiverIds,
+                                             @Param("links") Collection<String> links,
+                                             @Param("since") LocalDateTime since);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.actorCount = :actorCount, n.latestActorIds = :actorIds, " +
+            "n.message = :message, n.createdAt = :at WHERE n.id = :id")
+    int coalesce(@Param("id") Long id,
+                 @Param("actorCount") int actorCount,
+                 @Param("actorIds") String actorIds,
+                 @Param("message") String message,
+                 @Param("at") LocalDateTime at);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.receiver = :receiver AND n.isRead = false")
+    int markAllRead(@Param("receiver") User receiver);
+
     @Modifying
     @Transactional
     @Query("DELETE FROM Notification n WHERE n.receiver = :receiver")
@@ -2,6 +2,7 @@ package com.stackflov.repository;
 
 import com.stackflov.domain.Review;
 import com.stackflov.repository.projection.DailyStatProjection;
+import com.stackflov.repository.projection.EngagementCountProjection;
 import io.lettuce.core.dynamic.annotation.Param;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor; // 👈 추가
@@ -12,7 +13,9 @@ import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import com.stackflov.domain.User;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 public interface ReviewRepository extends JpaRepository<Review, Long>, JpaSpecificationExecutor<Review> {
@@ -22,5 +25,34 @@ public interface ReviewRepository extends JpaRepository<Review, Long>, JpaSpecif
     Optional<Review> findByIdAndActiveTrue(Long id);
     Page<Review> findByAuthorAndActiveTrue(User author, Pageable pageable);
     Page<Review> findByActiveTrue(Pageable pageable);
+    Slice<Review> findSliceByActiveTrue(Pageable pageable); // COUNT 없이 조회
+    long countByActiveTrue();
     List<Review> findAllByActiveTrueOrderByIdDesc();
-}
\ No newline at end of file
+
+    // === 비정규화 카운터: 원자적 증감 (SET x = x + :delta) ===
+    @Modifying
+    @Query("UPDATE Review r SET r.likeCount = r.likeCount + :delta WHERE r.id = :reviewId")
+    void addLikeCount(@Param("reviewId") Long reviewId, @Param("delta") long delta);
+
+    @Modifying
+    @Query("UPDATE Review r SET r.commentCount = r.commentCount + :delta WHERE r.id = :reviewId")
+    void addCommentCount(@Param("reviewId") Long reviewId, @Param("delta") long delta);
+
+    @Modifying
+    @Query("UPDATE Review r SET r.bookmarkCount = r.bookmarkCount + :delta WHERE r.id = :reviewId")
+    void addBookmarkCount(@Param("reviewId") Long reviewId, @Param("delta") long delta);
+
+    // 보정 배치: 실제 집계값을 그대로 씀 (몇 번 실행해도 결과가 같음)
+    @Modifying
+    @Query("UPDATE Review r SET " +
+            "r.likeCount = (SELECT COUNT(l) FROM Like l WHERE l.review.id = r.id AND l.active = true), " +
+            "r.commentCount = (SELECT COUNT(c) FROM Comment c WHERE c.review.id = r.id AND c.active = true), " +
+            "r.bookmarkCount = (SELECT COUNT(k) FROM Bookmark k WHERE k.review.id = r.id AND k.active = true) " +
+            "WHERE r.id IN :reviewIds")
+    int recountEngagementCounts(@Param("reviewIds") List<Long> reviewIds);
+
+    // 보정 배치: id 기준으로 청크 단위 조회 (content LOB 제외)
+    @Query("SELECT r.id as id, r.likeCount as likeCount, r.commentCount as commentCount, r.bookmarkCount as bookmarkCount " +
+            "FROM Review r WHERE r.id > :afterId ORDER BY r.id")
+    List<EngagementCountProjection> findEngagementCountsAfter(@Param("afterId") Long afterId, Pageable pageable);
+}
@@ -2,11 +2,16 @@ package com.stackflov.repository;
 
 import com.stackflov.domain.UserEvent;
 import com.stackflov.domain.EventType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface UserEventRepository extends JpaRepository<UserEvent, Long> {
 
@@ -43,4 +48,34 @@ public interface UserEventRepository extends JpaRepository<UserEvent, Long> {
             @Param("since") LocalDateTime since,
             @Param("positiveTypes") List<EventType> positiveTypes
     );
+
+    // 배치용 전체 스캔: (user_id, created_at) 순 forward-only 스트리밍
+    // MySQL은 fetch size = Integer.MIN_VALUE 일 때 행 단위로 받아옴 (트랜잭션 안에서 소비, 다 읽을 때까지 같은 커넥션으로 다른 쿼리 불가)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("""
+        select e from UserEvent e
+        where e.createdAt >= :since
+        order by e.userId, e.createdAt, e.userEventId
+    """)
+    Stream<UserEvent> streamAllSince(@Param("since") LocalDateTime since);
+
+    @Query("select coalesce(max(e.userEventId), 0) from UserEvent e")
+    long findMaxId();
+
+    // 증분 처리: afterId 이후 positive 이벤트 (id 순)
+    @Query("""
+        select e from UserEvent e
+        where e.userEventId > :afterId
+          and e.eventType in :positiveTypes
+        order by e.userEventId
+    """)
+    List<UserEvent> findPositiveAfter(
+            @Param("afterId") long afterId,
+            @Param("positiveTypes") Collection<EventType> positiveTypes,
+            Limit limit
+    );
 }
@@ -2,6 +2,7 @@ package com.stackflov.repository;
 
 import com.stackflov.domain.UserReco;
 import com.stackflov.domain.UserRecoId;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
@@ -20,4 +21,20 @@ public interface UserRecoRepository extends JpaRepository<UserReco, UserRecoId>
         order by r.score desc
     """)
     List<UserReco> findTopByUserId(@Param("userId") Long userId, Pageable pageable);
-}
\ No newline at end of file
+
+    // 커서(keyset) 조회: (score, boardId) 내림차순
+    @Query("""
+        select r from UserReco r
+        where r.id.userId = :userId
+          and (r.score < :score or (r.score = :score and r.id.boardId < :boardId))
+        order by r.score desc, r.id.boardId desc
+    """)
+    List<UserReco> findByUserIdBefore(@Param("userId") Long userId,
+                                      @Param("score") double score,
+                                      @Param("boardId") Long boardId,
+                                      Limit limit);
+
+    // 추천 캐시가 하나라도 있는지 (없으면 요청 시점에 계산)
+    @Query("select count(r) > 0 from UserReco r where r.id.userId = :userId")
+    boolean existsByUserId(@Param("userId") Long userId);
+}
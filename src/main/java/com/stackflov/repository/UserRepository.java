@@ -4,11 +4,14 @@ import com.stackflov.domain.SocialType;
 import com.stackflov.domain.User;
 import com.stackflov.repository.projection.DailyStatProjection;
 import io.lettuce.core.dynamic.annotation.Param;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import com.stackflov.domain.Role;
 import org.springframework.data.jpa.repository.Query;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -35,4 +38,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<DailyStatProjection> countDailySignups(@Param("startDate") LocalDateTime startDate);
 
     Optional<User> findByNickname(String nickname);
+    List<User> findByNicknameIn(Collection<String> nicknames);
+
+    // 관리자 목록: COUNT 없이 조회
+    @Query("SELECT u FROM User u")
+    Slice<User> findAllAsSlice(Pageable pageable);
 }
@@ -0,0 +1,19 @@
+package com.stackflov.repository.projection;
+
+import java.time.LocalDateTime;
+
+// 게시글 목록용 projection (content LOB / 이미지 컬렉션 제외)
+public interface BoardListProjection {
+    Long getId();
+    String getTitle();
+    int getCategory();
+    int getViewCount();
+    long getLikeCount();
+    long getCommentCount();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+    Long getAuthorId();
+    String getAuthorEmail();
+    String getAuthorNickname();
+    String getThumbnailKey(); // 활성 이미지 중 sortOrder가 가장 낮은 것의 key
+}
@@ -0,0 +1,14 @@
+package com.stackflov.repository.projection;
+
+import java.time.LocalDateTime;
+
+// 검색 인덱스 구성용 (비활성 게시글 포함)
+public interface BoardSearchSourceProjection {
+    Long getId();
+    String getTitle();
+    String getContent();
+    String getAuthorNickname();
+    Boolean getActive();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,9 @@
+package com.stackflov.repository.projection;
+
+// 게시글/리뷰에 저장된 비정규화 카운터 값 (보정 배치용)
+public interface EngagementCountProjection {
+    Long getId();
+    Long getLikeCount();
+    Long getCommentCount();
+    Long getBookmarkCount();
+}
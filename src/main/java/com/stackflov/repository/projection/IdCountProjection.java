@@ -0,0 +1,7 @@
+package com.stackflov.repository.projection;
+
+// 대상 ID별 집계 결과 (group by 쿼리용)
+public interface IdCountProjection {
+    Long getId();
+    Long getCnt();
+}
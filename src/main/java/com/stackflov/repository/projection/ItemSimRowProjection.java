@@ -0,0 +1,8 @@
+package com.stackflov.repository.projection;
+
+// item_sim 한 행 (스냅샷 내보내기용, 엔티티 대신 값만)
+public interface ItemSimRowProjection {
+    Long getBoardA();
+    Long getBoardB();
+    double getSim();
+}
@@ -0,0 +1,245 @@
+package com.stackflov.search;
+
+import com.stackflov.domain.Board;
+import com.stackflov.repository.BoardRepository;
+import com.stackflov.repository.projection.BoardSearchSourceProjection;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 게시글 검색용 프로세스 내 역색인.
+ * - 기동 시: 디스크 스냅샷이 있으면 로딩 후 변경분만 따라잡고, 없으면 DB에서 전체 구성 (백그라운드)
+ * - 작성/수정/비활성화: 커밋 이후 해당 게시글만 갱신
+ * - 주기적으로 updatedAt 기준 변경분을 따라잡음 (다른 노드에서 바뀐 게시글 포함)
+ * - 준비 전에는 ready()가 false → 호출 측은 기존 DB 검색으로 대체
+ * 비활성 게시글도 색인에 남겨두고(active 플래그), 사용자 검색에서만 걸러냅니다. (관리자 검색용)
+ */
+@Slf4j
+@Component
+public class BoardSearchIndex {
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private final BoardRepository boardRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile InvertedIndex index = new InvertedIndex();
+    private volatile boolean ready = false;
+
+    @Value("${app.search.snapshot-path:./data/board-search.idx}")
+    private String snapshotPath;
+
+    @Value("${app.search.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.search.recency-weight:0.5}")
+    private double recencyWeight;
+
+    @Value("${app.search.recency-half-life-days:30}")
+    private double recencyHalfLifeDays;
+
+    public BoardSearchIndex(BoardRepository boardRepository) {
+        this.boardRepository = boardRepository;
+    }
+
+    public boolean ready() {
+        return ready;
+    }
+
+    public InvertedIndex.SearchHits search(List<InvertedIndex.Clause> clauses, boolean activeOnly, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            return index.search(clauses, activeOnly, offset, limit,
+                    System.currentTimeMillis(), recencyWeight, recencyHalfLifeDays);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** 게시글 작성/수정/비활성화 후 호출 (트랜잭션 안이면 커밋 이후 반영) */
+    public void indexAfterCommit(Board board) {
+        // 지연 로딩 필드는 트랜잭션 안에서 미리 읽어둠
+        long id = board.getId();
+        boolean active = board.isActive();
+        long createdAt = toMillis(Optional.ofNullable(board.getCreatedAt()).orElse(LocalDateTime.now()));
+        String title = board.getTitle();
+        String content = board.getContent();
+        String nickname = board.getAuthor().getNickname();
+
+        Runnable apply = () -> write(idx -> idx.upsert(id, active, createdAt, title, content, nickname));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    // 기동 직후 백그라운드에서 구성 (요청 처리는 그 사이 DB 검색으로 대체)
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        Thread.ofVirtual().name("board-search-init").start(() -> {
+            try {
+                Optional<InvertedIndex> loaded = loadSnapshot();
+                if (loaded.isPresent()) {
+                    swap(loaded.get());
+                    catchUp();
+                } else {
+                    rebuild();
+                }
+                ready = true;
+                log.info("[Search] 게시글 검색 인덱스 준비 완료 - {}건", index.size());
+            } catch (Exception e) {
+                log.error("[Search] 게시글 검색 인덱스 초기화 실패 - DB 검색으로 동작합니다.", e);
+            }
+        });
+    }
+
+    /** DB 변경분(updatedAt 기준) 따라잡기 */
+    @Scheduled(fixedDelayString = "${app.search.catch-up-ms:30000}", initialDelayString = "${app.search.catch-up-ms:30000}")
+    public synchronized void catchUp() {
+        if (!ready && index.size() == 0) return;
+        int applied = 0;
+        while (true) {
+            LocalDateTime since;
+            long afterId;
+            lock.readLock().lock();
+            try {
+                since = index.watermarkAt();
+                afterId = index.watermarkId();
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            List<BoardSearchSourceProjection> rows =
+                    boardRepository.findSearchSourcesUpdatedSince(since, afterId, Limit.of(chunkSize));
+            if (rows.isEmpty()) break;
+            write(idx -> rows.forEach(row -> {
+                apply(idx, row);
+                idx.advanceWatermark(row.getUpdatedAt(), row.getId());
+            }));
+            applied += rows.size();
+            if (rows.size() < chunkSize) break;
+        }
+        if (applied > 0) log.debug("[Search] 변경분 {}건 반영", applied);
+    }
+
+    /** 전체 재구성: 새 인덱스를 만든 뒤 교체 (그동안 검색은 기존 인덱스로) */
+    @Scheduled(cron = "${app.search.rebuild-cron:0 0 5 * * *}")
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        // 재구성 중 바뀐 게시글은 다음 catch-up에서 다시 반영되도록 시작 시각을 워터마크로 사용
+        LocalDateTime startedAt = LocalDateTime.now().minusMinutes(1);
+        InvertedIndex fresh = new InvertedIndex();
+        long afterId = 0L;
+        while (true) {
+            List<BoardSearchSourceProjection> rows =
+                    boardRepository.findSearchSourcesAfterId(afterId, Limit.of(chunkSize));
+            if (rows.isEmpty()) break;
+            rows.forEach(row -> apply(fresh, row));
+            afterId = rows.get(rows.size() - 1).getId();
+            if (rows.size() < chunkSize) break;
+        }
+        fresh.resetWatermark(startedAt);
+        swap(fresh);
+        log.info("[Search] 인덱스 전체 재구성 - {}건, {}ms", fresh.size(), System.currentTimeMillis() - start);
+        catchUp();
+        writeSnapshot();
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.snapshot-ms:600000}", initialDelayString = "${app.search.snapshot-ms:600000}")
+    public void scheduledSnapshot() {
+        if (ready) writeSnapshot();
+    }
+
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        if (ready) writeSnapshot();
+    }
+
+    private void writeSnapshot() {
+        Path target = Paths.get(snapshotPath);
+        try {
+            if (target.getParent() != null) Files.createDirectories(target.getParent());
+            Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+            lock.readLock().lock();
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new GZIPOutputStream(Files.newOutputStream(tmp))))) {
+                index.writeTo(out);
+            } finally {
+                lock.readLock().unlock();
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("[Search] 스냅샷 저장 실패 - {}: {}", target, e.getMessage());
+        }
+    }
+
+    private Optional<InvertedIndex> loadSnapshot() {
+        Path path = Paths.get(snapshotPath);
+        if (!Files.exists(path)) return Optional.empty();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(path))))) {
+            InvertedIndex loaded = InvertedIndex.readFrom(in);
+            log.info("[Search] 스냅샷 로딩 - {}건 (워터마크 {})", loaded.size(), loaded.watermarkAt());
+            return Optional.of(loaded);
+        } catch (IOException e) {
+            log.warn("[Search] 스냅샷 로딩 실패, 전체 재구성합니다: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static void apply(InvertedIndex idx, BoardSearchSourceProjection row) {
+        long createdAt = toMillis(Optional.ofNullable(row.getCreatedAt()).orElse(LocalDateTime.now()));
+        idx.upsert(row.getId(), Boolean.TRUE.equals(row.getActive()), createdAt,
+                row.getTitle(), row.getContent(), row.getAuthorNickname());
+    }
+
+    private void swap(InvertedIndex fresh) {
+        lock.writeLock().lock();
+        try {
+            this.index = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void write(Consumer<InvertedIndex> mutation) {
+        lock.writeLock().lock();
+        try {
+            mutation.accept(index);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZONE).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,298 @@
+package com.stackflov.search;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 게시글 역색인 (필드별 posting + 문서별 forward index).
+ * - 점수: 필드 가중치를 곱한 BM25 합 × 최신성 가중치
+ * - 스레드 안전하지 않음: 동기화는 BoardSearchIndex가 담당
+ */
+public class InvertedIndex {
+
+    public enum Field {
+        TITLE(2.0), CONTENT(1.0), NICKNAME(1.5);
+
+        final double weight;
+
+        Field(double weight) {
+            this.weight = weight;
+        }
+    }
+
+    /** 질의 조건 하나: 지정 필드들 중 어디든 text의 모든 토큰이 나와야 매칭 */
+    public record Clause(Set<Field> fields, String text) {}
+
+    public record SearchHits(List<Long> ids, int total) {}
+
+    private static final int FIELDS = Field.values().length;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int SNAPSHOT_MAGIC = 0x42534958; // "BSIX"
+    private static final int SNAPSHOT_VERSION = 2; // 2: 문자열을 길이 + UTF-8 바이트로 (writeUTF 64KB 제한 회피)
+
+    private static final class Doc {
+        final long id;
+        final boolean active;
+        final long createdAtMillis;
+        final List<Map<String, Integer>> terms; // 필드별 term → tf
+        final int[] lengths;
+
+        Doc(long id, boolean active, long createdAtMillis, List<Map<String, Integer>> terms) {
+            this.id = id;
+            this.active = active;
+            this.createdAtMillis = createdAtMillis;
+            this.terms = terms;
+            this.lengths = new int[FIELDS];
+            for (int f = 0; f < FIELDS; f++) {
+                lengths[f] = terms.get(f).values().stream().mapToInt(Integer::intValue).sum();
+            }
+        }
+    }
+
+    private final Map<Long, Doc> docs = new HashMap<>();
+    private final List<Map<String, Map<Long, Integer>>> postings = new ArrayList<>(FIELDS);
+    private final long[] totalLengths = new long[FIELDS];
+
+    // DB 변경분 따라잡기 위치 (updatedAt, id)
+    private LocalDateTime watermarkAt = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private long watermarkId = 0L;
+
+    public InvertedIndex() {
+        for (int f = 0; f < FIELDS; f++) postings.add(new HashMap<>());
+    }
+
+    public void upsert(long id, boolean active, long createdAtMillis, String title, String content, String nickname) {
+        List<Map<String, Integer>> terms = new ArrayList<>(FIELDS);
+        terms.add(termFrequencies(title));
+        terms.add(termFrequencies(content));
+        terms.add(termFrequencies(nickname));
+        remove(id);
+        put(new Doc(id, active, createdAtMillis, terms));
+    }
+
+    public void remove(long id) {
+        Doc old = docs.remove(id);
+        if (old == null) return;
+        for (int f = 0; f < FIELDS; f++) {
+            Map<String, Map<Long, Integer>> fieldPostings = postings.get(f);
+            for (String term : old.terms.get(f).keySet()) {
+                Map<Long, Integer> list = fieldPostings.get(term);
+                if (list == null) continue;
+                list.remove(id);
+                if (list.isEmpty()) fieldPostings.remove(term);
+            }
+            totalLengths[f] -= old.lengths[f];
+        }
+    }
+
+    public int size() {
+        return docs.size();
+    }
+
+    public LocalDateTime watermarkAt() {
+        return watermarkAt;
+    }
+
+    public long watermarkId() {
+        return watermarkId;
+    }
+
+    public void advanceWatermark(LocalDateTime at, long id) {
+        if (at == null) return;
+        if (at.isAfter(watermarkAt) || (at.isEqual(watermarkAt) && id > watermarkId)) {
+            this.watermarkAt = at;
+            this.watermarkId = id;
+        }
+    }
+
+    public void resetWatermark(LocalDateTime at) {
+        this.watermarkAt = at;
+        this.watermarkId = 0L;
+    }
+
+    public SearchHits search(List<Clause> clauses, boolean activeOnly, int offset, int limit,
+                             long nowMillis, double recencyWeight, double halfLifeDays) {
+        Map<Long, Double> scores = null;
+        for (Clause clause : clauses) {
+            Map<Long, Double> clauseScores = scoreClause(clause, activeOnly);
+            if (scores == null) {
+                scores = clauseScores;
+            } else {
+                // 조건끼리는 AND
+                Map<Long, Double> merged = new HashMap<>();
+                for (Map.Entry<Long, Double> e : clauseScores.entrySet()) {
+                    Double prev = scores.get(e.getKey());
+                    if (prev != null) merged.put(e.getKey(), prev + e.getValue());
+                }
+                scores = merged;
+            }
+            if (scores.isEmpty()) break;
+        }
+        if (scores == null || scores.isEmpty()) return new SearchHits(List.of(), 0);
+
+        // 상위 offset + limit 개만 유지 (min-heap)
+        int k = offset + limit;
+        PriorityQueue<Map.Entry<Long, Double>> heap = new PriorityQueue<>(Map.Entry.comparingByValue());
+        for (Map.Entry<Long, Double> e : scores.entrySet()) {
+            Doc doc = docs.get(e.getKey());
+            double ageDays = Math.max(0, nowMillis - doc.createdAtMillis) / 86_400_000.0;
+            double boosted = e.getValue() * (1 + recencyWeight * Math.pow(0.5, ageDays / halfLifeDays));
+            Map.Entry<Long, Double> entry = Map.entry(e.getKey(), boosted);
+            if (heap.size() < k) {
+                heap.add(entry);
+            } else if (k > 0 && boosted > heap.peek().getValue()) {
+                heap.poll();
+                heap.add(entry);
+            }
+        }
+        List<Map.Entry<Long, Double>> top = new ArrayList<>(heap);
+        top.sort(Map.Entry.<Long, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())));
+
+        List<Long> ids = top.stream().skip(offset).map(Map.Entry::getKey).toList();
+        return new SearchHits(ids, scores.size());
+    }
+
+    private Map<Long, Double> scoreClause(Clause clause, boolean activeOnly) {
+        List<String> tokens = KoreanTextTokenizer.tokenize(clause.text());
+        if (tokens.isEmpty()) return Map.of();
+
+        Map<Long, Double> scores = null;
+        for (String token : new LinkedHashSet<>(tokens)) {
+            Map<Long, Double> tokenScores = new HashMap<>();
+            for (Field field : clause.fields()) {
+                for (String term : expand(field, token)) {
+                    scoreTerm(field, term, activeOnly, tokenScores);
+                }
+            }
+            if (scores == null) {
+                scores = tokenScores;
+            } else {
+                // 토큰끼리도 AND (부분 문자열 검색에 가깝게)
+                Map<Long, Double> merged = new HashMap<>();
+                for (Map.Entry<Long, Double> e : tokenScores.entrySet()) {
+                    Double prev = scores.get(e.getKey());
+                    if (prev != null) merged.put(e.getKey(), prev + e.getValue());
+                }
+                scores = merged;
+            }
+            if (scores.isEmpty()) break;
+        }
+        return scores;
+    }
+
+    // 한 글자 한글 질의는 그 음절을 포함한 2-gram 전부로 확장
+    private Collection<String> expand(Field field, String token) {
+        if (!KoreanTextTokenizer.isSingleHangul(token)) return List.of(token);
+        char syllable = token.charAt(0);
+        List<String> terms = new ArrayList<>();
+        for (String term : postings.get(field.ordinal()).keySet()) {
+            if (term.indexOf(syllable) >= 0) terms.add(term);
+        }
+        return terms;
+    }
+
+    private void scoreTerm(Field field, String term, boolean activeOnly, Map<Long, Double> out) {
+        Map<Long, Integer> list = postings.get(field.ordinal()).get(term);
+        if (list == null || list.isEmpty()) return;
+
+        int n = docs.size();
+        double idf = Math.log(1 + (n - list.size() + 0.5) / (list.size() + 0.5));
+        double avgLength = n == 0 ? 1 : Math.max(1.0, (double) totalLengths[field.ordinal()] / n);
+
+        for (Map.Entry<Long, Integer> e : list.entrySet()) {
+            Doc doc = docs.get(e.getKey());
+            if (activeOnly && !doc.active) continue;
+            int tf = e.getValue();
+            double norm = tf * (K1 + 1) / (tf + K1 * (1 - B + B * doc.lengths[field.ordinal()] / avgLength));
+            out.merge(e.getKey(), field.weight * idf * norm, Double::sum);
+        }
+    }
+
+    private void put(Doc doc) {
+        docs.put(doc.id, doc);
+        for (int f = 0; f < FIELDS; f++) {
+            Map<String, Map<Long, Integer>> fieldPostings = postings.get(f);
+            for (Map.Entry<String, Integer> e : doc.terms.get(f).entrySet()) {
+                fieldPostings.computeIfAbsent(e.getKey(), t -> new HashMap<>()).put(doc.id, e.getValue());
+            }
+            totalLengths[f] += doc.lengths[f];
+        }
+    }
+
+    private static Map<String, Integer> termFrequencies(String text) {
+        Map<String, Integer> tf = new HashMap<>();
+        for (String token : KoreanTextTokenizer.tokenize(text)) {
+            tf.merge(token, 1, Integer::sum);
+        }
+        return tf;
+    }
+
+    // === 스냅샷: forward index만 저장하고, 로딩 시 posting을 다시 구성 ===
+
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(SNAPSHOT_MAGIC);
+        out.writeInt(SNAPSHOT_VERSION);
+        writeString(out, watermarkAt.toString());
+        out.writeLong(watermarkId);
+        out.writeInt(docs.size());
+        for (Doc doc : docs.values()) {
+            out.writeLong(doc.id);
+            out.writeBoolean(doc.active);
+            out.writeLong(doc.createdAtMillis);
+            for (int f = 0; f < FIELDS; f++) {
+                Map<String, Integer> terms = doc.terms.get(f);
+                out.writeInt(terms.size());
+                for (Map.Entry<String, Integer> e : terms.entrySet()) {
+                    writeString(out, e.getKey());
+                    out.writeInt(e.getValue());
+                }
+            }
+        }
+    }
+
+    public static InvertedIndex readFrom(DataInputStream in) throws IOException {
+        if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+            throw new IOException("지원하지 않는 검색 인덱스 스냅샷 형식입니다.");
+        }
+        InvertedIndex index = new InvertedIndex();
+        index.watermarkAt = LocalDateTime.parse(readString(in));
+        index.watermarkId = in.readLong();
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            long id = in.readLong();
+            boolean active = in.readBoolean();
+            long createdAt = in.readLong();
+            List<Map<String, Integer>> terms = new ArrayList<>(FIELDS);
+            for (int f = 0; f < FIELDS; f++) {
+                int size = in.readInt();
+                Map<String, Integer> tf = new HashMap<>(Math.max(4, size * 2));
+                for (int t = 0; t < size; t++) {
+                    tf.put(readString(in), in.readInt());
+                }
+                terms.add(tf);
+            }
+            index.put(new Doc(id, active, createdAt, terms));
+        }
+        return index;
+    }
+
+    // writeUTF는 인코딩 후 64KB를 넘으면 예외라, 긴 토큰 하나로 스냅샷 전체가 실패하지 않도록 길이 + 바이트로 씀
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) throw new IOException("검색 인덱스 스냅샷이 손상되었습니다. (문자열 길이 " + length + ")");
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
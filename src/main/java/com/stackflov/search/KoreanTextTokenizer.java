@@ -0,0 +1,66 @@
+package com.stackflov.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * 검색용 토크나이저.
+ * - 한글 음절 구간: 2-gram (한 글자짜리 구간은 1-gram)  예) "자취방구함" → 자취, 취방, 방구, 구함
+ * - 그 외 문자/숫자 구간(영문 등): 공백/구두점 기준 단어 그대로
+ * - NFKC 정규화 + 소문자화, HTML 태그 제거
+ */
+public final class KoreanTextTokenizer {
+
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]*>");
+
+    private KoreanTextTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) return tokens;
+
+        String normalized = Normalizer.normalize(HTML_TAG.matcher(text).replaceAll(" "), Normalizer.Form.NFKC)
+                .toLowerCase(Locale.ROOT);
+
+        int i = 0;
+        int len = normalized.length();
+        while (i < len) {
+            char c = normalized.charAt(i);
+            if (isHangulSyllable(c)) {
+                int start = i;
+                while (i < len && isHangulSyllable(normalized.charAt(i))) i++;
+                addHangulGrams(normalized, start, i, tokens);
+            } else if (Character.isLetterOrDigit(c)) {
+                int start = i;
+                while (i < len && Character.isLetterOrDigit(normalized.charAt(i)) && !isHangulSyllable(normalized.charAt(i))) i++;
+                tokens.add(normalized.substring(start, i));
+            } else {
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    public static boolean isHangulSyllable(char c) {
+        return c >= '가' && c <= '힣';
+    }
+
+    /** 한 글자 한글 토큰인지 (질의 시 해당 음절을 포함한 2-gram으로 확장) */
+    public static boolean isSingleHangul(String token) {
+        return token.length() == 1 && isHangulSyllable(token.charAt(0));
+    }
+
+    private static void addHangulGrams(String s, int start, int end, List<String> out) {
+        if (end - start == 1) {
+            out.add(s.substring(start, end));
+            return;
+        }
+        for (int j = start; j + 1 < end; j++) {
+            out.add(s.substring(j, j + 2));
+        }
+    }
+}
@@ -3,16 +3,21 @@ package com.stackflov.service;
 import com.stackflov.domain.*;
 import com.stackflov.dto.*;
 import com.stackflov.repository.*;
+import com.stackflov.search.BoardSearchIndex;
+import com.stackflov.search.InvertedIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -33,6 +38,8 @@ public class AdminService {
     private final MapService mapService;
     private final ReviewRepository reviewRepository;
     private final AdminNoteRepository adminNoteRepository;
+    private final ApproximateCountService approximateCountService;
+    private final BoardSearchIndex boardSearchIndex;
 
     // 모든 사용자 목록 조회
     @Transactional(readOnly = true)
@@ -46,6 +53,20 @@ public class AdminService {
             return new AdminUserDto(u, boards, comments);
         });
     }
+
+    // 모든 사용자 목록 조회 (COUNT 없이 다음 페이지 여부 + 대략적인 전체 개수)
+    @Transactional(readOnly = true)
+    public SliceResponseDto<AdminUserDto> getUsersSlice(int page, int size) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+        Slice<User> users = userRepository.findAllAsSlice(pageable);
+        long total = approximateCountService.get("users:all", userRepository::count);
+
+        return new SliceResponseDto<>(users.map(u -> {
+            long boards = boardRepository.countByAuthor_Id(u.getId());
+            long comments = commentRepository.countByUser_Id(u.getId());
+            return new AdminUserDto(u, boards, comments);
+        }), total);
+    }
     // 사용자 역할 변경
     @Transactional
     public void updateUserRole(Long userId, RoleUpdateRequestDto dto, String adminEmail) {
@@ -144,8 +165,27 @@ public class AdminService {
     // 관리자용 게시글 검색
     @Transactional(readOnly = true)
     public Page<AdminBoardDto> searchBoardsByAdmin(String type, String keyword, Pageable pageable) {
-        Page<Board> boards = boardRepository.searchAllBy(type, keyword, pageable);
-        return boards.map(AdminBoardDto::new);
+        InvertedIndex.Field field = switch (type) {
+            case "title" -> InvertedIndex.Field.TITLE;
+            case "content" -> InvertedIndex.Field.CONTENT;
+            case "author" -> InvertedIndex.Field.NICKNAME;
+            default -> null;
+        };
+        if (field == null) return Page.empty(pageable);
+
+        // 인덱스 준비 전에는 DB LIKE 검색
+        if (!boardSearchIndex.ready()) {
+            return boardRepository.searchAllBy(type, keyword, pageable).map(AdminBoardDto::new);
+        }
+
+        // 관리자는 비활성 게시글까지 검색
+        InvertedIndex.SearchHits hits = boardSearchIndex.search(
+                List.of(new InvertedIndex.Clause(EnumSet.of(field), keyword)),
+                false, (int) pageable.getOffset(), pageable.getPageSize());
+        List<AdminBoardDto> content = boardService.loadInOrder(hits.ids(), false).stream()
+                .map(AdminBoardDto::new)
+                .toList();
+        return new PageImpl<>(content, pageable, hits.total());
     }
 
     // 관리자용 댓글 검색
@@ -364,14 +404,14 @@ public class AdminService {
         if (commentIds == null || commentIds.isEmpty()) return;
 
         // Repository에 추가한 벌크 연산 쿼리를 직접 호출
-        commentRepository.bulkDeactivateByIds(commentIds);
+        commentRepository.bulkDeactivateByIds(commentIds, LocalDateTime.now());
     }
 
     @Transactional
     public void deactivateReviewByAdmin(Long reviewId) {
         // 실제 로직은 MapService에 위임
         mapService.deactivateReviewByAdmin(reviewId);
-        commentRepository.bulkDeactivateByReviewId(reviewId);
+        commentRepository.bulkDeactivateByReviewId(reviewId, LocalDateTime.now());
     }
 
     @Transactional
@@ -0,0 +1,57 @@
+package com.stackflov.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * 목록 "쿼리 형태"별 대략적인 전체 개수 캐시.
+ * - 처음 한 번만 요청 스레드에서 COUNT를 실행하고,
+ * - 이후에는 refresh 주기가 지나면 캐시 값을 그대로 돌려주면서 백그라운드에서 다시 COUNT 합니다.
+ * 페이지마다 COUNT(*)를 날리지 않기 위한 용도이므로 값은 최대 refresh 주기만큼 오래될 수 있습니다.
+ */
+@Slf4j
+@Service
+public class ApproximateCountService {
+
+    private final Map<String, LongSupplier> counters = new ConcurrentHashMap<>();
+    private final LoadingCache<String, Long> totals;
+
+    public ApproximateCountService(@Value("${app.approx-count.refresh-ms:60000}") long refreshMillis,
+                                   @Value("${app.approx-count.max-keys:1000}") long maxKeys) {
+        this.totals = Caffeine.newBuilder()
+                .refreshAfterWrite(Duration.ofMillis(refreshMillis))
+                .maximumSize(maxKeys)
+                .build(this::count);
+    }
+
+    /**
+     * @param key     쿼리 형태 (예: "boards:active", "notices:active")
+     * @param counter 실제 COUNT 쿼리
+     */
+    public long get(String key, LongSupplier counter) {
+        counters.putIfAbsent(key, counter);
+        try {
+            return totals.get(key);
+        } catch (RuntimeException e) {
+            log.warn("[ApproxCount] {} 집계 실패: {}", key, e.getMessage());
+            return -1L;
+        }
+    }
+
+    public void invalidate(String key) {
+        totals.invalidate(key);
+    }
+
+    private Long count(String key) {
+        LongSupplier counter = counters.get(key);
+        return (counter == null) ? null : counter.getAsLong();
+    }
+}
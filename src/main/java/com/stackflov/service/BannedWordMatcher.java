@@ -0,0 +1,137 @@
+package com.stackflov.service;
+
+import java.text.Normalizer;
+import java.util.*;
+
+/**
+ * 금칙어 다중 패턴 매칭 (Aho–Corasick). 생성 후에는 변경되지 않으므로 여러 스레드에서 그대로 공유합니다.
+ * - 정규화: NFKC(전각/반각, 호환 문자 통일 + 분리된 자모 결합) → 소문자 → 글자/숫자 외 문자 제거
+ *   예) "바 보", "바.보", "ＢＡＤ", "b​ad" 도 걸러짐
+ * - 텍스트를 한 번만 훑어서 모든 금칙어를 동시에 검사
+ */
+public final class BannedWordMatcher {
+
+    public static final BannedWordMatcher EMPTY = compile(List.of());
+
+    // 노드별 전이: keys는 정렬된 문자, targets는 같은 인덱스의 다음 노드
+    private final char[][] keys;
+    private final int[][] targets;
+    private final int[] fail;
+    private final boolean[] output; // 이 노드(또는 fail 체인)에서 끝나는 금칙어가 있는지
+    private final int patternCount;
+
+    private BannedWordMatcher(char[][] keys, int[][] targets, int[] fail, boolean[] output, int patternCount) {
+        this.keys = keys;
+        this.targets = targets;
+        this.fail = fail;
+        this.output = output;
+        this.patternCount = patternCount;
+    }
+
+    public static BannedWordMatcher compile(Collection<String> words) {
+        // 1) trie 구성
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        List<Boolean> terminal = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        terminal.add(false);
+        int count = 0;
+        for (String word : words) {
+            String pattern = normalize(word);
+            if (pattern.isEmpty()) continue;
+            int node = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                Integer next = trie.get(node).get(c);
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    terminal.add(false);
+                    trie.get(node).put(c, next);
+                }
+                node = next;
+            }
+            terminal.set(node, true);
+            count++;
+        }
+
+        int size = trie.size();
+        char[][] keys = new char[size][];
+        int[][] targets = new int[size][];
+        boolean[] output = new boolean[size];
+        for (int n = 0; n < size; n++) {
+            TreeMap<Character, Integer> edges = trie.get(n);
+            keys[n] = new char[edges.size()];
+            targets[n] = new int[edges.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> e : edges.entrySet()) {
+                keys[n][i] = e.getKey();
+                targets[n][i] = e.getValue();
+                i++;
+            }
+            output[n] = terminal.get(n);
+        }
+
+        // 2) BFS로 fail 링크 구성
+        int[] fail = new int[size];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int child : targets[0]) {
+            fail[child] = 0;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int i = 0; i < keys[node].length; i++) {
+                char c = keys[node][i];
+                int child = targets[node][i];
+                int f = fail[node];
+                int next;
+                while ((next = step(keys, targets, f, c)) < 0 && f != 0) {
+                    f = fail[f];
+                }
+                fail[child] = (next >= 0) ? next : 0;
+                output[child] |= output[fail[child]];
+                queue.add(child);
+            }
+        }
+        return new BannedWordMatcher(keys, targets, fail, output, count);
+    }
+
+    public int size() {
+        return patternCount;
+    }
+
+    /** 정규화한 텍스트에 금칙어가 하나라도 있으면 true */
+    public boolean matches(String text) {
+        if (patternCount == 0 || text == null || text.isBlank()) return false;
+        String normalized = normalize(text);
+        int node = 0;
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            int next;
+            while ((next = step(keys, targets, node, c)) < 0 && node != 0) {
+                node = fail[node];
+            }
+            node = Math.max(next, 0);
+            if (output[node]) return true;
+        }
+        return false;
+    }
+
+    /** 금칙어/검사 대상 공통 정규화 */
+    static String normalize(String text) {
+        if (text == null) return "";
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder sb = new StringBuilder(folded.length());
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            // 공백, 구두점, 기호, zero-width 문자 등 끼워넣기 우회를 제거
+            if (Character.isLetterOrDigit(c)) sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    private static int step(char[][] keys, int[][] targets, int node, char c) {
+        int i = Arrays.binarySearch(keys[node], c);
+        return (i >= 0) ? targets[node][i] : -1;
+    }
+}
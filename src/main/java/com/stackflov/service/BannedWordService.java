@@ -3,16 +3,34 @@ package com.stackflov.service;
 import com.stackflov.domain.BannedWord;
 import com.stackflov.repository.BannedWordRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 
+/**
+ * 금칙어 관리 + 검사.
+ * 검사는 메모리에 올려둔 Aho–Corasick 매처로 수행하고(요청마다 DB 조회 X),
+ * 추가/삭제 시 커밋 이후 매처를 새로 만들어 교체한 뒤 Redis pub/sub으로 다른 노드에도 재구성을 알립니다.
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class BannedWordService {
 
+    public static final String CHANGED_CHANNEL = "banned-words:changed";
+
     private final BannedWordRepository bannedWordRepository;
+    private final StringRedisTemplate redisTemplate;
+
+    private volatile BannedWordMatcher matcher = BannedWordMatcher.EMPTY;
 
     // 관리자: 금칙어 추가
     @Transactional
@@ -22,7 +40,9 @@ public class BannedWordService {
             throw new IllegalArgumentException("이미 등록된 금칙어입니다.");
         }
         BannedWord bannedWord = BannedWord.builder().word(trimmedWord).build();
-        return bannedWordRepository.save(bannedWord);
+        BannedWord saved = bannedWordRepository.save(bannedWord);
+        reloadAfterCommit();
+        return saved;
     }
 
     // 관리자: 금칙어 삭제
@@ -31,6 +51,7 @@ public class BannedWordService {
         BannedWord bannedWord = bannedWordRepository.findByWord(word.trim())
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 금칙어입니다."));
         bannedWordRepository.delete(bannedWord);
+        reloadAfterCommit();
     }
 
     // 관리자: 모든 금칙어 조회
@@ -39,17 +60,49 @@ public class BannedWordService {
         return bannedWordRepository.findAll();
     }
 
-    // 시스템: 텍스트에 금칙어가 포함되어 있는지 검사
-    @Transactional(readOnly = true)
+    // 시스템: 텍스트에 금칙어가 포함되어 있는지 검사 (정규화 후 한 번에 매칭)
     public boolean containsBannedWord(String text) {
-        if (text == null || text.isBlank()) {
-            return false;
+        return matcher.matches(text);
+    }
+
+    /** DB에서 금칙어를 읽어 매처를 새로 만든 뒤 통째로 교체 (검사 중인 요청은 이전 매처를 그대로 사용) */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        List<String> words = bannedWordRepository.findAll().stream()
+                .map(BannedWord::getWord)
+                .toList();
+        this.matcher = BannedWordMatcher.compile(words);
+        log.info("[BannedWord] 금칙어 매처 재구성 - {}개", matcher.size());
+    }
+
+    // pub/sub 메시지 유실 대비 안전망
+    @Scheduled(fixedDelayString = "${app.banned-word.refresh-ms:300000}", initialDelayString = "${app.banned-word.refresh-ms:300000}")
+    public void scheduledReload() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.warn("[BannedWord] 금칙어 매처 재구성 실패 - 기존 매처 유지: {}", e.getMessage());
         }
-        // DB에서 모든 금칙어를 가져와서 하나라도 포함되는지 확인
-        List<BannedWord> bannedWords = getAllBannedWords();
-        String lowerCaseText = text.toLowerCase(); // 대소문자 구분 없이 검사
+    }
 
-        return bannedWords.stream()
-                .anyMatch(bannedWord -> lowerCaseText.contains(bannedWord.getWord().toLowerCase()));
+    private void reloadAfterCommit() {
+        Runnable action = () -> {
+            reload();
+            try {
+                redisTemplate.convertAndSend(CHANGED_CHANNEL, "reload");
+            } catch (Exception e) {
+                log.warn("[BannedWord] 금칙어 변경 알림 발행 실패: {}", e.getMessage());
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,104 @@
+package com.stackflov.service;
+
+import com.stackflov.domain.User;
+import com.stackflov.dto.BoardListResponseDto;
+import com.stackflov.repository.BoardRepository;
+import com.stackflov.repository.projection.BoardListProjection;
+import com.stackflov.repository.projection.EngagementCountProjection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 게시글 목록 projection → BoardListResponseDto 변환.
+ * - toDto: 조회자와 무관한 부분 (viewCount는 DB 값 그대로 → 캐시 가능)
+ * - withViewerState: 좋아요/북마크 여부 + 버퍼된 조회수를 페이지 단위로 덧씌움
+ * - withLiveCounts: 캐시에서 꺼낸 목록에 현재 좋아요/댓글 수를 덧씌움 (카운터 변경으로는 캐시를 지우지 않으므로)
+ * - hydrate: id 목록 → 목록 DTO (IN 조회 1회, 순서 유지, 비활성/삭제된 글 제외)
+ */
+@Component
+@RequiredArgsConstructor
+public class BoardListAssembler {
+
+    private final BoardRepository boardRepository;
+    private final S3Service s3Service;
+    private final BoardViewerStateResolver boardViewerStateResolver;
+    private final ViewCountService viewCountService;
+
+    public BoardListResponseDto toDto(BoardListProjection row) {
+        return BoardListResponseDto.builder()
+                .id(row.getId())
+                .title(row.getTitle())
+                .category(row.getCategory())
+                .authorId(row.getAuthorId())
+                .authorEmail(row.getAuthorEmail())
+                .authorNickname(row.getAuthorNickname())
+                .thumbnailUrl(row.getThumbnailKey() == null ? null : s3Service.publicUrl(row.getThumbnailKey()))
+                .viewCount(row.getViewCount())
+                .createdAt(row.getCreatedAt())
+                .updatedAt(row.getUpdatedAt())
+                .likeCount(row.getLikeCount())
+                .commentCount(row.getCommentCount())
+                .build();
+    }
+
+    /** 주어진 id 순서대로 (조회자 상태 제외). 중복 id는 한 번만 */
+    public List<BoardListResponseDto> load(Collection<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+        Map<Long, BoardListProjection> rows = boardRepository.findActiveListByIds(ids).stream()
+                .collect(Collectors.toMap(BoardListProjection::getId, Function.identity()));
+        return ids.stream()
+                .distinct()
+                .map(rows::get)
+                .filter(Objects::nonNull)
+                .map(this::toDto)
+                .toList();
+    }
+
+    public List<BoardListResponseDto> hydrate(Collection<Long> ids, @Nullable User viewer) {
+        return withViewerState(load(ids), viewer);
+    }
+
+    public List<BoardListResponseDto> withViewerState(List<BoardListResponseDto> items, @Nullable User viewer) {
+        BoardViewerStateResolver.BoardViewerState state = boardViewerStateResolver.resolve(
+                items.stream().map(BoardListResponseDto::getId).toList(), viewer);
+
+        return items.stream()
+                .map(item -> item.toBuilder()
+                        .viewCount(viewCountService.boardViewCount(item.getId(), item.getViewCount()))
+                        .isLiked(state.isLiked(item.getId()))
+                        .isBookmarked(state.isBookmarked(item.getId()))
+                        .build())
+                .toList();
+    }
+
+    public List<BoardListResponseDto> withLiveCounts(List<BoardListResponseDto> items) {
+        if (items.isEmpty()) return items;
+        Map<Long, EngagementCountProjection> counts = boardRepository.findEngagementCountsByIds(
+                        items.stream().map(BoardListResponseDto::getId).toList()).stream()
+                .collect(Collectors.toMap(EngagementCountProjection::getId, Function.identity()));
+        return items.stream()
+                .map(item -> {
+                    EngagementCountProjection c = counts.get(item.getId());
+                    return c == null ? item : item.toBuilder()
+                            .likeCount(c.getLikeCount())
+                            .commentCount(c.getCommentCount())
+                            .build();
+                })
+                .toList();
+    }
+
+    public Page<BoardListResponseDto> assemble(Page<BoardListProjection> rows, @Nullable User viewer) {
+        List<BoardListResponseDto> items = rows.getContent().stream().map(this::toDto).toList();
+        return new PageImpl<>(withViewerState(items, viewer), rows.getPageable(), rows.getTotalElements());
+    }
+}
@@ -0,0 +1,211 @@
+package com.stackflov.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.stackflov.dto.BoardListResponseDto;
+import com.stackflov.dto.BoardResponseDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * 게시글 상세 / 목록 앞쪽 페이지의 "조회자와 무관한" 부분을 캐싱합니다.
+ * - L1: 프로세스 내 Caffeine (짧은 TTL) / L2: Redis (노드 간 공유)
+ * - 같은 키에 동시에 miss가 나면 로딩은 한 번만 수행하고 나머지는 그 결과를 기다립니다. (single-flight)
+ * - 좋아요/북마크 여부, 버퍼된 조회수, 좋아요/댓글 수는 호출하는 쪽에서 덧씌웁니다.
+ *   (좋아요/댓글로 카운터만 바뀌면 캐시를 지우지 않음. popular 정렬 순서는 L2 TTL 안에서 따라잡음)
+ * - 무효화는 커밋 이후에 수행합니다. (다른 노드의 L1은 TTL 안에서만 지연됨)
+ * - 목록 L2는 다른 노드가 채운 페이지도 있으므로, 캐시 가능한 키 전체(정렬 × 페이지 × 크기)를 한 번에 지웁니다.
+ */
+@Slf4j
+@Component
+public class BoardReadCache {
+
+    private static final String DETAIL_PREFIX = "board:detail:";
+    private static final String LIST_PREFIX = "board:list:";
+    // BoardService.getBoards의 정렬 종류
+    private static final List<String> LIST_ORDERS = List.of("latest", "popular");
+
+    private final RedisService redisService;
+    private final ObjectMapper objectMapper;
+    private final long l2TtlMillis;
+    private final int cachedListPages;
+    private final int maxListPageSize;
+
+    private final AsyncCache<Long, BoardResponseDto> detailCache;
+    private final AsyncCache<String, CachedPage> listCache;
+    private final JavaType detailType;
+    private final JavaType pageType;
+
+    public BoardReadCache(RedisService redisService,
+                          ObjectMapper objectMapper,
+                          @Value("${app.board-cache.l1-ttl-ms:10000}") long l1TtlMillis,
+                          @Value("${app.board-cache.l1-max-size:10000}") long l1MaxSize,
+                          @Value("${app.board-cache.l2-ttl-ms:60000}") long l2TtlMillis,
+                          @Value("${app.board-cache.list-pages:3}") int cachedListPages,
+                          @Value("${app.board-cache.list-max-page-size:50}") int maxListPageSize) {
+        this.redisService = redisService;
+        // 캐시 값에는 isLiked 등 응답 전용 프로퍼티가 섞여 있으므로 모르는 필드는 무시
+        this.objectMapper = objectMapper.copy()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        this.l2TtlMillis = l2TtlMillis;
+        this.cachedListPages = cachedListPages;
+        this.maxListPageSize = maxListPageSize;
+
+        this.detailCache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(l1TtlMillis))
+                .maximumSize(l1MaxSize)
+                .buildAsync();
+        this.listCache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(l1TtlMillis))
+                .maximumSize(1_000)
+                .buildAsync();
+        this.detailType = this.objectMapper.constructType(BoardResponseDto.class);
+        this.pageType = this.objectMapper.constructType(CachedPage.class);
+    }
+
+    /** 목록 캐시 대상인지 (앞쪽 몇 페이지, 적당한 크기만) */
+    public boolean isListCacheable(int page, int size) {
+        return page >= 0 && page < cachedListPages && size > 0 && size <= maxListPageSize;
+    }
+
+    public BoardResponseDto getDetail(Long boardId, Supplier<BoardResponseDto> loader) {
+        return load(detailCache, boardId, DETAIL_PREFIX + boardId, detailType, loader);
+    }
+
+    public CachedPage getListPage(String order, int page, int size, Supplier<CachedPage> loader) {
+        String key = listKey(order, page, size);
+        return load(listCache, key, LIST_PREFIX + key, pageType, loader);
+    }
+
+    /** 게시글 하나가 바뀐 경우: 상세 + 그 게시글이 들어있는 목록 페이지 (L2는 어느 노드가 채웠는지 모르므로 전체) */
+    public void evictBoard(Long boardId) {
+        afterCommit(() -> {
+            detailCache.synchronous().invalidate(boardId);
+            safeRedisDelete(DETAIL_PREFIX + boardId);
+
+            List<String> stale = new ArrayList<>();
+            listCache.synchronous().asMap().forEach((key, page) -> {
+                if (page.items().stream().anyMatch(item -> boardId.equals(item.getId()))) {
+                    stale.add(key);
+                }
+            });
+            listCache.synchronous().invalidateAll(stale);
+            deleteAllListPagesInRedis();
+        });
+    }
+
+    /** 목록 구성이 바뀐 경우(작성/삭제): 캐시된 목록 페이지 전체 */
+    public void evictLists() {
+        afterCommit(() -> {
+            listCache.synchronous().invalidateAll();
+            deleteAllListPagesInRedis();
+        });
+    }
+
+    // isListCacheable 범위의 키 전부 (기본값이면 정렬 2 × 페이지 3 × 크기 50 = 300개, DEL 한 번)
+    private void deleteAllListPagesInRedis() {
+        List<String> keys = new ArrayList<>(LIST_ORDERS.size() * cachedListPages * maxListPageSize);
+        for (String order : LIST_ORDERS) {
+            for (int page = 0; page < cachedListPages; page++) {
+                for (int size = 1; size <= maxListPageSize; size++) {
+                    keys.add(LIST_PREFIX + listKey(order, page, size));
+                }
+            }
+        }
+        try {
+            redisService.delete(keys);
+        } catch (Exception e) {
+            log.warn("[BoardCache] Redis 목록 캐시 삭제 실패 - {}", e.getMessage());
+        }
+    }
+
+    private static String listKey(String order, int page, int size) {
+        return order + ":" + page + ":" + size;
+    }
+
+    private <K, V> V load(AsyncCache<K, V> l1, K key, String redisKey, JavaType type, Supplier<V> loader) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = l1.asMap().putIfAbsent(key, mine);
+        if (inFlight != null) {
+            // 이미 누군가 로딩 중이거나 L1에 있음 → 그 결과를 공유
+            try {
+                return inFlight.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException re) throw re;
+                throw e;
+            }
+        }
+
+        // 로딩은 호출 스레드에서 수행 (호출 측 트랜잭션/지연 로딩을 그대로 사용)
+        try {
+            V value = readRedis(redisKey, type);
+            if (value == null) {
+                value = loader.get();
+                writeRedis(redisKey, value);
+            }
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            // 실패한 future는 Caffeine이 자동으로 제거하므로 다음 요청에서 다시 로딩
+            mine.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private <V> V readRedis(String key, JavaType type) {
+        try {
+            String json = redisService.get(key);
+            return (json == null) ? null : objectMapper.readValue(json, type);
+        } catch (Exception e) {
+            log.warn("[BoardCache] Redis 조회 실패 - key: {}, {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeRedis(String key, Object value) {
+        if (value == null) return;
+        try {
+            redisService.save(key, objectMapper.writeValueAsString(value), l2TtlMillis);
+        } catch (Exception e) {
+            log.warn("[BoardCache] Redis 저장 실패 - key: {}, {}", key, e.getMessage());
+        }
+    }
+
+    private void safeRedisDelete(String key) {
+        try {
+            redisService.delete(key);
+        } catch (Exception e) {
+            log.warn("[BoardCache] Redis 삭제 실패 - key: {}, {}", key, e.getMessage());
+        }
+    }
+
+    // 커밋 전에 지우면 그 사이 다른 요청이 옛 값을 다시 채울 수 있으므로 커밋 이후 실행
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /** 목록 한 페이지 스냅샷 (조회자 상태 제외) */
+    public record CachedPage(List<BoardListResponseDto> items, long total) {}
+}
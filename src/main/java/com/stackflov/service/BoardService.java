@@ -3,13 +3,16 @@ package com.stackflov.service;
 import com.stackflov.domain.*;
 import com.stackflov.dto.*;
 import com.stackflov.repository.*;
+import com.stackflov.repository.projection.BoardListProjection;
+import com.stackflov.search.BoardSearchIndex;
+import com.stackflov.search.InvertedIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.*;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.*;
@@ -33,37 +36,52 @@ public class BoardService {
     private final HashtagService hashtagService;
     private final BoardHashtagRepository boardHashtagRepository;
     private final ItemFeatureSyncService itemFeatureSyncService;
+    private final ViewCountService viewCountService;
+    private final BoardViewerStateResolver boardViewerStateResolver;
+    private final BoardReadCache boardReadCache;
+    private final BoardListAssembler boardListAssembler;
+    private final ApproximateCountService approximateCountService;
+    private final BoardSearchIndex boardSearchIndex;
+    private final TrendingHashtagService trendingHashtagService;
+    private final TimelineService timelineService;
 
     @Value("${app.defaults.profile-image}")
     private String defaultProfileImage;
 
-    // ✅ 단일 게시글 조회
-    @Transactional
+    // ✅ 단일 게시글 조회 (조회수는 ViewCountService 버퍼에 쌓고 주기적으로 반영 → 읽기 전용 트랜잭션)
+    @Transactional(readOnly = true)
     public BoardResponseDto getBoard(Long boardId, String email) {
-        // 1. 게시글 조회 및 조회수 증가
-        Board board = boardRepository.findByIdAndActiveTrue(boardId)
-                .orElseThrow(() -> new IllegalArgumentException("게시글을 찾을 수 없거나 삭제되었습니다."));
-        board.increaseViewCount();
-
-        log.info("[DEBUG] getBoard 호출됨 - boardId: {}, email: {}", boardId, email);
+        // 1. 조회자와 무관한 부분은 캐시(L1/L2)에서, 없으면 DB에서 한 번만 로딩
+        BoardResponseDto cached = boardReadCache.getDetail(boardId, () -> loadBoardDetail(boardId));
+        viewCountService.increaseBoardView(boardId);
+        trendingHashtagService.recordViewed(cached.getHashtags());
 
-        // 2. 유저 조회 (중복 쿼리 제거 및 Null 방어 조치)
+        // 2. 유저 조회 (Null 방어)
         User user = (email != null && !email.isBlank())
                 ? userRepository.findByEmail(email).orElse(null)
                 : null;
 
-        // 3. 좋아요 및 북마크 여부 확인
-        boolean isLiked = user != null && likeRepository.existsByUserAndBoardAndActiveTrue(user, board);
-        boolean isBookmarked = user != null && bookmarkRepository.existsByUserAndBoardAndActiveTrue(user, board);
+        // 3. 좋아요/북마크 여부, 버퍼된 조회수, 현재 좋아요/댓글 수는 요청마다 덧씌움 (캐시 객체는 공유되므로 복사본에 반영)
+        BoardViewerStateResolver.BoardViewerState state = boardViewerStateResolver.resolve(List.of(boardId), user);
+        BoardResponseDto.BoardResponseDtoBuilder response = cached.toBuilder();
+        boardRepository.findEngagementCountsByIds(List.of(boardId)).stream().findFirst()
+                .ifPresent(c -> response.likeCount(c.getLikeCount()).commentCount(c.getCommentCount()));
+        return response
+                .viewCount(viewCountService.boardViewCount(boardId, cached.getViewCount()))
+                .isLiked(state.isLiked(boardId))
+                .isBookmarked(state.isBookmarked(boardId))
+                .build();
+    }
+
+    // 캐시에 들어갈 상세 DTO (viewCount는 DB 값, isLiked/isBookmarked는 false)
+    private BoardResponseDto loadBoardDetail(Long boardId) {
+        Board board = boardRepository.findByIdAndActiveTrue(boardId)
+                .orElseThrow(() -> new IllegalArgumentException("게시글을 찾을 수 없거나 삭제되었습니다."));
 
-        // 4. 이미지 및 작성자 프로필 URL 처리 (메서드 추출)
         List<String> imageUrls = convertToPublicImageUrls(board);
         String authorProfileImageUrl = getAuthorProfileImageUrl(board.getAuthor());
-
-        // 5. 해시태그 조회
         List<String> hashtags = boardHashtagRepository.findHashtagNamesByBoardId(boardId);
 
-        // 6. DTO 매핑 및 반환
         return BoardResponseDto.builder()
                 .id(board.getId())
                 .title(board.getTitle())
@@ -76,9 +94,8 @@ public class BoardService {
                 .viewCount(board.getViewCount())
                 .createdAt(board.getCreatedAt())
                 .updatedAt(board.getUpdatedAt())
-                .likeCount(likeRepository.countByBoardAndActiveTrue(board))
-                .isLiked(isLiked)
-                .isBookmarked(isBookmarked)
+                .likeCount(board.getLikeCount())
+                .commentCount(board.getCommentCount())
                 .authorProfileImageUrl(authorProfileImageUrl)
                 .hashtags(hashtags)
                 .build();
@@ -107,43 +124,75 @@ public class BoardService {
 
     @Transactional(readOnly = true)
     public Page<BoardListResponseDto> getBoards(int page, int size, String userEmail) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<Board> boards = boardRepository.findAllByActiveTrue(pageable);
-
-        Set<Long> bookmarkedBoardIds = new HashSet<>();
-        User currentUser = null;
-        if (userEmail != null) {
-            currentUser = userRepository.findByEmail(userEmail).orElse(null);
-            if (currentUser != null) {
-                bookmarkRepository.findByUser(currentUser).forEach(b -> {
-                    if (b.getBoard() != null) {
-                        bookmarkedBoardIds.add(b.getBoard().getId());
-                    }
-                });
-            }
-        }
+        return getBoards(page, size, userEmail, "latest");
+    }
 
-        final User finalCurrentUser = currentUser;
+    // order: latest(기본) | popular(좋아요 수 → 최신순, idx_boards_active_like_count 사용)
+    @Transactional(readOnly = true)
+    public Page<BoardListResponseDto> getBoards(int page, int size, String userEmail, String order) {
+        String normalizedOrder = "popular".equalsIgnoreCase(order) ? "popular" : "latest";
+        Pageable pageable = PageRequest.of(page, size, boardSort(normalizedOrder));
+
+        // 앞쪽 페이지는 캐시, 나머지는 바로 DB
+        boolean cacheable = boardReadCache.isListCacheable(page, size);
+        BoardReadCache.CachedPage snapshot = cacheable
+                ? boardReadCache.getListPage(normalizedOrder, page, size, () -> loadBoardPage(pageable))
+                : loadBoardPage(pageable);
+        List<BoardListResponseDto> items = cacheable
+                ? boardListAssembler.withLiveCounts(snapshot.items())
+                : snapshot.items();
 
-        return boards.map(board -> BoardListResponseDto.builder()
-                .id(board.getId())
-                .title(board.getTitle())
-                .authorEmail(board.getAuthor().getEmail())
-                .authorNickname(board.getAuthor().getNickname())
-                .authorId(board.getAuthor().getId())
-                .category(board.getCategory())
-                .thumbnailUrl(board.getImages().stream()
-                        .filter(BoardImage::isActive)
-                        .sorted(Comparator.comparing(i -> i.getSortOrder() == null ? Integer.MAX_VALUE : i.getSortOrder()))
-                        .map(img -> s3Service.publicUrl(img.getImageUrl()))
-                        .findFirst().orElse(null))
-                .viewCount(board.getViewCount())
-                .createdAt(board.getCreatedAt())
-                .updatedAt(board.getUpdatedAt())
-                .likeCount(likeRepository.countByBoardAndActiveTrue(board))
-                .isBookmarked(bookmarkedBoardIds.contains(board.getId()))
-                .isLiked(finalCurrentUser != null && likeRepository.existsByUserAndBoardAndActiveTrue(finalCurrentUser, board))
-                .build());
+        User currentUser = (userEmail != null) ? userRepository.findByEmail(userEmail).orElse(null) : null;
+        return new PageImpl<>(boardListAssembler.withViewerState(items, currentUser),
+                pageable, snapshot.total());
+    }
+
+    // COUNT 없는 목록 (다음 페이지 여부 + 대략적인 전체 개수)
+    @Transactional(readOnly = true)
+    public SliceResponseDto<BoardListResponseDto> getBoardsSlice(int page, int size, String userEmail, String order) {
+        Pageable pageable = PageRequest.of(page, size, boardSort(order));
+        Slice<BoardListProjection> rows = boardRepository.findActiveListSlice(pageable);
+
+        User currentUser = (userEmail != null) ? userRepository.findByEmail(userEmail).orElse(null) : null;
+        List<BoardListResponseDto> items = boardListAssembler.withViewerState(
+                rows.getContent().stream().map(boardListAssembler::toDto).toList(), currentUser);
+        long total = approximateCountService.get("boards:active", boardRepository::countByActiveTrue);
+        return new SliceResponseDto<>(new SliceImpl<>(items, pageable, rows.hasNext()), total);
+    }
+
+    private Sort boardSort(String order) {
+        return "popular".equalsIgnoreCase(order)
+                ? Sort.by(Sort.Order.desc("likeCount"), Sort.Order.desc("createdAt"))
+                : Sort.by("createdAt").descending();
+    }
+
+    // 커서 기반 최신순 목록 (무한 스크롤, 전체 개수 없음)
+    @Transactional(readOnly = true)
+    public CursorPageResponseDto<BoardListResponseDto> getBoardsByCursor(String cursor, int size, String userEmail) {
+        Cursor from = Cursor.decode(cursor);
+        int limit = Cursor.clampSize(size);
+        List<BoardListProjection> rows =
+                boardRepository.findActiveListBefore(from.createdAt(), from.id(), Limit.of(limit + 1));
+
+        User currentUser = (userEmail != null) ? userRepository.findByEmail(userEmail).orElse(null) : null;
+        List<BoardListResponseDto> items = boardListAssembler.withViewerState(
+                rows.stream().map(boardListAssembler::toDto).toList(), currentUser);
+        return CursorPageResponseDto.of(items, limit, BoardListResponseDto::getCreatedAt, BoardListResponseDto::getId);
+    }
+
+    // id 목록 → 목록 DTO (요청 순서 유지, 비활성 제외, 조회수 증가 없음)
+    @Transactional(readOnly = true)
+    public List<BoardListResponseDto> getBoardsBatch(List<Long> ids, String userEmail) {
+        List<Long> distinct = ids.stream().filter(Objects::nonNull).distinct().toList();
+        User currentUser = (userEmail != null) ? userRepository.findByEmail(userEmail).orElse(null) : null;
+        return boardListAssembler.hydrate(distinct, currentUser);
+    }
+
+    // 캐시에 들어갈 목록 한 페이지 (viewCount는 DB 값, 조회자 상태 제외)
+    private BoardReadCache.CachedPage loadBoardPage(Pageable pageable) {
+        Page<BoardListProjection> rows = boardRepository.findActiveList(pageable);
+        List<BoardListResponseDto> items = rows.getContent().stream().map(boardListAssembler::toDto).toList();
+        return new BoardReadCache.CachedPage(items, rows.getTotalElements());
     }
 
     // ✅ 게시글 수정
@@ -206,6 +255,9 @@ public class BoardService {
                 .filter(BoardImage::isActive)
                 .sorted(Comparator.comparing(i -> i.getSortOrder() == null ? Integer.MAX_VALUE : i.getSortOrder()))
                 .forEach(img -> img.setSortOrder(order.getAndIncrement()));
+
+        boardReadCache.evictBoard(boardId);
+        boardSearchIndex.indexAfterCommit(board);
     }
 
     // ✅ 게시글 삭제 (작성자)
@@ -243,6 +295,11 @@ public class BoardService {
         bookmarkRepository.findByBoard(board).forEach(Bookmark::deactivate);
         likeRepository.findByBoard(board).forEach(Like::deactivate);
         board.getImages().forEach(img -> { if (img.isActive()) { img.deactivate(); img.setSortOrder(null); }});
+
+        boardReadCache.evictBoard(boardId);
+        boardReadCache.evictLists();
+        boardSearchIndex.indexAfterCommit(board);
+        timelineService.onBoardRemoved(board);
     }
 
     // ✅ 사용자 탈퇴 시 전체 비활성화
@@ -254,9 +311,15 @@ public class BoardService {
 
     // ✅ 검색
     @Transactional(readOnly = true)
-    public Page<BoardResponseDto> searchBoards(BoardSearchConditionDto condition, Pageable pageable) {
-        Specification<Board> spec = BoardSpecification.search(condition);
-        return boardRepository.findAll(spec, pageable)
+    public Page<BoardResponseDto> searchBoards(BoardSearchConditionDto condition, Pageable pageable, String userEmail) {
+        Page<Board> boards = searchIndexedBoards(condition, pageable)
+                .orElseGet(() -> boardRepository.findAll(BoardSpecification.search(condition), pageable));
+
+        User currentUser = (userEmail != null) ? userRepository.findByEmail(userEmail).orElse(null) : null;
+        BoardViewerStateResolver.BoardViewerState state = boardViewerStateResolver.resolve(
+                boards.getContent().stream().map(Board::getId).toList(), currentUser);
+
+        return boards
                 .map(board -> BoardResponseDto.builder()
                         .id(board.getId())
                         .title(board.getTitle())
@@ -265,7 +328,7 @@ public class BoardService {
                         .authorEmail(board.getAuthor().getEmail())
                         .authorNickname(board.getAuthor().getNickname())
                         .authorId(board.getAuthor().getId())
-                        .viewCount(board.getViewCount())
+                        .viewCount(viewCountService.boardViewCount(board.getId(), board.getViewCount()))
                         .createdAt(board.getCreatedAt())
                         .updatedAt(board.getUpdatedAt())
                         .imageUrls(board.getImages().stream()
@@ -273,11 +336,41 @@ public class BoardService {
                                 .sorted(Comparator.comparing(i -> i.getSortOrder() == null ? Integer.MAX_VALUE : i.getSortOrder()))
                                 .map(img -> s3Service.publicUrl(img.getImageUrl()))
                                 .collect(Collectors.toList()))
-                        .likeCount(likeRepository.countByBoardAndActiveTrue(board))
-                        .isLiked(false)
+                        .likeCount(board.getLikeCount())
+                        .commentCount(board.getCommentCount())
+                        .isLiked(state.isLiked(board.getId()))
+                        .isBookmarked(state.isBookmarked(board.getId()))
                         .build());
     }
 
+    // 검색 인덱스로 (관련도 + 최신성 순) 검색. 인덱스 준비 전이거나 조건이 없으면 empty → DB 검색
+    private Optional<Page<Board>> searchIndexedBoards(BoardSearchConditionDto condition, Pageable pageable) {
+        List<InvertedIndex.Clause> clauses = new ArrayList<>();
+        if (StringUtils.hasText(condition.getTitle())) {
+            clauses.add(new InvertedIndex.Clause(EnumSet.of(InvertedIndex.Field.TITLE), condition.getTitle()));
+        }
+        if (StringUtils.hasText(condition.getContent())) {
+            clauses.add(new InvertedIndex.Clause(EnumSet.of(InvertedIndex.Field.CONTENT), condition.getContent()));
+        }
+        if (StringUtils.hasText(condition.getNickname())) {
+            clauses.add(new InvertedIndex.Clause(EnumSet.of(InvertedIndex.Field.NICKNAME), condition.getNickname()));
+        }
+        if (clauses.isEmpty() || !boardSearchIndex.ready()) return Optional.empty();
+
+        InvertedIndex.SearchHits hits = boardSearchIndex.search(
+                clauses, true, (int) pageable.getOffset(), pageable.getPageSize());
+        return Optional.of(new PageImpl<>(loadInOrder(hits.ids(), true), pageable, hits.total()));
+    }
+
+    // id 순서(랭킹)를 유지한 채 게시글 로딩 (관리자 검색은 activeOnly = false로 비활성 글까지)
+    public List<Board> loadInOrder(List<Long> ids, boolean activeOnly) {
+        if (ids.isEmpty()) return List.of();
+        List<Board> boards = activeOnly ? boardRepository.findAllByIdInAndActiveTrue(ids) : boardRepository.findAllById(ids);
+        Map<Long, Board> byId = boards.stream()
+                .collect(Collectors.toMap(Board::getId, b -> b));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
     @Transactional
     public Long createBoardWithFiles(String email, BoardCreateRequestDto data, List<MultipartFile> images) {
         User user = userService.getValidUserByEmail(email);
@@ -327,37 +420,18 @@ public class BoardService {
                 tags
         );
 
+        boardReadCache.evictLists();
+        boardSearchIndex.indexAfterCommit(saved);
+        timelineService.onBoardCreated(saved);
         return saved.getId();
     }
 
     // ✅ 해시태그로 게시글 조회
     @Transactional(readOnly = true)
     public Page<BoardListResponseDto> getBoardsByHashtag(String tagName, Pageable pageable, String userEmail) {
-        Page<Board> boards = boardRepository.findByHashtagName(tagName, pageable);
-
+        Page<BoardListProjection> rows = boardRepository.findActiveListByHashtagName(tagName, pageable);
         User currentUser = (userEmail != null) ? userRepository.findByEmail(userEmail).orElse(null) : null;
-        Set<Long> bookmarkedBoardIds = new HashSet<>();
-        if (currentUser != null) {
-            bookmarkRepository.findByUserAndActiveTrue(currentUser)
-                    .forEach(b -> bookmarkedBoardIds.add(b.getBoard().getId()));
-        }
-
-        return boards.map(board -> BoardListResponseDto.builder()
-                .id(board.getId())
-                .title(board.getTitle())
-                .authorNickname(board.getAuthor().getNickname())
-                .authorId(board.getAuthor().getId())
-                .thumbnailUrl(board.getImages().stream()
-                        .filter(BoardImage::isActive)
-                        .findFirst()
-                        .map(img -> s3Service.publicUrl(img.getImageUrl()))
-                        .orElse(null))
-                .viewCount(board.getViewCount())
-                .createdAt(board.getCreatedAt())
-                .likeCount(likeRepository.countByBoardAndActiveTrue(board))
-                .isBookmarked(bookmarkedBoardIds.contains(board.getId()))
-                .isLiked(currentUser != null && likeRepository.existsByUserAndBoardAndActiveTrue(currentUser, board))
-                .build());
+        return boardListAssembler.assemble(rows, currentUser);
     }
 
     @Transactional
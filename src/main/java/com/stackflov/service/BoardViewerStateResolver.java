@@ -0,0 +1,61 @@
+package com.stackflov.service;
+
+import com.stackflov.domain.User;
+import com.stackflov.repository.BookmarkRepository;
+import com.stackflov.repository.LikeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * 게시글 목록 페이지 단위로 좋아요 여부 / 북마크 여부를 한 번에 조회합니다.
+ * (행마다 exists 쿼리를 날리지 않도록 IN 쿼리 1회씩만 사용, 좋아요 수는 Board.likeCount 사용)
+ */
+@Component
+@RequiredArgsConstructor
+public class BoardViewerStateResolver {
+
+    private final LikeRepository likeRepository;
+    private final BookmarkRepository bookmarkRepository;
+
+    @Transactional(readOnly = true)
+    public BoardViewerState resolve(Collection<Long> boardIds, @Nullable User viewer) {
+        if (boardIds == null || boardIds.isEmpty()) {
+            return BoardViewerState.EMPTY;
+        }
+        List<Long> ids = boardIds.stream().filter(Objects::nonNull).distinct().toList();
+
+        Set<Long> liked = Collections.emptySet();
+        Set<Long> bookmarked = Collections.emptySet();
+        if (viewer != null) {
+            liked = new HashSet<>(likeRepository.findLikedBoardIds(viewer.getId(), ids));
+            bookmarked = new HashSet<>(bookmarkRepository.findBookmarkedBoardIds(viewer.getId(), ids));
+        }
+        return new BoardViewerState(liked, bookmarked);
+    }
+
+    public static class BoardViewerState {
+
+        static final BoardViewerState EMPTY =
+                new BoardViewerState(Collections.emptySet(), Collections.emptySet());
+
+        private final Set<Long> liked;
+        private final Set<Long> bookmarked;
+
+        BoardViewerState(Set<Long> liked, Set<Long> bookmarked) {
+            this.liked = liked;
+            this.bookmarked = bookmarked;
+        }
+
+        public boolean isLiked(Long boardId) {
+            return liked.contains(boardId);
+        }
+
+        public boolean isBookmarked(Long boardId) {
+            return bookmarked.contains(boardId);
+        }
+    }
+}
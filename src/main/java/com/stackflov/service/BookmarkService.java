@@ -6,11 +6,14 @@ import com.stackflov.domain.Review;
 import com.stackflov.domain.User;
 import com.stackflov.dto.BookmarkRequestDto;
 import com.stackflov.dto.BookmarkResponseDto;
+import com.stackflov.dto.Cursor;
+import com.stackflov.dto.CursorPageResponseDto;
 import com.stackflov.repository.BoardRepository;
 import com.stackflov.repository.BookmarkRepository;
 import com.stackflov.repository.ReviewRepository;
 import com.stackflov.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -64,6 +67,11 @@ public class BookmarkService {
         }
 
         Bookmark savedBookmark = bookmarkRepository.save(bookmark);
+        if (savedBookmark.getBoard() != null) {
+            boardRepository.addBookmarkCount(savedBookmark.getBoard().getId(), 1);
+        } else {
+            reviewRepository.addBookmarkCount(savedBookmark.getReview().getId(), 1);
+        }
         return new BookmarkResponseDto(savedBookmark);
     }
 
@@ -88,6 +96,13 @@ public class BookmarkService {
         }
 
         bookmarkRepository.delete(bookmark);
+        if (bookmark.isActive()) {
+            if (bookmark.getBoard() != null) {
+                boardRepository.addBookmarkCount(bookmark.getBoard().getId(), -1);
+            } else if (bookmark.getReview() != null) {
+                reviewRepository.addBookmarkCount(bookmark.getReview().getId(), -1);
+            }
+        }
     }
 
     @Transactional(readOnly = true)
@@ -101,6 +116,19 @@ public class BookmarkService {
                 .collect(Collectors.toList());
     }
 
+    // 커서 기반 내 북마크 목록 (활성만, 최신순, 전체 개수 없음)
+    @Transactional(readOnly = true)
+    public CursorPageResponseDto<BookmarkResponseDto> getUserBookmarksByCursor(String userEmail, String cursor, int size) {
+        User user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
+        Cursor from = Cursor.decode(cursor);
+        int limit = Cursor.clampSize(size);
+        List<Bookmark> rows = bookmarkRepository.findActiveByUserBefore(
+                user, from.createdAt(), from.id(), Limit.of(limit + 1));
+        return CursorPageResponseDto.of(rows, limit, Bookmark::getCreatedAt, Bookmark::getId)
+                .map(BookmarkResponseDto::new);
+    }
+
     // 변경: 게스트(null email)면 false 반환
     @Transactional(readOnly = true)
     public boolean isBookmarked(String userEmail, Long boardId) {
@@ -14,6 +14,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -23,6 +24,8 @@ public class ChatService {
     private final UserRepository userRepository;
     private final ChatMessageRepository chatMessageRepository;
     private final S3Service s3Service;
+    private final BannedWordService bannedWordService;
+    private final UnreadCounterService unreadCounterService;
 
     @Transactional
     public Long createChatRoom(String userEmail, ChatRoomRequestDto requestDto) {
@@ -66,6 +69,7 @@ public class ChatService {
 
         // [추가] 해당 방의 메시지들 중 상대방이 보낸 것을 모두 '읽음'으로 변경
         chatMessageRepository.markAsRead(roomId, requester.getId());
+        unreadCounterService.chatRoomRead(requester.getId(), roomId);
 
         List<ChatMessage> messages = chatMessageRepository.findByChatRoomIdOrderBySentAtAsc(roomId);
         return messages.stream().map(ChatMessageResponseDto::new).toList();
@@ -84,9 +88,16 @@ public class ChatService {
             throw new org.springframework.security.access.AccessDeniedException("채팅방 참가자만 메시지를 보낼 수 있습니다.");
         }
 
+        if (bannedWordService.containsBannedWord(dto.getMessage())) {
+            throw new IllegalArgumentException("메시지에 금지된 단어가 포함되어 있습니다.");
+        }
+
         ChatMessage saved = chatMessageRepository.save(
                 ChatMessage.builder().chatRoom(room).sender(sender).content(dto.getMessage()).build()
         );
+        room.getParticipants().stream()
+                .filter(u -> !u.getId().equals(sender.getId()))
+                .forEach(u -> unreadCounterService.chatMessageReceived(u.getId(), room.getId()));
         return new ChatMessageResponseDto(saved);
     }
     @Transactional(readOnly = true)
@@ -95,6 +106,7 @@ public class ChatService {
                 .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
 
         List<ChatRoom> rooms = chatRoomRepository.findAllByParticipantsId(me.getId());
+        Map<Long, Long> unreadByRoom = unreadCounterService.getRoomCounts(me.getId());
 
         return rooms.stream()
                 .map(room -> {
@@ -110,7 +122,7 @@ public class ChatService {
 
                     ChatMessage lastMsg = chatMessageRepository.findFirstByChatRoomIdOrderBySentAtDesc(room.getId())
                             .orElse(null);
-                    long unreadCount = chatMessageRepository.countByChatRoomIdAndSenderIdNotAndIsReadFalse(room.getId(), me.getId());
+                    long unreadCount = unreadByRoom.getOrDefault(room.getId(), 0L);
 
                     return new ChatRoomResponseDto(
                             room,
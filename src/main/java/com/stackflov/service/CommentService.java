@@ -3,11 +3,14 @@ package com.stackflov.service;
 import com.stackflov.domain.*;
 import com.stackflov.dto.CommentRequestDto;
 import com.stackflov.dto.CommentResponseDto;
+import com.stackflov.dto.Cursor;
+import com.stackflov.dto.CursorPageResponseDto;
 import com.stackflov.repository.BoardRepository;
 import com.stackflov.repository.CommentRepository;
 import com.stackflov.repository.ReviewRepository;
 import com.stackflov.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -52,10 +55,11 @@ public class CommentService {
             commentBuilder.board(board);
 
             if (!board.getAuthor().getId().equals(user.getId())) {
-                notificationService.notify(
+                notificationService.notifyCoalesced(
                         board.getAuthor(),
+                        user,
                         NotificationType.COMMENT,
-                        user.getNickname() + "님이 회원님의 글에 댓글을 남겼습니다.",
+                        "회원님의 글에 댓글을 남겼습니다.",
                         "/trace/detail/" + board.getId()
                 );
             }
@@ -67,10 +71,11 @@ public class CommentService {
             commentBuilder.review(review);
 
             if (!review.getAuthor().getId().equals(user.getId())) {
-                notificationService.notify(
+                notificationService.notifyCoalesced(
                         review.getAuthor(),
+                        user,
                         NotificationType.COMMENT,             // 원하면 REVIEW_COMMENT로 분리
-                        user.getNickname() + "님이 회원님의 리뷰에 댓글을 남겼습니다.",
+                        "회원님의 리뷰에 댓글을 남겼습니다.",
                         "/nibangnebang/" + review.getId()
                 );
             }
@@ -80,6 +85,7 @@ public class CommentService {
         userRepository.save(user);
 
         Comment comment = commentRepository.save(commentBuilder.build());
+        increaseCommentCount(comment, 1);
 
         // mentionService 시그니처가 (board, review) 중 하나 null 허용인지 확인
         mentionService.processMentions(user, dto.getContent(), comment.getBoard(), comment);
@@ -113,6 +119,7 @@ public class CommentService {
             throw new IllegalArgumentException("작성자만 삭제할 수 있습니다.");
         }
         comment.deactivate();
+        increaseCommentCount(comment, -1);
     }
 
     @Transactional(readOnly = true)
@@ -132,12 +139,35 @@ public class CommentService {
                 .collect(Collectors.toList());
     }
 
+    // 커서 기반 게시글 댓글 목록 (최신순, 전체 개수 없음)
+    @Transactional(readOnly = true)
+    public CursorPageResponseDto<CommentResponseDto> getCommentsByBoardIdWithCursor(Long boardId, String cursor, int size) {
+        Cursor from = Cursor.decode(cursor);
+        int limit = Cursor.clampSize(size);
+        List<Comment> rows = commentRepository.findActiveByBoardIdBefore(
+                boardId, from.createdAt(), from.id(), Limit.of(limit + 1));
+        return CursorPageResponseDto.of(rows, limit, Comment::getCreatedAt, Comment::getId)
+                .map(c -> CommentResponseDto.builder()
+                        .id(c.getId())
+                        .content(c.getContent())
+                        .authorId(c.getUser().getId())
+                        .authorNickname(c.getUser().getNickname())
+                        .authorEmail(c.getUser().getEmail())
+                        .boardId(boardId)
+                        .createdAt(c.getCreatedAt())
+                        .updatedAt(c.getUpdatedAt())
+                        .build());
+    }
+
     // 관리자도 소프트 삭제
     @Transactional
     public void deleteCommentByAdmin(Long commentId) {
         Comment comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> new IllegalArgumentException("삭제할 댓글이 존재하지 않습니다."));
-        comment.deactivate();
+        if (comment.isActive()) {
+            comment.deactivate();
+            increaseCommentCount(comment, -1);
+        }
     }
 
     @Transactional
@@ -149,13 +179,17 @@ public class CommentService {
             throw new IllegalArgumentException("작성자만 삭제할 수 있습니다.");
         }
         comment.deactivate();
+        increaseCommentCount(comment, -1);
     }
 
     @Transactional
     public void deactivateCommentByAdmin(Long commentId) {
         Comment comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> new IllegalArgumentException("댓글을 찾을 수 없습니다."));
-        comment.deactivate();
+        if (comment.isActive()) {
+            comment.deactivate();
+            increaseCommentCount(comment, -1);
+        }
     }
 
     @Transactional
@@ -183,4 +217,13 @@ public class CommentService {
                         .build())
                 .collect(Collectors.toList());
     }
+
+    // 게시글/리뷰의 비정규화 댓글 수 증감 (SET comment_count = comment_count + delta)
+    private void increaseCommentCount(Comment comment, long delta) {
+        if (comment.getBoard() != null) {
+            boardRepository.addCommentCount(comment.getBoard().getId(), delta);
+        } else if (comment.getReview() != null) {
+            reviewRepository.addCommentCount(comment.getReview().getId(), delta);
+        }
+    }
 }
@@ -0,0 +1,209 @@
+package com.stackflov.service;
+
+import com.stackflov.repository.BoardRepository;
+import com.stackflov.repository.BookmarkRepository;
+import com.stackflov.repository.CommentRepository;
+import com.stackflov.repository.LikeRepository;
+import com.stackflov.repository.ReviewRepository;
+import com.stackflov.repository.projection.EngagementCountProjection;
+import com.stackflov.repository.projection.IdCountProjection;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * 게시글/리뷰의 비정규화 카운터(like/comment/bookmark)를 실제 집계값과 비교해 보정하는 배치.
+ * - id 순서로 청크를 나눠 청크마다 짧은 트랜잭션으로 처리합니다.
+ * - 차이가 난 행만 실제 집계값(COUNT 서브쿼리)으로 덮어쓰므로 여러 번/여러 노드에서 돌아도 결과가 같습니다.
+ * - Redis 잠금으로 한 노드에서만 실행합니다.
+ * - 컬럼 추가 직후엔 모든 값이 0이므로, 기동 시(트래픽 받기 전) 한 번 전체 채우고 Redis에 완료 표시를 남깁니다.
+ */
+@Slf4j
+@Component
+public class EngagementCountReconciler implements CommandLineRunner {
+
+    private static final String LOCK_KEY = "engagement:reconcile:lock";
+    private static final String BACKFILL_DONE_KEY = "engagement:backfill:v1";
+
+    private final BoardRepository boardRepository;
+    private final ReviewRepository reviewRepository;
+    private final LikeRepository likeRepository;
+    private final CommentRepository commentRepository;
+    private final BookmarkRepository bookmarkRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final StringRedisTemplate redisTemplate;
+
+    @Value("${app.engagement.reconcile-chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.engagement.reconcile-pause-ms:50}")
+    private long pauseMillis;
+
+    @Value("${app.engagement.reconcile-lock-ttl-ms:3600000}")
+    private long lockTtlMillis;
+
+    public EngagementCountReconciler(BoardRepository boardRepository,
+                                     ReviewRepository reviewRepository,
+                                     LikeRepository likeRepository,
+                                     CommentRepository commentRepository,
+                                     BookmarkRepository bookmarkRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     StringRedisTemplate redisTemplate) {
+        this.boardRepository = boardRepository;
+        this.reviewRepository = reviewRepository;
+        this.likeRepository = likeRepository;
+        this.commentRepository = commentRepository;
+        this.bookmarkRepository = bookmarkRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.redisTemplate = redisTemplate;
+    }
+
+    // 매일 새벽(트래픽 적은 시간)에 전체 보정
+    @Scheduled(cron = "${app.engagement.reconcile-cron:0 30 4 * * *}")
+    public void reconcileAll() {
+        if (!withLock(this::reconcileBoth)) {
+            log.info("[EngagementCount] 다른 노드에서 보정 중 - 건너뜁니다.");
+        }
+    }
+
+    // 기동 시 1회: 아직 채운 적이 없으면 채움 (다른 노드가 채우는 중이면 끝날 때까지 대기)
+    @Override
+    public void run(String... args) {
+        long deadline = System.currentTimeMillis() + lockTtlMillis;
+        while (!Boolean.TRUE.equals(redisTemplate.hasKey(BACKFILL_DONE_KEY))) {
+            boolean ran = withLock(() -> {
+                reconcileBoth();
+                redisTemplate.opsForValue().set(BACKFILL_DONE_KEY, "1");
+            });
+            if (ran) return;
+            if (System.currentTimeMillis() > deadline) {
+                log.warn("[EngagementCount] 다른 노드의 초기 채우기가 끝나지 않아 기다리지 않고 기동합니다.");
+                return;
+            }
+            sleep(1000);
+        }
+    }
+
+    private void reconcileBoth() {
+        reconcile("boards", this::reconcileBoardChunk);
+        reconcile("reviews", this::reconcileReviewChunk);
+    }
+
+    private boolean withLock(Runnable task) {
+        String owner = UUID.randomUUID().toString();
+        Boolean locked = redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, owner, lockTtlMillis, TimeUnit.MILLISECONDS);
+        if (!Boolean.TRUE.equals(locked)) return false;
+        try {
+            task.run();
+            return true;
+        } finally {
+            if (owner.equals(redisTemplate.opsForValue().get(LOCK_KEY))) {
+                redisTemplate.delete(LOCK_KEY);
+            }
+        }
+    }
+
+    private void reconcile(String target, LongFunction<ChunkResult> chunkProcessor) {
+        long start = System.currentTimeMillis();
+        long afterId = 0L;
+        long scanned = 0;
+        long fixed = 0;
+
+        while (true) {
+            final long cursor = afterId;
+            ChunkResult result = transactionTemplate.execute(status -> chunkProcessor.apply(cursor));
+            if (result == null || result.scanned() == 0) break;
+
+            scanned += result.scanned();
+            fixed += result.fixed();
+            afterId = result.lastId();
+            if (result.scanned() < chunkSize) break;
+
+            pause();
+        }
+        log.info("[EngagementCount] {} 보정 완료 - 검사 {}건, 보정 {}건, {}ms",
+                target, scanned, fixed, System.currentTimeMillis() - start);
+    }
+
+    private ChunkResult reconcileBoardChunk(long afterId) {
+        List<EngagementCountProjection> rows =
+                boardRepository.findEngagementCountsAfter(afterId, PageRequest.of(0, chunkSize));
+        if (rows.isEmpty()) return new ChunkResult(0, 0, afterId);
+
+        List<Long> ids = rows.stream().map(EngagementCountProjection::getId).toList();
+        Map<Long, Long> likes = likeRepository.countActiveLikesByBoardIds(ids).stream()
+                .collect(Collectors.toMap(LikeRepository.BoardLikeCount::getBoardId, LikeRepository.BoardLikeCount::getCnt));
+        Map<Long, Long> comments = toCountMap(commentRepository.countActiveByBoardIds(ids));
+        Map<Long, Long> bookmarks = toCountMap(bookmarkRepository.countActiveByBoardIds(ids));
+
+        List<Long> stale = new ArrayList<>();
+        for (EngagementCountProjection row : rows) {
+            if (differs(likes, row.getId(), row.getLikeCount())
+                    || differs(comments, row.getId(), row.getCommentCount())
+                    || differs(bookmarks, row.getId(), row.getBookmarkCount())) {
+                stale.add(row.getId());
+            }
+        }
+        if (!stale.isEmpty()) boardRepository.recountEngagementCounts(stale);
+        return new ChunkResult(rows.size(), stale.size(), ids.get(ids.size() - 1));
+    }
+
+    private ChunkResult reconcileReviewChunk(long afterId) {
+        List<EngagementCountProjection> rows =
+                reviewRepository.findEngagementCountsAfter(afterId, PageRequest.of(0, chunkSize));
+        if (rows.isEmpty()) return new ChunkResult(0, 0, afterId);
+
+        List<Long> ids = rows.stream().map(EngagementCountProjection::getId).toList();
+        Map<Long, Long> likes = likeRepository.countActiveLikesByReviewIds(ids).stream()
+                .collect(Collectors.toMap(LikeRepository.ReviewLikeCount::getReviewId, LikeRepository.ReviewLikeCount::getCnt));
+        Map<Long, Long> comments = toCountMap(commentRepository.countActiveByReviewIds(ids));
+        Map<Long, Long> bookmarks = toCountMap(bookmarkRepository.countActiveByReviewIds(ids));
+
+        List<Long> stale = new ArrayList<>();
+        for (EngagementCountProjection row : rows) {
+            if (differs(likes, row.getId(), row.getLikeCount())
+                    || differs(comments, row.getId(), row.getCommentCount())
+                    || differs(bookmarks, row.getId(), row.getBookmarkCount())) {
+                stale.add(row.getId());
+            }
+        }
+        if (!stale.isEmpty()) reviewRepository.recountEngagementCounts(stale);
+        return new ChunkResult(rows.size(), stale.size(), ids.get(ids.size() - 1));
+    }
+
+    private static boolean differs(Map<Long, Long> actual, Long id, Long stored) {
+        return actual.getOrDefault(id, 0L) != (stored == null ? 0L : stored);
+    }
+
+    private static Map<Long, Long> toCountMap(List<IdCountProjection> rows) {
+        return rows.stream().collect(Collectors.toMap(IdCountProjection::getId, IdCountProjection::getCnt));
+    }
+
+    private void pause() {
+        if (pauseMillis > 0) sleep(pauseMillis);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record ChunkResult(int scanned, int fixed, long lastId) {}
+}
@@ -0,0 +1,102 @@
+package com.stackflov.service;
+
+import com.stackflov.domain.ItemFeature;
+import com.stackflov.domain.ItemFeatureId;
+import com.stackflov.reco.FeatureDictionary;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+/**
+ * feature_dict 테이블과 메모리 사전(FeatureDictionary)을 맞춰 주는 서비스.
+ * - 처음 쓸 때 전체를 메모리에 올리고, 이후엔 없는 feature만 INSERT IGNORE 후 id를 읽어 옴
+ * - 새 id는 REQUIRES_NEW로 바로 커밋한 뒤에만 메모리에 넣음 (롤백된 id를 다른 노드가 재사용하는 일 방지)
+ * - 등록/조회에 실패한 feature는 -1로 두고 경고만 남김 (호출 측 쓰기를 실패시키지 않음)
+ */
+@Slf4j
+@Service
+public class FeatureDictionaryService {
+
+    private final EntityManager em;
+    private final TransactionTemplate requiresNew;
+    private final FeatureDictionary dictionary = new FeatureDictionary();
+    private volatile boolean loaded;
+
+    public FeatureDictionaryService(EntityManager em, PlatformTransactionManager transactionManager) {
+        this.em = em;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public FeatureDictionary dictionary() {
+        ensureLoaded();
+        return dictionary;
+    }
+
+    /** features와 같은 순서로 feature id 배열 (없던 것은 사전에 추가, 끝내 못 찾은 것은 -1) */
+    public int[] intern(List<ItemFeature> features) {
+        ensureLoaded();
+        int[] ids = new int[features.size()];
+        Map<String, Set<String>> missing = new HashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            ItemFeatureId f = features.get(i).getId();
+            ids[i] = dictionary.get(f.getFeatureType(), f.getFeatureValue());
+            if (ids[i] < 0) missing.computeIfAbsent(f.getFeatureType(), t -> new LinkedHashSet<>()).add(f.getFeatureValue());
+        }
+        if (missing.isEmpty()) return ids;
+
+        try {
+            requiresNew.executeWithoutResult(status -> insertMissing(missing));
+        } catch (RuntimeException e) {
+            log.warn("[FeatureDictionary] feature 등록 실패 - {}개 건너뜀: {}", missing.size(), e.toString());
+        }
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] >= 0) continue;
+            ItemFeatureId f = features.get(i).getId();
+            ids[i] = dictionary.get(f.getFeatureType(), f.getFeatureValue());
+            if (ids[i] < 0) {
+                log.warn("[FeatureDictionary] feature id를 찾지 못했습니다: {}/{}", f.getFeatureType(), f.getFeatureValue());
+            }
+        }
+        return ids;
+    }
+
+    private void insertMissing(Map<String, Set<String>> missing) {
+        List<Object[]> rows = new ArrayList<>();
+        missing.forEach((type, values) -> values.forEach(v -> rows.add(new Object[]{type, v})));
+        NativeBulkInsert.execute(em, "INSERT IGNORE INTO feature_dict (feature_type, feature_value)", rows);
+
+        // 다른 노드가 먼저 넣은 경우도 있으니 넣은 뒤 다시 읽어서 id 확인
+        for (Map.Entry<String, Set<String>> entry : missing.entrySet()) {
+            @SuppressWarnings("unchecked")
+            List<Object[]> found = em.createNativeQuery("""
+                    SELECT feature_id, feature_type, feature_value FROM feature_dict
+                    WHERE feature_type = :type AND feature_value IN (:values)
+                    """)
+                    .setParameter("type", entry.getKey())
+                    .setParameter("values", entry.getValue())
+                    .getResultList();
+            for (Object[] r : found) dictionary.put(((Number) r[0]).intValue(), (String) r[1], (String) r[2]);
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) return;
+        synchronized (this) {
+            if (loaded) return;
+            @SuppressWarnings("unchecked")
+            List<Object[]> rows = requiresNew.execute(status -> em.createNativeQuery(
+                    "SELECT feature_id, feature_type, feature_value FROM feature_dict").getResultList());
+            if (rows != null) {
+                for (Object[] r : rows) dictionary.put(((Number) r[0]).intValue(), (String) r[1], (String) r[2]);
+            }
+            loaded = true;
+            log.info("[FeatureDictionary] 로딩 완료 - {}개", dictionary.size());
+        }
+    }
+}
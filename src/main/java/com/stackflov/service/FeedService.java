@@ -1,62 +1,84 @@
 package com.stackflov.service;
 
-import com.stackflov.domain.Board;
-import com.stackflov.domain.Follow;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.stackflov.domain.User;
 import com.stackflov.dto.BoardListResponseDto;
+import com.stackflov.dto.Cursor;
+import com.stackflov.dto.CursorPageResponseDto;
 import com.stackflov.repository.BoardRepository;
-import com.stackflov.repository.FollowRepository;
-import com.stackflov.repository.LikeRepository;
 import com.stackflov.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class FeedService {
 
     private final UserRepository userRepository;
-    private final FollowRepository followRepository;
+    private final BoardListAssembler boardListAssembler;
+    private final TimelineService timelineService;
     private final BoardRepository boardRepository;
-    private final LikeRepository likeRepository;
+    // 사용자별 피드 전체 개수 (목록용 ApproximateCountService와 따로, 크기 제한 + 만료)
+    private final Cache<Long, Long> feedTotals;
 
+    public FeedService(UserRepository userRepository,
+                       BoardListAssembler boardListAssembler,
+                       TimelineService timelineService,
+                       BoardRepository boardRepository,
+                       @Value("${app.feed.total-ttl-ms:60000}") long totalTtlMillis,
+                       @Value("${app.feed.total-max-users:10000}") long totalMaxUsers) {
+        this.userRepository = userRepository;
+        this.boardListAssembler = boardListAssembler;
+        this.timelineService = timelineService;
+        this.boardRepository = boardRepository;
+        this.feedTotals = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(totalTtlMillis))
+                .maximumSize(totalMaxUsers)
+                .build();
+    }
+
+    /**
+     * 오프셋 페이지 피드. 타임라인에서 offset + size + 1개를 읽어 잘라내고,
+     * totalElements는 사용자별 COUNT를 잠깐(total-ttl-ms) 캐시한 대략값.
+     * 마지막 페이지에서는 정확한 개수를, 대략값이 이번 페이지에서 확인된 개수보다 작으면 확인된 개수를 씁니다. (무한 스크롤은 커서 API 사용)
+     */
     public Page<BoardListResponseDto> getFeed(String userEmail, Pageable pageable) {
-        // 1. 현재 로그인한 사용자 정보를 가져옵니다.
         User currentUser = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
 
-        // 2. 현재 사용자가 팔로우하는 모든 사람들의 목록을 가져옵니다.
-        List<Follow> followingRelations = followRepository.findByFollowerId(currentUser.getId());
-        List<User> followingUsers = followingRelations.stream()
-                .map(Follow::getFollowed)
-                .collect(Collectors.toList());
-
-        // 3. 팔로우하는 사람들이 쓴 게시글들을 최신순으로 조회합니다.
-        Page<Board> feedBoards = boardRepository.findByAuthorInOrderByCreatedAtDesc(followingUsers, pageable);
-
-        // 4. 조회된 게시글들을 DTO로 변환하여 반환합니다.
-        return feedBoards.map(board -> BoardListResponseDto.builder()
-                .id(board.getId())
-                .title(board.getTitle())
-                .authorEmail(board.getAuthor().getEmail())
-                .authorNickname(board.getAuthor().getNickname())
-                .authorId(board.getAuthor().getId())
-                .category(board.getCategory())
-                .thumbnailUrl(board.getImages().isEmpty() ? null : board.getImages().get(0).getImageUrl())
-                .viewCount(board.getViewCount())
-                .createdAt(board.getCreatedAt())
-                .updatedAt(board.getUpdatedAt())
-                .likeCount(likeRepository.countByBoardAndActiveTrue(board)) // 좋아요 수 계산
-                // 피드에서는 isBookmarked, isLiked는 false로 표시 (성능 고려)
-                .isBookmarked(false)
-                .isLiked(false)
-                .build());
+        int offset = (int) Math.min(pageable.getOffset(), Integer.MAX_VALUE - pageable.getPageSize() - 1L);
+        List<Long> ids = timelineService.readIds(currentUser.getId(), Long.MAX_VALUE, offset + pageable.getPageSize() + 1);
+        if (ids.size() <= offset) {
+            return new PageImpl<>(List.of(), pageable, ids.size());
+        }
+        boolean hasNext = ids.size() > offset + pageable.getPageSize();
+        List<Long> pageIds = ids.subList(offset, Math.min(ids.size(), offset + pageable.getPageSize()));
+
+        List<BoardListResponseDto> items = boardListAssembler.hydrate(pageIds, currentUser);
+        // 마지막 페이지면 정확한 개수를 알고 있음
+        Long userId = currentUser.getId();
+        long total = hasNext ? feedTotals.get(userId, boardRepository::countActiveByFollowerId) : -1L;
+        long seen = offset + pageIds.size();
+        return new PageImpl<>(items, pageable, hasNext ? Math.max(total, seen + 1) : seen);
+    }
+
+    // 커서 기반 피드 (무한 스크롤, 전체 개수 없음). 타임라인은 id 순이므로 커서의 id만 사용
+    public CursorPageResponseDto<BoardListResponseDto> getFeedByCursor(String userEmail, String cursor, int size) {
+        User currentUser = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
+        Cursor from = Cursor.decode(cursor);
+        int limit = Cursor.clampSize(size);
+
+        List<Long> ids = timelineService.readIds(currentUser.getId(), from.id(), limit + 1);
+        List<BoardListResponseDto> items = boardListAssembler.hydrate(ids, currentUser);
+        return CursorPageResponseDto.of(items, limit, BoardListResponseDto::getCreatedAt, BoardListResponseDto::getId);
     }
-}
\ No newline at end of file
+}
@@ -24,6 +24,7 @@ public class FollowService {
     private final UserRepository userRepository;
     private final NotificationService notificationService;
     private final S3Service s3Service;
+    private final TimelineService timelineService;
 
     /**
      * 팔로우 실행
@@ -50,6 +51,7 @@ public class FollowService {
                             sendFollowNotification(follower, followed);
                         }
                 );
+        timelineService.onFollowed(followerId, followedId);
     }
 
     /**
@@ -64,6 +66,7 @@ public class FollowService {
         validateNotAdmin(follow.getFollower(), "관리자 계정은 이 기능을 사용할 수 없습니다.");
 
         follow.deactivate(); // Dirty Checking
+        timelineService.onUnfollowed(followerId, followedId);
     }
 
     @Transactional(readOnly = true)
@@ -89,6 +92,8 @@ public class FollowService {
      * 탈퇴 시 모든 팔로우 관계 비활성화 (Bulk Update 권장)
      */
     public void deactivateAllFollowsByUser(User user) {
+        // 팔로워 목록은 비활성화 전에 읽어둠 (타임라인 정리용)
+        timelineService.onUserDeactivated(user.getId());
         // 리스트를 가져와서 하나씩 바꾸는 것보다 Repository에 쿼리를 만드는 것이 성능상 유리합니다.
         followRepository.deactivateAllByUserId(user.getId());
     }
@@ -1,62 +1,101 @@
 package com.stackflov.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.stackflov.domain.Board;
-import com.stackflov.domain.BoardHashtag;
 import com.stackflov.domain.Hashtag;
 import com.stackflov.repository.BoardHashtagRepository;
 import com.stackflov.repository.HashtagRepository;
-import lombok.RequiredArgsConstructor;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 @Service
-@RequiredArgsConstructor
 public class HashtagService {
 
     private final HashtagRepository hashtagRepository;
     private final BoardHashtagRepository boardHashtagRepository;
+    private final EntityManager em;
+    private final TrendingHashtagService trendingHashtagService;
+    private final TransactionTemplate requiresNew;
 
-    // #다음에 한글,영문,숫자,_ 가 오는 패턴을 찾는 정규표현식
-    private static final Pattern HASHTAG_PATTERN = Pattern.compile("#([a-zA-Z0-9ㄱ-ㅎㅏ-ㅣ가-힣_]+)");
+    // 태그 이름(소문자) → id. 커밋된 태그만 담고, 태그는 삭제되지 않으므로 한 번 찾은 id는 계속 유효
+    private final Cache<String, Long> tagIds;
+
+    // # 뒤에 한글/영문/숫자/언더스코어 (processHashtags, extractHashtags 공통)
+    private static final Pattern HASHTAG_PATTERN = Pattern.compile("#([\\p{L}\\p{N}_]{1,30})");
+    private static final int MAX_TAGS = 30;
+
+    public HashtagService(HashtagRepository hashtagRepository,
+                          BoardHashtagRepository boardHashtagRepository,
+                          EntityManager em,
+                          TrendingHashtagService trendingHashtagService,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${app.hashtag.dictionary-max-size:50000}") long dictionaryMaxSize) {
+        this.hashtagRepository = hashtagRepository;
+        this.boardHashtagRepository = boardHashtagRepository;
+        this.em = em;
+        this.trendingHashtagService = trendingHashtagService;
+        // 새 태그는 게시글 트랜잭션과 따로 바로 커밋 (게시글이 롤백돼도 캐시한 id가 유효하도록)
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.tagIds = Caffeine.newBuilder().maximumSize(dictionaryMaxSize).build();
+    }
 
     @Transactional
     public void processHashtags(String content, Board board) {
-        // 1. 게시글 수정 시, 기존의 해시태그 연결을 모두 삭제합니다.
-        boardHashtagRepository.deleteAllByBoard(board);
+        // 1. 본문의 태그 → id (캐시 + IN 조회 1회 + 없는 태그만 일괄 INSERT IGNORE)
+        Map<String, Long> resolved = resolveIds(extractHashtags(content));
+        Set<Long> wanted = new HashSet<>(resolved.values());
 
-        if (content == null || content.isBlank()) {
-            return;
-        }
+        // 2. 기존 연결과 비교해서 바뀐 것만 반영
+        Set<Long> existing = new HashSet<>(boardHashtagRepository.findHashtagIdsByBoardId(board.getId()));
 
-        // 2. 본문에서 해시태그들을 추출합니다.
-        Set<String> tagNames = new HashSet<>();
-        Matcher matcher = HASHTAG_PATTERN.matcher(content);
-        while (matcher.find()) {
-            tagNames.add(matcher.group(1));
+        List<Long> removed = existing.stream().filter(id -> !wanted.contains(id)).toList();
+        if (!removed.isEmpty()) {
+            boardHashtagRepository.deleteLinks(board.getId(), removed);
         }
 
-        // 3. 각 해시태그를 처리합니다.
-        for (String name : tagNames) {
-            // DB에 이미 태그가 존재하면 그것을 사용하고, 없으면 새로 저장합니다.
-            Hashtag hashtag = hashtagRepository.findByName(name)
-                    .orElseGet(() -> hashtagRepository.save(Hashtag.builder().name(name).build()));
+        List<Long> added = wanted.stream().filter(id -> !existing.contains(id)).toList();
+        if (!added.isEmpty()) {
+            insertLinks(board.getId(), added);
+            // 새로 붙은 태그만 인기 집계에 반영 (수정할 때마다 중복 가산 방지)
+            List<String> addedNames = resolved.entrySet().stream()
+                    .filter(e -> added.contains(e.getValue()))
+                    .map(Map.Entry::getKey)
+                    .toList();
+            recordTaggedAfterCommit(addedNames);
+        }
+    }
 
-            // 게시글과 해시태그를 중간 테이블(BoardHashtag)을 통해 연결합니다.
-            BoardHashtag boardHashtag = BoardHashtag.builder().board(board).hashtag(hashtag).build();
-            boardHashtagRepository.save(boardHashtag);
+    // 게시글이 롤백되면 인기 집계에도 넣지 않음
+    private void recordTaggedAfterCommit(List<String> names) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    trendingHashtagService.recordTagged(names);
+                }
+            });
+        } else {
+            trendingHashtagService.recordTagged(names);
         }
     }
 
     public List<String> extractHashtags(String content) {
         if (content == null || content.isBlank()) return List.of();
 
-        // # 뒤에 한글/영문/숫자/언더스코어 정도를 해시태그로 인정
-        Pattern p = Pattern.compile("#([\\p{L}\\p{N}_]{1,30})");
-        Matcher m = p.matcher(content);
+        Matcher m = HASHTAG_PATTERN.matcher(content);
 
         LinkedHashSet<String> tags = new LinkedHashSet<>();
         while (m.find()) {
@@ -65,8 +104,64 @@ public class HashtagService {
             tag = tag.trim();
             if (tag.isEmpty()) continue;
             tags.add(tag);
-            if (tags.size() >= 30) break;
+            if (tags.size() >= MAX_TAGS) break;
         }
         return new ArrayList<>(tags);
     }
-}
\ No newline at end of file
+
+    /** 태그 이름 → id (없는 태그는 생성). 반환 키는 소문자 이름 */
+    @Transactional
+    public Map<String, Long> resolveIds(Collection<String> names) {
+        Map<String, Long> resolved = new LinkedHashMap<>();
+        Map<String, String> missing = new LinkedHashMap<>(); // 소문자 → 원래 표기
+        for (String name : names) {
+            String key = key(name);
+            Long id = tagIds.getIfPresent(key);
+            if (id != null) {
+                resolved.put(key, id);
+            } else {
+                missing.putIfAbsent(key, name);
+            }
+        }
+        if (missing.isEmpty()) return resolved;
+
+        loadInto(missing.keySet(), missing.values(), resolved);
+        missing.keySet().removeAll(resolved.keySet());
+
+        if (!missing.isEmpty()) {
+            // 동시에 같은 태그를 만드는 경우는 IGNORE로 흡수하고 다시 조회
+            // (REQUIRES_NEW 안에서 조회해야 바깥 트랜잭션 스냅샷에 가리지 않고 새 행이 보임)
+            requiresNew.executeWithoutResult(status -> {
+                insertIgnoreTags(missing.values());
+                loadInto(missing.keySet(), missing.values(), resolved);
+            });
+        }
+        return resolved;
+    }
+
+    private void loadInto(Set<String> keys, Collection<String> names, Map<String, Long> out) {
+        for (Hashtag tag : hashtagRepository.findByNameIn(names)) {
+            // DB 콜레이션이 대소문자를 구분하지 않으므로 소문자 기준으로 맞춤
+            String key = key(tag.getName());
+            if (!keys.contains(key)) continue;
+            out.put(key, tag.getId());
+            tagIds.put(key, tag.getId());
+        }
+    }
+
+    private void insertIgnoreTags(Collection<String> names) {
+        List<Object[]> rows = names.stream().map(name -> new Object[]{name}).toList();
+        NativeBulkInsert.execute(em, "INSERT IGNORE INTO hashtags (name)", rows);
+    }
+
+    private void insertLinks(Long boardId, List<Long> hashtagIds) {
+        List<Object[]> rows = hashtagIds.stream().map(id -> new Object[]{boardId, id}).toList();
+        // IGNORE를 쓰면 FK 오류도 경고로 묻히므로, 중복(동시 수정)만 흡수
+        NativeBulkInsert.execute(em, "INSERT INTO board_hashtags (board_id, hashtag_id)", rows,
+                "ON DUPLICATE KEY UPDATE hashtag_id = VALUES(hashtag_id)");
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -2,28 +2,31 @@ package com.stackflov.service; // ✅
 
 import com.stackflov.domain.FeatureType;
 import com.stackflov.domain.ItemFeature;
-import com.stackflov.repository.ItemFeatureRepository;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.ArrayList;
 import java.util.List;
 
+@Slf4j
 @Service
 public class ItemFeatureSyncService {
 
-    private final ItemFeatureRepository itemFeatureRepository;
+    private final RecoBulkWriter bulkWriter;
+    private final FeatureDictionaryService featureDictionaryService;
 
-    public ItemFeatureSyncService(ItemFeatureRepository itemFeatureRepository) {
-        this.itemFeatureRepository = itemFeatureRepository;
+    public ItemFeatureSyncService(RecoBulkWriter bulkWriter,
+                                  FeatureDictionaryService featureDictionaryService) {
+        this.bulkWriter = bulkWriter;
+        this.featureDictionaryService = featureDictionaryService;
     }
 
     @Transactional
     public void syncBoardFeatures(Long boardId, int category, Long authorId, List<String> hashtags) {
-        // 1) 기존 feature 삭제
-        itemFeatureRepository.deleteById_BoardId(boardId);
-
-        // 2) 새 feature 생성
+        // 1) 새 feature 생성
         List<ItemFeature> features = new ArrayList<>();
 
         // CATEGORY: 카테고리는 int면 문자열로 저장(예: "3")
@@ -42,6 +45,31 @@ public class ItemFeatureSyncService {
             }
         }
 
-        itemFeatureRepository.saveAll(features);
+        // 2) 기존 feature 삭제 후 다중 행 INSERT
+        List<Object[]> rows = new ArrayList<>(features.size());
+        for (ItemFeature f : features) {
+            rows.add(new Object[]{boardId, f.getId().getFeatureType(), f.getId().getFeatureValue(), f.getWeight()});
+        }
+        bulkWriter.replace(RecoBulkWriter.Table.ITEM_FEATURE, boardId, rows);
+
+        // 3) feature 사전에 없는 (type, value) 등록 (프로필 계산 때 정수 id로 씀)
+        //    게시글 저장이 커밋된 뒤에 하고 실패해도 무시 (프로필 배치가 어차피 다시 등록함)
+        Runnable intern = () -> {
+            try {
+                featureDictionaryService.intern(features);
+            } catch (RuntimeException e) {
+                log.warn("[ItemFeatureSync] feature 사전 등록 실패 - boardId={}: {}", boardId, e.toString());
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    intern.run();
+                }
+            });
+        } else {
+            intern.run();
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,220 @@
+package com.stackflov.service;
+
+import com.stackflov.domain.UserEvent;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * item_sim 증분 갱신용 델타 저장소 (item_user_board / item_user_count / item_cooc / reco_watermark).
+ * - 사용자 바구니는 최근 positive 게시글 최대 N개 (넘치면 last_at이 가장 오래된 글부터 빠짐)
+ * - 바구니에 글이 들어오거나 빠질 때 user_count와 양방향 cnt를 증감하고, 바뀐 board_a를 dirty로 표시
+ * - 전체 재생성(compaction) 때는 세 테이블 모두 CoOccurrenceEngine 결과로 복제 테이블에 채워 교체합니다 (ItemSimilarityService)
+ * 호출자의 트랜잭션 안에서 쓰며, 두 배치가 동시에 돌지 않도록 호출자가 잠금을 잡아야 합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemSimDeltaStore {
+
+    static final String WATERMARK = "item_sim";
+
+    // 다중 행 INSERT 한 번의 행 수 (MySQL 플레이스홀더 65535개 제한 안쪽)
+    private static final int BATCH_ROWS = 1000;
+
+    public record BasketEntry(Long userId, Long boardId, LocalDateTime lastAt) {}
+
+    public record Neighbor(Long boardB, double sim) {}
+
+    private record Pair(Long a, Long b) {}
+
+    private final EntityManager em;
+
+    public OptionalLong watermark() {
+        List<?> rows = em.createNativeQuery("SELECT last_event_id FROM reco_watermark WHERE name = :name")
+                .setParameter("name", WATERMARK)
+                .getResultList();
+        return rows.isEmpty() ? OptionalLong.empty() : OptionalLong.of(((Number) rows.get(0)).longValue());
+    }
+
+    /**
+     * 전체 재생성 시작: 워터마크만 지워서 중간에 실패하면 다음 배치도 전체 재생성으로
+     * (바구니/카운트 테이블은 ItemSimilarityService가 복제 테이블에 새로 채운 뒤 RENAME으로 교체)
+     */
+    public void clear() {
+        em.createNativeQuery("DELETE FROM reco_watermark WHERE name = :name")
+                .setParameter("name", WATERMARK)
+                .executeUpdate();
+    }
+
+    /** 전체 재생성 마무리: 새 바구니/카운트 테이블로 교체된 뒤 워터마크 기록 */
+    public void finishCompaction(long lastEventId) {
+        saveWatermark(lastEventId);
+    }
+
+    /**
+     * 증분: positive 이벤트 청크(id 순)를 바구니에 반영하고 워터마크를 청크 마지막 id로 옮깁니다.
+     * @return dirty로 표시한 게시글 수
+     */
+    public int apply(List<UserEvent> events, int maxBasketSize) {
+        if (events.isEmpty()) return 0;
+        Map<Long, List<UserEvent>> byUser = new LinkedHashMap<>();
+        for (UserEvent e : events) byUser.computeIfAbsent(e.getUserId(), k -> new ArrayList<>()).add(e);
+        Map<Long, Map<Long, LocalDateTime>> stored = loadBaskets(byUser.keySet());
+
+        Map<Long, Integer> countDelta = new HashMap<>();
+        Map<Pair, Integer> coocDelta = new HashMap<>();
+        List<Object[]> upserts = new ArrayList<>();
+        Map<Long, List<Long>> removals = new HashMap<>();
+
+        for (Map.Entry<Long, List<UserEvent>> entry : byUser.entrySet()) {
+            Long userId = entry.getKey();
+            Map<Long, LocalDateTime> before = stored.getOrDefault(userId, Map.of());
+            Map<Long, LocalDateTime> basket = new HashMap<>(before);
+
+            for (UserEvent e : entry.getValue()) {
+                Long boardId = e.getBoardId();
+                LocalDateTime prev = basket.get(boardId);
+                if (prev != null) {
+                    if (e.getCreatedAt().isAfter(prev)) basket.put(boardId, e.getCreatedAt());
+                    continue;
+                }
+                for (Long other : basket.keySet()) addPair(coocDelta, boardId, other, 1);
+                basket.put(boardId, e.getCreatedAt());
+                countDelta.merge(boardId, 1, Integer::sum);
+
+                if (basket.size() > maxBasketSize) {
+                    Long oldest = Collections.min(basket.entrySet(), Map.Entry.comparingByValue()).getKey();
+                    basket.remove(oldest);
+                    countDelta.merge(oldest, -1, Integer::sum);
+                    for (Long other : basket.keySet()) addPair(coocDelta, oldest, other, -1);
+                }
+            }
+
+            for (Long boardId : before.keySet()) {
+                if (!basket.containsKey(boardId)) removals.computeIfAbsent(userId, k -> new ArrayList<>()).add(boardId);
+            }
+            for (Map.Entry<Long, LocalDateTime> b : basket.entrySet()) {
+                if (!b.getValue().equals(before.get(b.getKey()))) {
+                    upserts.add(new Object[]{userId, b.getKey(), b.getValue()});
+                }
+            }
+        }
+
+        for (Map.Entry<Long, List<Long>> r : removals.entrySet()) {
+            em.createNativeQuery("DELETE FROM item_user_board WHERE user_id = :userId AND board_id IN (:boardIds)")
+                    .setParameter("userId", r.getKey())
+                    .setParameter("boardIds", r.getValue())
+                    .executeUpdate();
+        }
+        insertInBatches("INSERT INTO item_user_board (user_id, board_id, last_at)", upserts,
+                "ON DUPLICATE KEY UPDATE last_at = VALUES(last_at)");
+
+        // cnt가 바뀐 board_a는 user_count 변화가 없어도 dirty
+        List<Object[]> coocRows = new ArrayList<>();
+        for (Map.Entry<Pair, Integer> c : coocDelta.entrySet()) {
+            if (c.getValue() == 0) continue;
+            coocRows.add(new Object[]{c.getKey().a(), c.getKey().b(), c.getValue()});
+            countDelta.putIfAbsent(c.getKey().a(), 0);
+        }
+        insertInBatches("INSERT INTO item_cooc (board_a, board_b, cnt)", coocRows,
+                "ON DUPLICATE KEY UPDATE cnt = cnt + VALUES(cnt)");
+
+        List<Object[]> countRows = new ArrayList<>(countDelta.size());
+        for (Map.Entry<Long, Integer> c : countDelta.entrySet()) {
+            countRows.add(new Object[]{c.getKey(), c.getValue(), true});
+        }
+        insertInBatches("INSERT INTO item_user_count (board_id, user_count, dirty)", countRows,
+                "ON DUPLICATE KEY UPDATE user_count = user_count + VALUES(user_count), dirty = TRUE");
+
+        saveWatermark(events.get(events.size() - 1).getUserEventId());
+        return countRows.size();
+    }
+
+    public List<Long> findDirtyBoards(int limit) {
+        List<?> rows = em.createNativeQuery("SELECT board_id FROM item_user_count WHERE dirty = TRUE LIMIT :limit")
+                .setParameter("limit", limit)
+                .getResultList();
+        return rows.stream().map(r -> ((Number) r).longValue()).toList();
+    }
+
+    public void clearDirty(Collection<Long> boardIds) {
+        if (boardIds.isEmpty()) return;
+        em.createNativeQuery("UPDATE item_user_count SET dirty = FALSE WHERE board_id IN (:boardIds)")
+                .setParameter("boardIds", boardIds)
+                .executeUpdate();
+    }
+
+    /**
+     * 카운트로 board_a별 상위 k개 이웃 계산 (cosine: cnt / sqrt(user_count(a)·user_count(b)), 동점은 board_b 작은 순)
+     */
+    public Map<Long, List<Neighbor>> topSimilar(Collection<Long> boardIds, int k) {
+        Map<Long, List<Neighbor>> out = new HashMap<>();
+        if (boardIds.isEmpty()) return out;
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = em.createNativeQuery("""
+                SELECT board_a, board_b, sim FROM (
+                    SELECT c.board_a, c.board_b, c.cnt / SQRT(ua.user_count * ub.user_count) AS sim,
+                           ROW_NUMBER() OVER (PARTITION BY c.board_a
+                                              ORDER BY c.cnt / SQRT(ua.user_count * ub.user_count) DESC, c.board_b) AS rn
+                    FROM item_cooc c
+                    JOIN item_user_count ua ON ua.board_id = c.board_a
+                    JOIN item_user_count ub ON ub.board_id = c.board_b
+                    WHERE c.board_a IN (:boardIds)
+                      AND c.cnt > 0 AND ua.user_count > 0 AND ub.user_count > 0
+                ) t
+                WHERE rn <= :k
+                ORDER BY board_a, rn
+                """)
+                .setParameter("boardIds", boardIds)
+                .setParameter("k", k)
+                .getResultList();
+        for (Object[] r : rows) {
+            out.computeIfAbsent(((Number) r[0]).longValue(), a -> new ArrayList<>())
+                    .add(new Neighbor(((Number) r[1]).longValue(), ((Number) r[2]).doubleValue()));
+        }
+        return out;
+    }
+
+    private Map<Long, Map<Long, LocalDateTime>> loadBaskets(Collection<Long> userIds) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = em.createNativeQuery(
+                        "SELECT user_id, board_id, last_at FROM item_user_board WHERE user_id IN (:userIds)")
+                .setParameter("userIds", userIds)
+                .getResultList();
+        Map<Long, Map<Long, LocalDateTime>> out = new HashMap<>();
+        for (Object[] r : rows) {
+            out.computeIfAbsent(((Number) r[0]).longValue(), k -> new HashMap<>())
+                    .put(((Number) r[1]).longValue(), toLocalDateTime(r[2]));
+        }
+        return out;
+    }
+
+    private void saveWatermark(long lastEventId) {
+        em.createNativeQuery("""
+                INSERT INTO reco_watermark (name, last_event_id, updated_at) VALUES (:name, :lastEventId, :now)
+                ON DUPLICATE KEY UPDATE last_event_id = VALUES(last_event_id), updated_at = VALUES(updated_at)
+                """)
+                .setParameter("name", WATERMARK)
+                .setParameter("lastEventId", lastEventId)
+                .setParameter("now", LocalDateTime.now())
+                .executeUpdate();
+    }
+
+    private void insertInBatches(String head, List<Object[]> rows, String tail) {
+        for (int from = 0; from < rows.size(); from += BATCH_ROWS) {
+            NativeBulkInsert.execute(em, head, rows.subList(from, Math.min(rows.size(), from + BATCH_ROWS)), tail);
+        }
+    }
+
+    private static void addPair(Map<Pair, Integer> delta, Long a, Long b, int d) {
+        delta.merge(new Pair(a, b), d, Integer::sum);
+        delta.merge(new Pair(b, a), d, Integer::sum);
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof java.sql.Timestamp ts ? ts.toLocalDateTime() : (LocalDateTime) value;
+    }
+}
@@ -0,0 +1,189 @@
+package com.stackflov.service;
+
+import com.stackflov.reco.ItemSimSnapshot;
+import com.stackflov.repository.ItemSimRepository;
+import com.stackflov.repository.projection.ItemSimRowProjection;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * 노드마다 들고 있는 item_sim 조회용 인덱스 (메모리 매핑한 CSR 스냅샷, ItemSimSnapshot).
+ * - 배치가 item_sim을 고친 뒤 publish(): Redis 세대 번호를 올리고 자기 노드 스냅샷부터 새로 만듦
+ * - 다른 노드는 refresh 주기마다 세대 번호를 보고, 바뀌었으면 DB에서 직접 내보내 같은 파일을 만듦 (공유 디스크가 없으므로)
+ * - 파일은 세대별 이름으로 임시 파일에 쓴 뒤 원자적으로 옮기고, 매핑한 뒤 volatile 참조만 교체 (읽는 쪽은 잠금 없음)
+ * - 기동 시 로컬의 가장 최근 파일을 먼저 올리고, 준비 전(snapshot() == null)에는 호출 측이 DB 조회로 대체
+ */
+@Slf4j
+@Component
+public class ItemSimIndex {
+
+    private static final String GENERATION_KEY = "reco:item-sim:generation";
+    private static final String FILE_PREFIX = "item-sim-";
+    private static final String FILE_SUFFIX = ".csr";
+
+    private final ItemSimRepository itemSimRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final TransactionTemplate readOnly;
+    private volatile ItemSimSnapshot snapshot;
+
+    @Value("${app.reco.sim-index.dir:./data/item-sim}")
+    private String dir;
+
+    public ItemSimIndex(ItemSimRepository itemSimRepository, StringRedisTemplate redisTemplate,
+                        PlatformTransactionManager transactionManager) {
+        this.itemSimRepository = itemSimRepository;
+        this.redisTemplate = redisTemplate;
+        // 스트리밍 커넥션을 따로 쓰도록 (호출자 트랜잭션과 분리)
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.readOnly.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /** 현재 스냅샷 (아직 없으면 null). 한 요청 안에서는 받은 참조 하나로 읽어야 같은 세대를 봅니다. */
+    public ItemSimSnapshot snapshot() {
+        return snapshot;
+    }
+
+    // 기동 직후 백그라운드에서 로컬 파일 로딩 → 세대가 뒤처졌으면 새로 내보냄
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        Thread.ofVirtual().name("item-sim-index-init").start(() -> {
+            try {
+                loadLatestLocal().ifPresent(this::swap);
+                refresh();
+            } catch (Exception e) {
+                log.error("[ItemSimIndex] 초기화 실패 - item_sim DB 조회로 동작합니다.", e);
+            }
+        });
+    }
+
+    /** 배치가 item_sim을 바꾼 뒤 호출: 세대 번호를 올리고 이 노드의 스냅샷을 바로 새로 만듭니다. */
+    public synchronized void publish() {
+        Long generation = redisTemplate.opsForValue().increment(GENERATION_KEY);
+        if (generation == null) throw new IllegalStateException("item_sim 세대 번호를 올리지 못했습니다.");
+        export(generation);
+    }
+
+    /** 다른 노드가 올린 세대 번호를 따라잡기 */
+    @Scheduled(fixedDelayString = "${app.reco.sim-index.refresh-ms:60000}",
+            initialDelayString = "${app.reco.sim-index.refresh-ms:60000}")
+    public synchronized void refresh() {
+        String saved = redisTemplate.opsForValue().get(GENERATION_KEY);
+        long generation = saved == null ? 0 : Long.parseLong(saved);
+        ItemSimSnapshot current = snapshot;
+        if (current != null && current.generation() >= generation) return;
+        try {
+            export(generation);
+        } catch (RuntimeException e) {
+            log.error("[ItemSimIndex] 세대 {} 스냅샷 생성 실패 - 이전 스냅샷을 계속 사용합니다.", generation, e);
+        }
+    }
+
+    private void export(long generation) {
+        long start = System.currentTimeMillis();
+        Path directory = Paths.get(dir);
+        Path target = directory.resolve(FILE_PREFIX + generation + FILE_SUFFIX);
+        Path tmp = directory.resolve(FILE_PREFIX + generation + FILE_SUFFIX + ".tmp");
+        int[] counts = new int[2];
+        try {
+            Files.createDirectories(directory);
+            try (ItemSimSnapshot.Writer writer = ItemSimSnapshot.writer(tmp, generation)) {
+                readOnly.executeWithoutResult(status -> {
+                    try (Stream<ItemSimRowProjection> rows = itemSimRepository.streamAllOrdered()) {
+                        Iterator<ItemSimRowProjection> it = rows.iterator();
+                        while (it.hasNext()) {
+                            ItemSimRowProjection r = it.next();
+                            writer.add(r.getBoardA(), r.getBoardB(), (float) r.getSim());
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                writer.finish();
+                counts[0] = writer.rows();
+                counts[1] = writer.pairs();
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            swap(ItemSimSnapshot.open(target));
+        } catch (IOException e) {
+            throw new UncheckedIOException("item_sim 스냅샷 생성 실패: " + target, e);
+        } finally {
+            try {
+                Files.deleteIfExists(tmp);
+            } catch (IOException ignore) {
+                // 다음 생성 때 덮어씀
+            }
+        }
+        log.info("[ItemSimIndex] 세대 {} 스냅샷 교체 - boardA {}개, 쌍 {}개, {}ms",
+                generation, counts[0], counts[1], System.currentTimeMillis() - start);
+    }
+
+    private void swap(ItemSimSnapshot next) {
+        snapshot = next;
+        deleteOlderThan(next.generation());
+    }
+
+    private Optional<ItemSimSnapshot> loadLatestLocal() {
+        for (Path file : localFiles().stream().sorted(Comparator.comparingLong(ItemSimIndex::generationOf).reversed()).toList()) {
+            try {
+                ItemSimSnapshot loaded = ItemSimSnapshot.open(file);
+                log.info("[ItemSimIndex] 로컬 스냅샷 로딩 - 세대 {}, boardA {}개", loaded.generation(), loaded.rows());
+                return Optional.of(loaded);
+            } catch (IOException | RuntimeException e) {
+                log.warn("[ItemSimIndex] 스냅샷 로딩 실패 - {}: {}", file, e.toString());
+            }
+        }
+        return Optional.empty();
+    }
+
+    // 매핑은 GC될 때까지 살아 있으므로 (리눅스에선) 읽는 중인 옛 파일을 지워도 안전
+    private void deleteOlderThan(long generation) {
+        for (Path file : localFiles()) {
+            if (generationOf(file) >= generation) continue;
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.debug("[ItemSimIndex] 옛 스냅샷 삭제 실패 - {}: {}", file, e.toString());
+            }
+        }
+    }
+
+    private List<Path> localFiles() {
+        Path directory = Paths.get(dir);
+        if (!Files.isDirectory(directory)) return List.of();
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(f -> generationOf(f) >= 0).toList();
+        } catch (IOException e) {
+            log.warn("[ItemSimIndex] 스냅샷 디렉터리 조회 실패 - {}: {}", directory, e.toString());
+            return List.of();
+        }
+    }
+
+    // item-sim-{세대}.csr 가 아니면 -1
+    private static long generationOf(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith(FILE_PREFIX) || !name.endsWith(FILE_SUFFIX)) return -1;
+        try {
+            return Long.parseLong(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -1,96 +1,241 @@
 package com.stackflov.service;
 
-import com.stackflov.domain.EventType;
 import com.stackflov.domain.ItemSim;
+import com.stackflov.domain.UserEvent;
+import com.stackflov.reco.CoOccurrenceEngine;
 import com.stackflov.repository.ItemSimRepository;
 import com.stackflov.repository.UserEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
+@Slf4j
 @Service
 public class ItemSimilarityService {
 
+    private final UserEventScanner userEventScanner;
     private final UserEventRepository userEventRepository;
     private final ItemSimRepository itemSimRepository;
+    private final ItemSimDeltaStore deltaStore;
+    private final RecoBulkWriter bulkWriter;
+    private final TransactionTemplate transactionTemplate;
+    // 스캔 커넥션이 스트리밍 중일 때 바구니 저장용
+    private final TransactionTemplate requiresNew;
 
     // 튜닝값
+    private final int activeDays = 7;
     private final int simDays = 30;
     private final int perUserMaxBoards = 50;     // 유저당 최대 시드 개수(비용 제한)
     private final int topSimilarPerBoard = 50;   // boardA 당 boardB 상위 몇 개 저장
+    private final int incrementalChunk = 2000;   // 증분 반영 시 한 트랜잭션의 이벤트 수
+    private final int recomputeBatch = 200;      // dirty boardA 재계산 단위
+    private final int basketFlushRows = 1000;    // 전체 재생성 시 바구니 저장 단위
+
+    // 이 정도 차이는 같은 값으로 보고 다시 쓰지 않음
+    private static final double SIM_EPSILON = 1e-9;
+
+    // 샤드를 스레드 수보다 잘게 나눠 게시글 분포가 치우쳐도 고르게 분배
+    private static final int SHARDS_PER_THREAD = 4;
+
+    /** 전체 재생성(compaction) 진행 상태: 엔진 + 시작 시점 워터마크 + 저장 대기 중인 바구니 */
+    public static final class Compaction {
+        private final CoOccurrenceEngine engine;
+        private final long watermark;
+        private final List<ItemSimDeltaStore.BasketEntry> pending = new ArrayList<>();
+        private int users;
+
+        private Compaction(CoOccurrenceEngine engine, long watermark) {
+            this.engine = engine;
+            this.watermark = watermark;
+        }
+    }
 
-    private static final List<EventType> POSITIVE =
-            List.of(EventType.LIKE, EventType.BOOKMARK, EventType.CLICK, EventType.DWELL);
-
-    public ItemSimilarityService(UserEventRepository userEventRepository, ItemSimRepository itemSimRepository) {
+    public ItemSimilarityService(UserEventScanner userEventScanner, UserEventRepository userEventRepository,
+                                 ItemSimRepository itemSimRepository, ItemSimDeltaStore deltaStore,
+                                 RecoBulkWriter bulkWriter, PlatformTransactionManager transactionManager) {
+        this.userEventScanner = userEventScanner;
         this.userEventRepository = userEventRepository;
         this.itemSimRepository = itemSimRepository;
+        this.deltaStore = deltaStore;
+        this.bulkWriter = bulkWriter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
     }
 
     /**
-     * 활성 유저들의 positive co-occurrence로 item_sim 재생성
+     * 활성 유저들의 positive co-occurrence로 item_sim 전체 재생성
+     * (user_event 한 번 스캔 → CoOccurrenceEngine: 박싱 없는 배열 + boardA 샤드 병렬 + a별 TopK)
      */
-    @Transactional
     public void rebuildItemSimForActiveUsers() {
-        LocalDateTime sinceActive = LocalDateTime.now().minusDays(7);
-        List<Long> activeUsers = userEventRepository.findActiveUserIds(sinceActive);
-        if (activeUsers.isEmpty()) return;
-
-        LocalDateTime since = LocalDateTime.now().minusDays(simDays);
+        LocalDateTime activeSince = LocalDateTime.now().minusDays(activeDays);
+        Compaction compaction = startCompaction();
+        userEventScanner.scan(LocalDateTime.now().minusDays(simDays), group -> {
+            if (group.isActiveSince(activeSince)) collect(compaction, group);
+        });
+        finishCompaction(compaction);
+    }
 
-        Map<Long, Integer> boardCnt = new HashMap<>(); // cnt(board): positive한 유저 수
-        Map<Long, Map<Long, Integer>> co = new HashMap<>(); // co[a][b] = 함께 본 횟수
+    /**
+     * 전체 재생성 시작: 워터마크를 현재 마지막 이벤트로 잡고, 바구니를 받을 빈 복제 테이블을 준비합니다.
+     * (스캔 도중 들어온 이벤트는 다음 증분에서 한 번 더 보지만, 바구니에 이미 있으면 시각만 갱신되므로 중복 집계 없음)
+     */
+    public Compaction startCompaction() {
+        long watermark = userEventRepository.findMaxId();
+        transactionTemplate.executeWithoutResult(status -> deltaStore.clear());
+        bulkWriter.beginStaging(RecoBulkWriter.Table.ITEM_USER_BOARD);
+        return new Compaction(new CoOccurrenceEngine(perUserMaxBoards), watermark);
+    }
 
-        for (Long userId : activeUsers) {
-            List<Long> boards = userEventRepository.findRecentPositiveBoardIds(userId, since, POSITIVE);
-            if (boards.isEmpty()) continue;
+    /** 한 사용자의 simDays 안 positive 게시글(최신순)을 바구니로 추가 (스캔 consumer에서 호출) */
+    public void collect(Compaction compaction, UserEventScanner.Group group) {
+        List<UserEventScanner.PositiveBoard> boards =
+                group.recentPositiveBoards(LocalDateTime.now().minusDays(simDays), perUserMaxBoards);
+        if (boards.isEmpty()) return;
+        long[] buffer = new long[boards.size()];
+        for (int i = 0; i < buffer.length; i++) {
+            UserEventScanner.PositiveBoard b = boards.get(i);
+            buffer[i] = b.boardId();
+            compaction.pending.add(new ItemSimDeltaStore.BasketEntry(group.userId(), b.boardId(), b.lastAt()));
+        }
+        compaction.engine.addBasket(buffer, buffer.length);
+        compaction.users++;
+        if (compaction.pending.size() >= basketFlushRows) flushBaskets(compaction);
+    }
 
-            if (boards.size() > perUserMaxBoards) boards = boards.subList(0, perUserMaxBoards);
+    /** 수집이 끝난 엔진으로 item_sim과 델타 저장소(바구니/사용자 수/공동 등장 수)를 교체한 뒤 워터마크 기록 */
+    public void finishCompaction(Compaction compaction) {
+        flushBaskets(compaction);
+        writeItemSim(compaction.engine, compaction.users);
+        writeDeltaStore(compaction.engine);
+        transactionTemplate.executeWithoutResult(status -> deltaStore.finishCompaction(compaction.watermark));
+    }
 
-            // 중복 제거(순서 유지)
-            List<Long> list = new ArrayList<>(new LinkedHashSet<>(boards));
+    /**
+     * 증분 갱신: 워터마크 이후 positive 이벤트만 델타 저장소에 반영하고, cnt가 바뀐 boardA 중
+     * 상위 이웃이 실제로 달라진 행만 다시 씁니다.
+     * (기간 밖으로 나간 이벤트/비활성 유저, 이웃 쪽 user_count 변화에 따른 점수 차이는 전체 재생성에서 정리)
+     * @return 델타 저장소가 아직 없으면 false (전체 재생성 필요)
+     */
+    public boolean updateIncrementally() {
+        OptionalLong watermark = transactionTemplate.execute(status -> deltaStore.watermark());
+        if (watermark == null || watermark.isEmpty()) return false;
+        long start = System.currentTimeMillis();
+
+        long afterId = watermark.getAsLong();
+        long events = 0;
+        while (true) {
+            long from = afterId;
+            List<UserEvent> chunk = transactionTemplate.execute(status -> {
+                List<UserEvent> found = userEventRepository.findPositiveAfter(
+                        from, UserEventScanner.POSITIVE, Limit.of(incrementalChunk));
+                deltaStore.apply(found, perUserMaxBoards);
+                return found;
+            });
+            if (chunk == null || chunk.isEmpty()) break;
+            events += chunk.size();
+            afterId = chunk.get(chunk.size() - 1).getUserEventId();
+            if (chunk.size() < incrementalChunk) break;
+        }
 
-            for (Long a : list) boardCnt.merge(a, 1, Integer::sum);
+        int[] totals = {0, 0}; // 재계산, 다시 쓴 행
+        while (true) {
+            Boolean more = transactionTemplate.execute(status -> {
+                List<Long> dirty = deltaStore.findDirtyBoards(recomputeBatch);
+                if (dirty.isEmpty()) return false;
+                totals[0] += dirty.size();
+                totals[1] += rewriteChanged(dirty);
+                deltaStore.clearDirty(dirty);
+                return true;
+            });
+            if (!Boolean.TRUE.equals(more)) break;
+        }
+        log.info("[ItemSim] 증분 갱신 - 이벤트 {}건, 재계산 {}개, 변경 {}개, {}ms",
+                events, totals[0], totals[1], System.currentTimeMillis() - start);
+        return true;
+    }
 
-            // O(k^2) (k <= 50이라 MVP에선 OK)
-            for (int i = 0; i < list.size(); i++) {
-                for (int j = 0; j < list.size(); j++) {
-                    if (i == j) continue;
-                    Long a = list.get(i);
-                    Long b = list.get(j);
-                    co.computeIfAbsent(a, k -> new HashMap<>()).merge(b, 1, Integer::sum);
-                }
-            }
+    // 델타 카운트로 다시 계산한 상위 이웃이 저장된 것과 다른 boardA만 삭제 후 재생성
+    private int rewriteChanged(List<Long> boardAs) {
+        Map<Long, List<ItemSimDeltaStore.Neighbor>> fresh = deltaStore.topSimilar(boardAs, topSimilarPerBoard);
+        Map<Long, Map<Long, Double>> current = new HashMap<>();
+        for (ItemSim s : itemSimRepository.findByBoardAIn(boardAs)) {
+            current.computeIfAbsent(s.getId().getBoardA(), k -> new HashMap<>()).put(s.getId().getBoardB(), s.getSim());
         }
 
         LocalDateTime now = LocalDateTime.now();
+        List<Long> changed = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        for (Long a : boardAs) {
+            List<ItemSimDeltaStore.Neighbor> next = fresh.getOrDefault(a, List.of());
+            if (sameNeighbors(current.getOrDefault(a, Map.of()), next)) continue;
+            changed.add(a);
+            for (ItemSimDeltaStore.Neighbor n : next) rows.add(new Object[]{a, n.boardB(), n.sim(), now});
+        }
+        if (!changed.isEmpty()) bulkWriter.replace(RecoBulkWriter.Table.ITEM_SIM, changed, rows);
+        return changed.size();
+    }
 
-        // boardA 별로 상위 topSimilarPerBoard만 저장
-        for (Map.Entry<Long, Map<Long, Integer>> entry : co.entrySet()) {
-            Long a = entry.getKey();
-            Map<Long, Integer> map = entry.getValue();
-
-            int cntA = boardCnt.getOrDefault(a, 1);
-
-            // 기존 a 삭제 후 재생성
-            itemSimRepository.deleteByBoardA(a);
-
-            List<ItemSim> sims = map.entrySet().stream()
-                    .map(en -> {
-                        Long b = en.getKey();
-                        int coAB = en.getValue();
-                        int cntB = boardCnt.getOrDefault(b, 1);
-                        double sim = coAB / Math.sqrt((double) cntA * cntB); // cosine 형태
-                        return new AbstractMap.SimpleEntry<>(b, sim);
-                    })
-                    .sorted((x, y) -> Double.compare(y.getValue(), x.getValue()))
-                    .limit(topSimilarPerBoard)
-                    .map(en -> new ItemSim(a, en.getKey(), en.getValue(), now))
-                    .toList();
-
-            itemSimRepository.saveAll(sims);
+    private static boolean sameNeighbors(Map<Long, Double> current, List<ItemSimDeltaStore.Neighbor> next) {
+        if (current.size() != next.size()) return false;
+        for (ItemSimDeltaStore.Neighbor n : next) {
+            Double sim = current.get(n.boardB());
+            if (sim == null || Math.abs(sim - n.sim()) > SIM_EPSILON) return false;
         }
+        return true;
+    }
+
+    private void flushBaskets(Compaction compaction) {
+        if (compaction.pending.isEmpty()) return;
+        List<ItemSimDeltaStore.BasketEntry> entries = List.copyOf(compaction.pending);
+        compaction.pending.clear();
+        List<Object[]> rows = new ArrayList<>(entries.size());
+        for (ItemSimDeltaStore.BasketEntry e : entries) rows.add(new Object[]{e.userId(), e.boardId(), e.lastAt()});
+        requiresNew.executeWithoutResult(status -> bulkWriter.insertStaged(RecoBulkWriter.Table.ITEM_USER_BOARD, rows));
+    }
+
+    /**
+     * 수집이 끝난 엔진으로 boardA 별 상위 topSimilarPerBoard를 새 테이블에 채워 item_sim과 교체
+     * (이번에 결과가 없는 boardA의 옛 행도 함께 정리됨)
+     */
+    private void writeItemSim(CoOccurrenceEngine engine, int users) {
+        long start = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        int parallelism = Math.max(1, Runtime.getRuntime().availableProcessors());
+        int[] rows = {0};
+        bulkWriter.swapLoad(RecoBulkWriter.Table.ITEM_SIM, sink -> {
+            try (ForkJoinPool pool = new ForkJoinPool(parallelism)) {
+                engine.compute(pool, parallelism * SHARDS_PER_THREAD, topSimilarPerBoard, (a, bs, sims, n) -> {
+                    for (int i = 0; i < n; i++) sink.add(a, bs[i], sims[i], now);
+                    rows[0]++;
+                });
+            }
+        });
+        log.info("[ItemSim] 재생성 완료 - 사용자 {}명, 게시글 {}개, 쌍 {}개, 행 {}개, {}ms",
+                users, engine.boardCount(), engine.pairCount(), rows[0], System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 델타 저장소 교체: 스캔 중 채운 바구니 복제 테이블을 올리고, 사용자 수/공동 등장 수는 엔진에서
+     * batch-size 단위로 흘려 새 테이블에 채운 뒤 RENAME (쌍 전체를 SQL self-join으로 만들지 않음)
+     */
+    private void writeDeltaStore(CoOccurrenceEngine engine) {
+        long start = System.currentTimeMillis();
+        bulkWriter.promoteStaging(RecoBulkWriter.Table.ITEM_USER_BOARD);
+        long counts = bulkWriter.swapLoad(RecoBulkWriter.Table.ITEM_USER_COUNT,
+                sink -> engine.forEachBoard((boardId, users) -> sink.add(boardId, users, false)));
+        long pairs = bulkWriter.swapLoad(RecoBulkWriter.Table.ITEM_COOC,
+                sink -> engine.forEachCooccurrence((a, bs, cnts, n) -> {
+                    for (int i = 0; i < n; i++) sink.add(a, bs[i], cnts[i]);
+                }));
+        log.info("[ItemSim] 델타 저장소 교체 - 게시글 {}개, 쌍 {}개, {}ms",
+                counts, pairs, System.currentTimeMillis() - start);
     }
-}
\ No newline at end of file
+}
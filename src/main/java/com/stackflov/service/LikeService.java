@@ -35,11 +35,13 @@ public class LikeService {
                 Like like = existing.get();
                 if (like.isActive()) throw new IllegalArgumentException("이미 좋아요를 누른 게시글입니다.");
                 like.activate();
+                boardRepository.addLikeCount(board.getId(), 1);
                 if (!board.getAuthor().getId().equals(user.getId())) {
-                    notificationService.notify(
+                    notificationService.notifyCoalesced(
                             board.getAuthor(),
+                            user,
                             NotificationType.LIKE,
-                            user.getNickname() + "님이 \"" + board.getTitle() + "\"를 좋아합니다.",
+                            "\"" + board.getTitle() + "\"를 좋아합니다.",
                             "/trace/detail/" + board.getId()
                     );
                 }
@@ -47,11 +49,13 @@ public class LikeService {
             }
 
             likeRepository.save(Like.builder().user(user).board(board).build());
+            boardRepository.addLikeCount(board.getId(), 1);
             if (!board.getAuthor().getId().equals(user.getId())) {
-                notificationService.notify(
+                notificationService.notifyCoalesced(
                         board.getAuthor(),
+                        user,
                         NotificationType.LIKE,
-                        user.getNickname() + "님이 \"" + board.getTitle() + "\"를 좋아합니다.",
+                        "\"" + board.getTitle() + "\"를 좋아합니다.",
                         "/trace/detail/" + board.getId()
                 );
             }
@@ -67,11 +71,13 @@ public class LikeService {
             Like like = existing.get();
             if (like.isActive()) throw new IllegalArgumentException("이미 좋아요를 누른 리뷰입니다.");
             like.activate();
+            reviewRepository.addLikeCount(review.getId(), 1);
             if (!review.getAuthor().getId().equals(user.getId())) {
-                notificationService.notify(
+                notificationService.notifyCoalesced(
                         review.getAuthor(),
+                        user,
                         NotificationType.LIKE,
-                        user.getNickname() + "님이 리뷰 \"" + review.getTitle() + "\"를 좋아합니다.",
+                        "리뷰 \"" + review.getTitle() + "\"를 좋아합니다.",
                         "/nibangnebang/" + review.getId()
                 );
             }
@@ -79,11 +85,13 @@ public class LikeService {
         }
 
         likeRepository.save(Like.builder().user(user).review(review).build());
+        reviewRepository.addLikeCount(review.getId(), 1);
         if (!review.getAuthor().getId().equals(user.getId())) {
-            notificationService.notify(
+            notificationService.notifyCoalesced(
                     review.getAuthor(),
+                    user,
                     NotificationType.LIKE,
-                    user.getNickname() + "님이 리뷰 \"" + review.getTitle() + "\"를 좋아합니다.",
+                    "리뷰 \"" + review.getTitle() + "\"를 좋아합니다.",
                     "/nibangnebang/" + review.getId()
             );
         }
@@ -100,6 +108,7 @@ public class LikeService {
             Like like = likeRepository.findByUserAndBoardAndActiveTrue(user, board)
                     .orElseThrow(() -> new IllegalArgumentException("좋아요 기록이 없습니다."));
             like.deactivate();
+            boardRepository.addLikeCount(board.getId(), -1);
             return;
         }
 
@@ -108,5 +117,6 @@ public class LikeService {
         Like like = likeRepository.findByUserAndReviewAndActiveTrue(user, review)
                 .orElseThrow(() -> new IllegalArgumentException("좋아요 기록이 없습니다."));
         like.deactivate();
+        reviewRepository.addLikeCount(review.getId(), -1);
     }
 }
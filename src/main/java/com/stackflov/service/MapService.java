@@ -8,11 +8,14 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.data.domain.Pageable;
@@ -31,6 +34,7 @@ public class MapService {
     private final UserRepository userRepository;
     private final ReviewImageRepository reviewImageRepository;
     private final BookmarkRepository bookmarkRepository;
+    private final ApproximateCountService approximateCountService;
 
     @Value("${app.defaults.profile-image}")
     private String defaultProfileImage;
@@ -74,25 +78,25 @@ public class MapService {
     @Transactional(readOnly = true)
     public Page<ReviewListResponseDto> getReviews(Pageable pageable, @org.springframework.lang.Nullable String requesterEmail) {
         Page<Review> page = reviewRepository.findByActiveTrue(pageable);
-        List<Review> reviews = page.getContent();
-
-        if (reviews.isEmpty()) {
-            return page.map(r -> ReviewListResponseDto.from(r, requesterEmail, false, 0, Collections.emptyList(), false));
-        }
-
-        List<Long> reviewIds = reviews.stream().map(Review::getId).toList();
+        return page.map(reviewListMapper(page.getContent(), requesterEmail));
+    }
 
-        Map<Long, Integer> likeCountMap = likeRepository.countActiveLikesByReviewIds(reviewIds)
-                .stream()
-                .collect(Collectors.toMap(
-                        LikeRepository.ReviewLikeCount::getReviewId,
-                        r -> r.getCnt().intValue()
-                ));
+    // COUNT 없는 리뷰 목록 (다음 페이지 여부 + 대략적인 전체 개수)
+    @Transactional(readOnly = true)
+    public SliceResponseDto<ReviewListResponseDto> getReviewsSlice(Pageable pageable, @org.springframework.lang.Nullable String requesterEmail) {
+        Slice<Review> slice = reviewRepository.findSliceByActiveTrue(pageable);
+        long total = approximateCountService.get("reviews:active", reviewRepository::countByActiveTrue);
+        return new SliceResponseDto<>(slice.map(reviewListMapper(slice.getContent(), requesterEmail)), total);
+    }
 
+    // 페이지 단위로 좋아요/북마크 여부를 한 번에 조회한 뒤, 행별 DTO 변환 함수를 돌려줌
+    private Function<Review, ReviewListResponseDto> reviewListMapper(List<Review> reviews,
+                                                                     @org.springframework.lang.Nullable String requesterEmail) {
         Set<Long> likedSet = new HashSet<>();
         Set<Long> bookmarkedSet = new HashSet<>();
 
-        if (requesterEmail != null) {
+        if (requesterEmail != null && !reviews.isEmpty()) {
+            List<Long> reviewIds = reviews.stream().map(Review::getId).toList();
             userRepository.findByEmail(requesterEmail).ifPresent(user -> {
                 likedSet.addAll(likeRepository.findLikedReviewIds(user.getId(), reviewIds));
                 bookmarkedSet.addAll(bookmarkRepository.findByUser(user).stream()
@@ -102,7 +106,7 @@ public class MapService {
             });
         }
 
-        return page.map(r -> {
+        return r -> {
             List<String> imageUrls = (r.getReviewImages() == null) ? Collections.emptyList()
                     : r.getReviewImages().stream()
                     .map(img -> s3Service.publicUrl(img.getImageUrl()))
@@ -112,11 +116,11 @@ public class MapService {
                     r,
                     requesterEmail,
                     likedSet.contains(r.getId()),
-                    likeCountMap.getOrDefault(r.getId(), 0),
+                    (int) r.getLikeCount(),
                     imageUrls,
                     bookmarkedSet.contains(r.getId())
             );
-        });
+        };
     }
     @Transactional
     public void updateReview(Long reviewId,
@@ -189,7 +193,7 @@ public class MapService {
         List<ReviewImage> images = reviewImageRepository.findAllByReviewId(reviewId);
 
         review.deactivate();
-        commentRepository.bulkDeactivateByReviewId(reviewId);
+        commentRepository.bulkDeactivateByReviewId(reviewId, LocalDateTime.now());
 
         for (ReviewImage img : images) {
             String url = img.getImageUrl();
@@ -250,7 +254,7 @@ public class MapService {
                 .map(this::toPublicUrl)      // ✅ 보정 + CDN URL
                 .toList();
 
-        long likeCount = likeRepository.countByReviewAndActiveTrue(review);
+        long likeCount = review.getLikeCount();
         boolean isLiked = (email != null) && userRepository.findByEmail(email)
                 .map(u -> likeRepository.findByUserAndReviewAndActiveTrue(u, review).isPresent())
                 .orElse(false);
@@ -1,13 +1,14 @@
 package com.stackflov.service;
 
 import com.stackflov.domain.*;
-import com.stackflov.repository.MentionRepository;
 import com.stackflov.repository.UserRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -17,11 +18,13 @@ import java.util.regex.Pattern;
 public class MentionService {
 
     private final UserRepository userRepository;
-    private final MentionRepository mentionRepository;
     private final NotificationService notificationService;
+    private final EntityManager em;
 
     // 정규표현식으로 @닉네임 패턴 찾기
     private static final Pattern MENTION_PATTERN = Pattern.compile("@([a-zA-Z0-9ㄱ-ㅎㅏ-ㅣ가-힣_]+)");
+    // 한 글에서 처리하는 최대 멘션 수 (쿼리 크기 상한)
+    private static final int MAX_MENTIONS = 50;
 
     @Transactional
     public void processMentions(User mentioner, String content, Board board, Comment comment) {
@@ -29,33 +32,34 @@ public class MentionService {
             return;
         }
 
-        Set<String> mentionedNicknames = new HashSet<>();
+        Set<String> mentionedNicknames = new LinkedHashSet<>();
         Matcher matcher = MENTION_PATTERN.matcher(content);
-        while (matcher.find()) {
+        while (matcher.find() && mentionedNicknames.size() < MAX_MENTIONS) {
             mentionedNicknames.add(matcher.group(1));
         }
+        if (mentionedNicknames.isEmpty()) {
+            return;
+        }
 
-        for (String nickname : mentionedNicknames) {
-            userRepository.findByNickname(nickname).ifPresent(mentionedUser -> {
-                // 자기 자신을 멘션한 경우는 제외
-                if (mentioner.getId().equals(mentionedUser.getId())) {
-                    return;
-                }
-
-                // 멘션 정보 저장
-                Mention mention = Mention.builder()
-                        .mentioner(mentioner)
-                        .mentioned(mentionedUser)
-                        .board(board)
-                        .comment(comment)
-                        .build();
-                mentionRepository.save(mention);
-
-                // 멘션된 사용자에게 알림 보내기
-                String message = mentioner.getNickname() + "님이 회원님을 언급했습니다.";
-                String link = (board != null) ? "/trace/detail/" + board.getId() : "/nibangnebang/" + comment.getReview().getId();;
-                notificationService.notify(mentionedUser, NotificationType.MENTION, message, link);
-            });
+        // 닉네임 → 사용자 IN 조회 1회 (자기 자신 멘션은 제외)
+        List<User> mentionedUsers = userRepository.findByNicknameIn(mentionedNicknames).stream()
+                .filter(u -> !mentioner.getId().equals(u.getId()))
+                .toList();
+        if (mentionedUsers.isEmpty()) {
+            return;
         }
+
+        // 멘션 정보 일괄 저장 (INSERT 1회)
+        Long boardId = (board != null) ? board.getId() : null;
+        Long commentId = (comment != null) ? comment.getId() : null;
+        List<Object[]> rows = mentionedUsers.stream()
+                .map(u -> new Object[]{mentioner.getId(), u.getId(), boardId, commentId})
+                .toList();
+        NativeBulkInsert.execute(em, "INSERT INTO mentions (mentioner_id, mentioned_id, board_id, comment_id)", rows);
+
+        // 멘션된 사용자들에게 알림 일괄 발송
+        String message = mentioner.getNickname() + "님이 회원님을 언급했습니다.";
+        String link = (board != null) ? "/trace/detail/" + board.getId() : "/nibangnebang/" + comment.getReview().getId();
+        notificationService.notifyAll(mentionedUsers, NotificationType.MENTION, message, link);
     }
-}
\ No newline at end of file
+}
@@ -3,6 +3,7 @@ package com.stackflov.service;
 import com.stackflov.domain.User;
 import com.stackflov.dto.*;
 import com.stackflov.repository.*;
+import com.stackflov.repository.projection.BoardListProjection;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -18,6 +19,7 @@ public class MyContentService {
     private final BoardRepository boardRepository;
     private final CommentRepository commentRepository;
     private final ReviewRepository reviewRepository;
+    private final BoardListAssembler boardListAssembler;
 
     private User getUserByEmail(String email) {
         return userRepository.findByEmail(email)
@@ -27,8 +29,8 @@ public class MyContentService {
     public Page<BoardListResponseDto> getMyBoards(String email, Pageable pageable) {
         User user = getUserByEmail(email);
         // ⬇️ active=true만
-        return boardRepository.findByAuthorAndActiveTrue(user, pageable)
-                .map(BoardListResponseDto::new);
+        Page<BoardListProjection> rows = boardRepository.findActiveListByAuthorId(user.getId(), pageable);
+        return boardListAssembler.assemble(rows, user);
     }
 
     public Page<ReviewResponseDto> getMyReviews(String email, Pageable pageable) {
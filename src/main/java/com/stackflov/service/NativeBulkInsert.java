@@ -0,0 +1,53 @@
+package com.stackflov.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+import java.util.List;
+
+/**
+ * 여러 행을 INSERT 한 번으로 넣기 위한 네이티브 쿼리 헬퍼.
+ * IDENTITY 키라 JPA saveAll은 행마다 INSERT가 나가므로, 대량 삽입은 이걸로 한 번에 보냅니다.
+ */
+final class NativeBulkInsert {
+
+    private NativeBulkInsert() {
+    }
+
+    /**
+     * @param head 예) "INSERT IGNORE INTO hashtags (name)"
+     * @param rows 행마다 컬럼 값 배열 (모든 행의 컬럼 수는 같아야 함)
+     */
+    static int execute(EntityManager em, String head, List<Object[]> rows) {
+        return execute(em, head, rows, "");
+    }
+
+    /**
+     * @param tail VALUES 뒤에 붙일 절 예) "ON DUPLICATE KEY UPDATE cnt = cnt + VALUES(cnt)"
+     */
+    static int execute(EntityManager em, String head, List<Object[]> rows, String tail) {
+        if (rows.isEmpty()) return 0;
+        int columns = rows.get(0).length;
+
+        // (?1, ?2), (?3, ?4) ...
+        StringBuilder sql = new StringBuilder(head).append(" VALUES ");
+        int p = 1;
+        for (int r = 0; r < rows.size(); r++) {
+            if (r > 0) sql.append(", ");
+            sql.append('(');
+            for (int c = 0; c < columns; c++) {
+                if (c > 0) sql.append(", ");
+                sql.append('?').append(p++);
+            }
+            sql.append(')');
+        }
+        if (!tail.isEmpty()) sql.append(' ').append(tail);
+
+        Query q = em.createNativeQuery(sql.toString());
+        p = 1;
+        for (Object[] row : rows) {
+            for (Object value : row) q.setParameter(p++, value);
+        }
+        return q.executeUpdate();
+    }
+}
@@ -5,11 +5,13 @@ import com.stackflov.domain.Role;
 import com.stackflov.domain.User;
 import com.stackflov.dto.NoticeCreateRequestDto;
 import com.stackflov.dto.NoticeResponseDto;
+import com.stackflov.dto.SliceResponseDto;
 import com.stackflov.repository.NoticeRepository;
 import com.stackflov.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,6 +21,8 @@ public class NoticeService {
 
     private final NoticeRepository noticeRepository;
     private final UserRepository userRepository;
+    private final ViewCountService viewCountService;
+    private final ApproximateCountService approximateCountService;
 
     // 관리자: 공지사항 생성
     @Transactional
@@ -57,21 +61,33 @@ public class NoticeService {
     }
 
     // 사용자/관리자: 공지사항 상세 조회
-    @Transactional // readOnly 해제: viewCount 증가 위해
+    @Transactional(readOnly = true) // 조회수는 ViewCountService 버퍼에서 주기적으로 반영
     public NoticeResponseDto getNotice(Long noticeId) {
         Notice notice = noticeRepository.findByIdAndActiveTrue(noticeId)
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않거나 삭제된 공지입니다."));
-        notice.increaseViewCount();             // ✅ 활성 공지만 카운트 증가
-        return new NoticeResponseDto(notice);
+        viewCountService.increaseNoticeView(noticeId);   // ✅ 활성 공지만 카운트 증가
+        return new NoticeResponseDto(notice, viewCountService.noticeViewCount(noticeId, notice.getViewCount()));
     }
 
     // 사용자/관리자: 공지사항 목록 조회
     @Transactional(readOnly = true)
     public Page<NoticeResponseDto> getAllNotices(Pageable pageable) {
         Page<Notice> notices = noticeRepository.findByActiveTrueOrderByCreatedAtDesc(pageable);
-        return notices.map(n -> new NoticeResponseDto(
+        return notices.map(this::toListItem);
+    }
+
+    // 사용자/관리자: 공지사항 목록 조회 (COUNT 없이 다음 페이지 여부 + 대략적인 전체 개수)
+    @Transactional(readOnly = true)
+    public SliceResponseDto<NoticeResponseDto> getAllNoticesSlice(Pageable pageable) {
+        Slice<Notice> notices = noticeRepository.findSliceByActiveTrueOrderByCreatedAtDesc(pageable);
+        long total = approximateCountService.get("notices:active", noticeRepository::countByActiveTrue);
+        return new SliceResponseDto<>(notices.map(this::toListItem), total);
+    }
+
+    private NoticeResponseDto toListItem(Notice n) {
+        return new NoticeResponseDto(
                 n.getId(), n.getTitle(), n.getAuthor().getNickname(),
-                n.getViewCount(), n.getCreatedAt(), n.isActive()
-        ));
+                viewCountService.noticeViewCount(n.getId(), n.getViewCount()), n.getCreatedAt(), n.isActive()
+        );
     }
 }
\ No newline at end of file
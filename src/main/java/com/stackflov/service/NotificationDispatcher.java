@@ -0,0 +1,357 @@
+package com.stackflov.service;
+
+import com.stackflov.domain.Notification;
+import com.stackflov.domain.NotificationOutbox;
+import com.stackflov.domain.NotificationType;
+import com.stackflov.dto.NotificationDto;
+import com.stackflov.repository.NotificationOutboxRepository;
+import com.stackflov.repository.NotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 알림 outbox → notifications 테이블 + 웹소켓 푸시.
+ * - 배치 단위로 잠금 조회 → 다중 행 INSERT 1회 + outbox DELETE 1회 → 커밋 이후 푸시
+ * - 배치가 실패하면 한 건씩 다시 시도해서 문제 행만 골라내고, 그 행은 지수 백오프로 재시도 (최대 횟수 초과 시 DEAD)
+ * - 수신자별 순서: outbox id 순으로 처리하고, 재시도 대기 중인 행이 있으면 그 수신자의 뒤 행은 대기
+ * - 합치기: 행위자가 있는 행(좋아요/댓글)은 (수신자, 타입, 링크)별로 묶어서,
+ *   창 안의 안 읽은 알림이 있으면 새 행 대신 그 알림의 행위자 수/최근 행위자/문구를 갱신
+ */
+@Slf4j
+@Component
+public class NotificationDispatcher {
+
+    private static final String INSERT_HEAD =
+            "INSERT INTO notifications (user_id, `type`, message, link, `read`, created_at, actor_count, latest_actor_ids)";
+    private static final int MAX_LATEST_ACTORS = 5;
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationRepository notificationRepository;
+    private final SimpMessageSendingOperations messagingTemplate;
+    private final EntityManager em;
+    // 새 알림 INSERT는 생성된 키를 받아야 하므로 JDBC로 (같은 트랜잭션/커넥션)
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UnreadCounterService unreadCounterService;
+
+    private final Timer dispatchLatency;
+    private final Counter sentCounter;
+    private final Counter retryCounter;
+    private final Counter deadCounter;
+    private final Counter pushFailureCounter;
+    private final AtomicLong pendingDepth = new AtomicLong();
+
+    @Value("${app.notification.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.notification.max-rounds:10}")
+    private int maxRounds;
+
+    @Value("${app.notification.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.notification.retry-base-ms:1000}")
+    private long retryBaseMillis;
+
+    @Value("${app.notification.coalesce-window-ms:600000}")
+    private long coalesceWindowMillis;
+
+    public NotificationDispatcher(NotificationOutboxRepository outboxRepository,
+                                  NotificationRepository notificationRepository,
+                                  SimpMessageSendingOperations messagingTemplate,
+                                  EntityManager em,
+                                  JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  UnreadCounterService unreadCounterService,
+                                  MeterRegistry registry) {
+        this.outboxRepository = outboxRepository;
+        this.notificationRepository = notificationRepository;
+        this.messagingTemplate = messagingTemplate;
+        this.em = em;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.unreadCounterService = unreadCounterService;
+
+        this.dispatchLatency = Timer.builder("notification.dispatch.latency")
+                .description("알림 발생 ~ 푸시까지 걸린 시간")
+                .register(registry);
+        this.sentCounter = Counter.builder("notification.dispatch.sent").register(registry);
+        this.retryCounter = Counter.builder("notification.dispatch.retries").register(registry);
+        this.deadCounter = Counter.builder("notification.dispatch.dead").register(registry);
+        this.pushFailureCounter = Counter.builder("notification.push.failures").register(registry);
+        Gauge.builder("notification.outbox.pending", pendingDepth, AtomicLong::get)
+                .description("발송 대기 중인 outbox 행 수")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.notification.dispatch-ms:500}")
+    public void dispatch() {
+        // 밀려 있으면 한 주기에 여러 배치 처리
+        for (int round = 0; round < maxRounds; round++) {
+            if (dispatchBatch() < batchSize) break;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.notification.depth-refresh-ms:10000}")
+    public void refreshDepth() {
+        pendingDepth.set(outboxRepository.countByStatus(NotificationOutbox.Status.PENDING));
+    }
+
+    private int dispatchBatch() {
+        List<Delivery> deliveries;
+        try {
+            deliveries = transactionTemplate.execute(status -> {
+                List<NotificationOutbox> rows = outboxRepository.lockDue(LocalDateTime.now(), batchSize);
+                if (rows.isEmpty()) return List.of();
+                List<Delivery> inserted = writeNotifications(rows);
+                outboxRepository.deleteByIds(rows.stream().map(NotificationOutbox::getId).toList());
+                return inserted;
+            });
+        } catch (RuntimeException e) {
+            log.warn("[Notification] 배치 발송 실패 - 한 건씩 재시도합니다: {}", e.getMessage());
+            return dispatchOneByOne();
+        }
+        push(deliveries);
+        return deliveries.size();
+    }
+
+    // 배치 실패 시: 행 단위 트랜잭션으로 문제 행만 격리
+    private int dispatchOneByOne() {
+        List<Long> ids = transactionTemplate.execute(status ->
+                outboxRepository.lockDue(LocalDateTime.now(), batchSize).stream()
+                        .map(NotificationOutbox::getId)
+                        .toList());
+        Set<Long> deferredReceivers = new HashSet<>();
+        int processed = 0;
+        for (Long id : ids) {
+            try {
+                List<Delivery> delivered = transactionTemplate.execute(status -> {
+                    NotificationOutbox row = em.find(NotificationOutbox.class, id, LockModeType.PESSIMISTIC_WRITE);
+                    // 다른 노드가 이미 처리했거나, 같은 수신자의 앞 행이 실패한 경우 건너뜀
+                    if (row == null || row.getStatus() != NotificationOutbox.Status.PENDING
+                            || deferredReceivers.contains(row.getReceiverId())) {
+                        return List.of();
+                    }
+                    List<Delivery> inserted = writeNotifications(List.of(row));
+                    outboxRepository.deleteByIds(List.of(id));
+                    return inserted;
+                });
+                push(delivered);
+                processed += delivered.size();
+            } catch (RuntimeException e) {
+                Long receiverId = markFailed(id, e);
+                if (receiverId != null) deferredReceivers.add(receiverId);
+            }
+        }
+        return processed;
+    }
+
+    private Long markFailed(Long id, RuntimeException cause) {
+        try {
+            return transactionTemplate.execute(status -> {
+                NotificationOutbox row = em.find(NotificationOutbox.class, id);
+                if (row == null) return null;
+                int attempts = row.getAttempts() + 1;
+                boolean dead = attempts >= maxAttempts;
+                long backoff = retryBaseMillis * (1L << Math.min(attempts, 10));
+                String error = Optional.ofNullable(cause.getMessage()).map(m -> m.length() > 500 ? m.substring(0, 500) : m).orElse(null);
+                outboxRepository.markFailed(id, attempts, LocalDateTime.now().plus(Duration.ofMillis(backoff)),
+                        dead ? NotificationOutbox.Status.DEAD : NotificationOutbox.Status.PENDING, error);
+                if (dead) {
+                    deadCounter.increment();
+                    log.error("[Notification] 알림 발송 포기 - outboxId: {}, 시도 {}회: {}", id, attempts, error);
+                } else {
+                    retryCounter.increment();
+                }
+                return row.getReceiverId();
+            });
+        } catch (RuntimeException e) {
+            log.error("[Notification] 실패 기록 중 오류 - outboxId: {}", id, e);
+            return null;
+        }
+    }
+
+    /** 일반 행은 그대로, 행위자가 있는 행은 (수신자, 타입, 링크)별로 합쳐서 저장 */
+    private List<Delivery> writeNotifications(List<NotificationOutbox> rows) {
+        List<PendingRow> inserts = new ArrayList<>(rows.size());
+        Map<CoalesceKey, List<NotificationOutbox>> groups = new LinkedHashMap<>();
+        for (NotificationOutbox r : rows) {
+            if (r.getActorId() == null || coalesceWindowMillis <= 0) {
+                inserts.add(new PendingRow(r.getId(), r.getReceiverId(), r.getNotificationType(), r.getMessage(),
+                        r.getLink(), r.getCreatedAt(), 1, null));
+            } else {
+                groups.computeIfAbsent(CoalesceKey.of(r), k -> new ArrayList<>()).add(r);
+            }
+        }
+
+        List<Delivery> deliveries = new ArrayList<>(rows.size());
+        if (!groups.isEmpty()) {
+            Map<CoalesceKey, Notification> open = findOpenAggregates(groups);
+            for (Map.Entry<CoalesceKey, List<NotificationOutbox>> e : groups.entrySet()) {
+                List<NotificationOutbox> events = e.getValue();
+                NotificationOutbox last = events.get(events.size() - 1);
+                Notification target = open.get(e.getKey());
+                if (target == null) {
+                    Merged merged = merge(0, List.of(), events);
+                    inserts.add(new PendingRow(last.getId(), last.getReceiverId(), last.getNotificationType(),
+                            merged.message(), last.getLink(), last.getCreatedAt(), merged.count(), merged.actorIds()));
+                    continue;
+                }
+                // 기존 안 읽은 알림 갱신 (안 읽은 수는 그대로)
+                Merged merged = merge(target.getActorCount(), NotificationDto.parseIds(target.getLatestActorIds()), events);
+                notificationRepository.coalesce(target.getId(), merged.count(), merged.actorIds(),
+                        merged.message(), last.getCreatedAt());
+                NotificationDto dto = new NotificationDto(target.getId(), last.getNotificationType(), merged.message(),
+                        last.getLink(), false, last.getCreatedAt(), merged.count(), NotificationDto.parseIds(merged.actorIds()));
+                deliveries.add(new Delivery(last.getId(), last.getReceiverId(), dto, false));
+            }
+        }
+        if (!inserts.isEmpty()) deliveries.addAll(insertNotifications(inserts));
+        deliveries.sort(Comparator.comparing(Delivery::sourceId));
+        return deliveries;
+    }
+
+    // 키별로 창 안에서 가장 최근의 안 읽은 합치기 알림 (조회 1회)
+    private Map<CoalesceKey, Notification> findOpenAggregates(Map<CoalesceKey, List<NotificationOutbox>> groups) {
+        LocalDateTime earliest = groups.values().stream()
+                .map(events -> events.get(0).getCreatedAt())
+                .min(Comparator.naturalOrder())
+                .orElseThrow();
+        Duration window = Duration.ofMillis(coalesceWindowMillis);
+        Set<Long> receiverIds = new HashSet<>();
+        Set<String> links = new HashSet<>();
+        groups.keySet().forEach(k -> {
+            receiverIds.add(k.receiverId());
+            links.add(k.link());
+        });
+
+        Map<CoalesceKey, Notification> open = new HashMap<>();
+        for (Notification n : notificationRepository.findOpenForCoalescing(receiverIds, links, earliest.minus(window))) {
+            CoalesceKey key = new CoalesceKey(n.getReceiver().getId(), n.getNotificationType(), n.getLink());
+            List<NotificationOutbox> events = groups.get(key);
+            // id 내림차순이므로 키별 첫 행이 가장 최근 알림
+            if (events == null || open.containsKey(key)) continue;
+            if (n.getCreatedAt().isBefore(events.get(0).getCreatedAt().minus(window))) continue;
+            open.put(key, n);
+        }
+        return open;
+    }
+
+    /**
+     * 행위자 목록 합치기: 이미 최근 목록에 있는 행위자(좋아요 취소 후 다시 누름 등)는 앞으로 옮기기만 하고 수는 그대로.
+     * 최근 목록(최대 MAX_LATEST_ACTORS명)에서 밀려난 행위자가 다시 오면 한 번 더 셀 수 있음.
+     */
+    private static Merged merge(int baseCount, List<Long> baseActorIds, List<NotificationOutbox> events) {
+        LinkedList<Long> actors = new LinkedList<>(baseActorIds);
+        int count = baseCount;
+        for (NotificationOutbox e : events) {
+            if (!actors.remove(e.getActorId())) count++;
+            actors.addFirst(e.getActorId());
+            if (actors.size() > MAX_LATEST_ACTORS) actors.removeLast();
+        }
+        NotificationOutbox last = events.get(events.size() - 1);
+        String message = count <= 1
+                ? last.getActorName() + "님이 " + last.getMessage()
+                : last.getActorName() + "님 외 " + (count - 1) + "명이 " + last.getMessage();
+        String actorIds = actors.stream().map(String::valueOf).collect(Collectors.joining(","));
+        return new Merged(count, actorIds, message);
+    }
+
+    /**
+     * 다중 행 INSERT 한 번 + getGeneratedKeys로 생성된 id를 받습니다.
+     * (id를 LAST_INSERT_ID() + i로 계산하면 auto_increment_increment가 1이 아닌 구성에서 틀림 → 드라이버에 맡김)
+     */
+    private List<Delivery> insertNotifications(List<PendingRow> rows) {
+        String sql = INSERT_HEAD + " VALUES "
+                + rows.stream().map(r -> "(?, ?, ?, ?, ?, ?, ?, ?)").collect(Collectors.joining(", "));
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            int p = 1;
+            for (PendingRow r : rows) {
+                ps.setLong(p++, r.receiverId());
+                ps.setString(p++, r.type().name());
+                ps.setString(p++, r.message());
+                ps.setString(p++, r.link());
+                ps.setBoolean(p++, false);
+                ps.setObject(p++, r.createdAt());
+                ps.setInt(p++, r.actorCount());
+                ps.setString(p++, r.actorIds());
+            }
+            return ps;
+        }, keyHolder);
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != rows.size()) {
+            throw new IllegalStateException("생성된 알림 id 수가 맞지 않습니다: " + keys.size() + " != " + rows.size());
+        }
+
+        List<Delivery> deliveries = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            PendingRow r = rows.get(i);
+            long id = ((Number) keys.get(i).values().iterator().next()).longValue();
+            NotificationDto dto = new NotificationDto(id, r.type(), r.message(), r.link(), false,
+                    r.createdAt(), r.actorCount(), NotificationDto.parseIds(r.actorIds()));
+            deliveries.add(new Delivery(r.sourceId(), r.receiverId(), dto, true));
+        }
+        return deliveries;
+    }
+
+    // 커밋 이후 outbox id 순서대로 푸시 (실패해도 알림 자체는 저장됨 → 목록 조회로 확인 가능)
+    private void push(List<Delivery> deliveries) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Delivery d : deliveries) {
+            try {
+                messagingTemplate.convertAndSend("/sub/notifications/" + d.receiverId(), d.dto());
+                sentCounter.increment();
+            } catch (RuntimeException e) {
+                pushFailureCounter.increment();
+                log.warn("[Notification] 웹소켓 푸시 실패 - receiverId: {}, {}", d.receiverId(), e.getMessage());
+            }
+            Duration latency = Duration.between(d.dto().getCreatedAt(), now);
+            if (!latency.isNegative()) dispatchLatency.record(latency);
+        }
+
+        // 수신자별 안 읽은 알림 수 반영 (+ 배지 푸시)
+        Map<Long, Integer> perReceiver = new LinkedHashMap<>();
+        deliveries.stream()
+                .filter(Delivery::created)
+                .forEach(d -> perReceiver.merge(d.receiverId(), 1, Integer::sum));
+        perReceiver.forEach(unreadCounterService::notificationsAdded);
+    }
+
+    // sourceId: 순서 기준이 되는 outbox id, created: 새 알림인지 (합쳐진 알림이면 false)
+    private record Delivery(Long sourceId, Long receiverId, NotificationDto dto, boolean created) {}
+
+    private record CoalesceKey(Long receiverId, NotificationType type, String link) {
+        static CoalesceKey of(NotificationOutbox r) {
+            return new CoalesceKey(r.getReceiverId(), r.getNotificationType(), r.getLink());
+        }
+    }
+
+    private record PendingRow(Long sourceId, Long receiverId, NotificationType type, String message, String link,
+                              LocalDateTime createdAt, int actorCount, String actorIds) {}
+
+    private record Merged(int count, String actorIds, String message) {}
+}
@@ -1,18 +1,25 @@
 package com.stackflov.service;
 
 import com.stackflov.domain.Notification;
+import com.stackflov.domain.NotificationOutbox;
 import com.stackflov.domain.NotificationType;
 import com.stackflov.domain.User;
+import com.stackflov.dto.Cursor;
+import com.stackflov.dto.CursorPageResponseDto;
 import com.stackflov.dto.NotificationDto;
+import com.stackflov.repository.NotificationOutboxRepository;
 import com.stackflov.repository.NotificationRepository;
 import com.stackflov.repository.UserRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.messaging.simp.SimpMessageSendingOperations;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Service
@@ -21,20 +28,59 @@ public class NotificationService {
 
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
-    private final SimpMessageSendingOperations messagingTemplate;
-
+    private final NotificationOutboxRepository notificationOutboxRepository;
+    private final EntityManager em;
+    private final UnreadCounterService unreadCounterService;
+
+    /**
+     * 알림은 outbox에 한 줄만 기록하고, 실제 저장/웹소켓 푸시는 NotificationDispatcher가 커밋 이후 비동기로 처리합니다.
+     * (호출 측 트랜잭션이 롤백되면 알림도 함께 사라짐)
+     */
     @Transactional
     public void notify(User receiver, NotificationType type, String message, String link) {
-        Notification n = Notification.builder()
-                .receiver(receiver)
+        LocalDateTime now = LocalDateTime.now();
+        notificationOutboxRepository.save(NotificationOutbox.builder()
+                .receiverId(receiver.getId())
                 .notificationType(type)
                 .message(message)
                 .link(link)
-                .build();
-        Notification saved = notificationRepository.save(n);
+                .createdAt(now)
+                .nextAttemptAt(now)
+                .build());
+    }
+
+    /**
+     * 묶을 수 있는 알림 (좋아요/댓글). predicate는 "님이 " 뒤에 올 문구.
+     * 같은 (수신자, 타입, 링크)의 안 읽은 알림이 창 안에 있으면 NotificationDispatcher가 그 알림에 합칩니다.
+     */
+    @Transactional
+    public void notifyCoalesced(User receiver, User actor, NotificationType type, String predicate, String link) {
+        LocalDateTime now = LocalDateTime.now();
+        notificationOutboxRepository.save(NotificationOutbox.builder()
+                .receiverId(receiver.getId())
+                .notificationType(type)
+                .message(predicate)
+                .link(link)
+                .actorId(actor.getId())
+                .actorName(actor.getNickname())
+                .createdAt(now)
+                .nextAttemptAt(now)
+                .build());
+    }
 
-        // 웹소켓 푸시: /sub/notifications/{userId}
-        messagingTemplate.convertAndSend("/sub/notifications/" + receiver.getId(), new NotificationDto(saved));
+    /** 같은 알림을 여러 명에게 (멘션 등). outbox INSERT 1회 */
+    @Transactional
+    public void notifyAll(Collection<User> receivers, NotificationType type, String message, String link) {
+        if (receivers == null || receivers.isEmpty()) return;
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = receivers.stream()
+                .map(User::getId)
+                .distinct()
+                .map(id -> new Object[]{id, type.name(), message, link, now, "PENDING", 0, now})
+                .toList();
+        NativeBulkInsert.execute(em, "INSERT INTO notification_outbox " +
+                "(receiver_id, `type`, message, link, created_at, status, attempts, next_attempt_at)", rows);
     }
 
     @Transactional(readOnly = true)
@@ -45,6 +91,19 @@ public class NotificationService {
                 .map(NotificationDto::new);
     }
 
+    // 커서 기반 알림 목록 (무한 스크롤, 전체 개수 없음)
+    @Transactional(readOnly = true)
+    public CursorPageResponseDto<NotificationDto> getMyNotificationsByCursor(String email, String cursor, int size) {
+        User me = userRepository.findByEmailAndActiveTrue(email)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않거나 비활성화된 사용자입니다."));
+        Cursor from = Cursor.decode(cursor);
+        int limit = Cursor.clampSize(size);
+        List<Notification> rows = notificationRepository.findByReceiverBefore(
+                me, from.createdAt(), from.id(), Limit.of(limit + 1));
+        return CursorPageResponseDto.of(rows, limit, Notification::getCreatedAt, Notification::getId)
+                .map(NotificationDto::new);
+    }
+
     @Transactional
     public void markRead(String email, Long notificationId) {
         User me = userRepository.findByEmailAndActiveTrue(email)
@@ -55,16 +114,19 @@ public class NotificationService {
         if (!n.getReceiver().getId().equals(me.getId())) {
             throw new IllegalArgumentException("본인 알림만 읽음 처리할 수 있습니다.");
         }
-        n.markRead();
+        if (!n.isRead()) {
+            n.markRead();
+            unreadCounterService.notificationRead(me.getId());
+        }
     }
 
     @Transactional
     public void markAllRead(String email) {
-        // 간단 구현: 페이지 없이 전부 불러와서 처리 (규모 커지면 벌크 업데이트로 개선)
         User me = userRepository.findByEmailAndActiveTrue(email)
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않거나 비활성화된 사용자입니다."));
-        notificationRepository.findByReceiverOrderByCreatedAtDesc(me, Pageable.unpaged())
-                .forEach(n -> { if (!n.isRead()) n.markRead(); });
+        // 벌크 UPDATE 1회 + 카운터 초기화
+        notificationRepository.markAllRead(me);
+        unreadCounterService.notificationsCleared(me.getId());
     }
 
     @Transactional
@@ -73,6 +135,7 @@ public class NotificationService {
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않거나 비활성화된 사용자입니다."));
 
         notificationRepository.deleteAllByReceiver(me);
+        unreadCounterService.notificationsCleared(me.getId());
     }
 
     @Transactional
@@ -88,6 +151,7 @@ public class NotificationService {
         }
 
         notificationRepository.delete(n);
+        if (!n.isRead()) unreadCounterService.notificationRead(me.getId());
     }
 
     @Transactional
@@ -101,5 +165,6 @@ public class NotificationService {
 
         // 내가 주인인 알림들만 골라서 삭제 (Repository 쿼리 호출)
         notificationRepository.deleteAllByIdInAndReceiver(notificationIds, me);
+        unreadCounterService.invalidate(me.getId());
     }
 }
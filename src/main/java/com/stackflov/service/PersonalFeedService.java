@@ -0,0 +1,69 @@
+package com.stackflov.service;
+
+import com.stackflov.domain.User;
+import com.stackflov.domain.UserReco;
+import com.stackflov.dto.BoardListResponseDto;
+import com.stackflov.dto.Cursor;
+import com.stackflov.dto.CursorPageResponseDto;
+import com.stackflov.dto.RecoCursor;
+import com.stackflov.repository.UserRecoRepository;
+import com.stackflov.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 개인화 추천 피드: 미리 계산된 user_reco 순위를 커서로 넘기면서 목록 DTO로 채워서 반환.
+ * 추천 이후 비활성화/삭제된 글은 건너뛰고, 그만큼 다음 순위에서 더 가져옵니다. (조회수는 올리지 않음)
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class PersonalFeedService {
+
+    // 걸러진 글이 많아도 한 요청에서 순위를 읽는 횟수 상한
+    private static final int MAX_ROUNDS = 3;
+
+    private final UserRecoRepository userRecoRepository;
+    private final UserRepository userRepository;
+    private final BoardListAssembler boardListAssembler;
+
+    public CursorPageResponseDto<BoardListResponseDto> getPersonalFeed(Long userId, String cursor, int size) {
+        User viewer = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
+        RecoCursor position = RecoCursor.decode(cursor);
+        int limit = Cursor.clampSize(size);
+
+        List<BoardListResponseDto> picked = new ArrayList<>(limit);
+        boolean hasMore = true;
+        for (int round = 0; round < MAX_ROUNDS && hasMore && picked.size() < limit; round++) {
+            List<UserReco> recos = userRecoRepository.findByUserIdBefore(
+                    userId, position.score(), position.boardId(), Limit.of(limit + 1));
+            hasMore = recos.size() > limit;
+
+            Map<Long, BoardListResponseDto> loaded = boardListAssembler
+                    .load(recos.stream().map(r -> r.getId().getBoardId()).toList()).stream()
+                    .collect(Collectors.toMap(BoardListResponseDto::getId, Function.identity()));
+            for (int i = 0; i < recos.size(); i++) {
+                UserReco reco = recos.get(i);
+                position = new RecoCursor(reco.getScore(), reco.getId().getBoardId());
+                BoardListResponseDto item = loaded.get(reco.getId().getBoardId());
+                if (item != null) picked.add(item);
+                if (picked.size() == limit) {
+                    hasMore = hasMore || i < recos.size() - 1;
+                    break;
+                }
+            }
+        }
+
+        List<BoardListResponseDto> items = boardListAssembler.withViewerState(picked, viewer);
+        return CursorPageResponseDto.of(items, hasMore ? position.encode() : null);
+    }
+}
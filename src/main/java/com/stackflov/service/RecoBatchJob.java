@@ -1,45 +1,171 @@
 package com.stackflov.service;
 
-import com.stackflov.repository.UserEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * 추천 배치 (item_sim → 프로필 → 추천 캐시).
+ * 원래는 스케줄링이 꺼져 있어 돌지 않던 작업이라, app.reco.batch.enabled=true인 노드에서만 등록됩니다.
+ */
+@Slf4j
 @Component
+@ConditionalOnProperty(name = "app.reco.batch.enabled", havingValue = "true")
 public class RecoBatchJob {
 
-    private final UserEventRepository userEventRepository;
+    // 활성 유저 기준 / 스캔 범위 (프로필·item_sim·seed 모두 최근 30일)
+    private static final int ACTIVE_DAYS = 7;
+    private static final int SCAN_DAYS = 30;
+
+    // 증분 실행과 전체 재생성이 (여러 노드에서) 겹치지 않도록
+    private static final String LOCK_KEY = "reco:batch:lock";
+    private static final long LOCK_TTL_MS = 2 * 60 * 60 * 1000L;
+
+    private final UserEventScanner userEventScanner;
     private final UserProfileService userProfileService;         // Step 5
     private final ItemSimilarityService itemSimilarityService;   // Step 6
     private final RecommendationService recommendationService;   // Step 7
+    // 사용자 청크를 가상 스레드 + 청크별 트랜잭션으로 (스캔 커넥션과 다른 커넥션에서)
+    private final RecoBatchRunner batchRunner;
+    // 바뀐 item_sim을 노드별 메모리 매핑 스냅샷으로 (추천 단계도 이걸로 조회)
+    private final ItemSimIndex itemSimIndex;
+    private final StringRedisTemplate redisTemplate;
 
     public RecoBatchJob(
-            UserEventRepository userEventRepository,
+            UserEventScanner userEventScanner,
             UserProfileService userProfileService,
             ItemSimilarityService itemSimilarityService,
-            RecommendationService recommendationService
+            RecommendationService recommendationService,
+            RecoBatchRunner batchRunner,
+            ItemSimIndex itemSimIndex,
+            StringRedisTemplate redisTemplate
     ) {
-        this.userEventRepository = userEventRepository;
+        this.userEventScanner = userEventScanner;
         this.userProfileService = userProfileService;
         this.itemSimilarityService = itemSimilarityService;
         this.recommendationService = recommendationService;
+        this.batchRunner = batchRunner;
+        this.itemSimIndex = itemSimIndex;
+        this.redisTemplate = redisTemplate;
     }
 
-    // 30분마다(원하는 주기로 변경)
+    // 30분마다(원하는 주기로 변경): item_sim은 증분 갱신
     @Scheduled(cron = "0 */30 * * * *")
-    @Transactional
     public void run() {
-        // 1) item_sim 갱신
-        itemSimilarityService.rebuildItemSimForActiveUsers();
-
-        // 2) 활성 유저에 대해 프로필 + 추천 캐시 갱신
-        List<Long> activeUsers = userEventRepository.findActiveUserIds(LocalDateTime.now().minusDays(7));
-        for (Long userId : activeUsers) {
-            userProfileService.rebuildUserProfile(userId);
-            recommendationService.rebuildUserReco(userId);
+        runLocked(false);
+    }
+
+    // 증분에서 생기는 오차(기간 밖 이벤트, 비활성 유저, 이웃 점수 변화) 정리용 전체 재생성
+    @Scheduled(cron = "${app.reco.compaction-cron:0 15 4 * * *}")
+    public void compact() {
+        runLocked(true);
+    }
+
+    private void runLocked(boolean fullRebuild) {
+        String owner = UUID.randomUUID().toString();
+        Boolean locked = redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, owner, LOCK_TTL_MS, TimeUnit.MILLISECONDS);
+        if (!Boolean.TRUE.equals(locked)) {
+            log.info("[RecoBatch] 다른 실행이 진행 중 - 건너뜁니다.");
+            return;
+        }
+        try {
+            // 실행 도중 예외/종료면 실행 키가 남아 다음 실행이 체크포인트부터 이어받음
+            String mode = fullRebuild ? "compaction" : "incremental";
+            String runId = batchRunner.openRun(mode);
+            execute(fullRebuild, runId);
+            batchRunner.closeRun(mode, runId);
+        } finally {
+            if (owner.equals(redisTemplate.opsForValue().get(LOCK_KEY))) {
+                redisTemplate.delete(LOCK_KEY);
+            }
         }
     }
-}
\ No newline at end of file
+
+    private void execute(boolean fullRebuild, String runId) {
+        long start = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime activeSince = now.minusDays(ACTIVE_DAYS);
+        LocalDateTime since = now.minusDays(SCAN_DAYS);
+
+        // 1) item_sim 증분 갱신 (델타 저장소가 아직 없으면 전체 재생성으로)
+        ItemSimilarityService.Compaction compaction =
+                fullRebuild || !itemSimilarityService.updateIncrementally()
+                        ? itemSimilarityService.startCompaction()
+                        : null;
+
+        // user_event 한 번 스캔: 활성 유저마다 (전체 재생성이면 바구니 수집) + seed 보관, 프로필은 청크로 병렬 재생성
+        int chunkSize = batchRunner.chunkSize();
+        Map<Long, List<Long>> seeds = new LinkedHashMap<>();
+        RecoBatchRunner.Phase profiles = batchRunner.begin(runId, "profile");
+        List<UserEventScanner.Group> pending = new ArrayList<>(chunkSize);
+        UserEventScanner.ScanResult scanned = userEventScanner.scan(since,
+                group -> {
+                    if (!group.isActiveSince(activeSince)) return;
+                    if (compaction != null) itemSimilarityService.collect(compaction, group);
+                    seeds.put(group.userId(), group.recentPositiveBoardIds(since, RecommendationService.MAX_SEEDS));
+                },
+                group -> {
+                    if (!group.isActiveSince(activeSince) || profiles.isDone(group.userId())) return;
+                    pending.add(group);
+                    if (pending.size() == chunkSize) {
+                        submitProfiles(profiles, pending);
+                        pending.clear();
+                    }
+                });
+        submitProfiles(profiles, pending);
+        if (compaction != null) itemSimilarityService.finishCompaction(compaction);
+        profiles.await();
+        try {
+            itemSimIndex.publish();
+        } catch (RuntimeException e) {
+            // 추천은 이전 스냅샷(또는 DB 조회)으로 계속, 다른 노드는 올라간 세대를 보고 각자 다시 만듦
+            log.error("[RecoBatch] item_sim 스냅샷 갱신 실패", e);
+        }
+
+        // 2) 활성 유저 추천 캐시 갱신 (새 item_sim / 프로필 기준)
+        RecoBatchRunner.Phase recos = batchRunner.begin(runId, "reco");
+        List<Map.Entry<Long, List<Long>>> chunk = new ArrayList<>(chunkSize);
+        for (Map.Entry<Long, List<Long>> entry : seeds.entrySet()) {
+            if (recos.isDone(entry.getKey())) continue;
+            chunk.add(entry);
+            if (chunk.size() == chunkSize) {
+                submitRecos(recos, chunk);
+                chunk.clear();
+            }
+        }
+        submitRecos(recos, chunk);
+        recos.await();
+
+        log.info("[RecoBatch] 완료 - {}, 스캔 사용자 {}명/이벤트 {}건, 활성 {}명, {}ms",
+                compaction != null ? "전체 재생성" : "증분", scanned.users(), scanned.events(), seeds.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    private void submitProfiles(RecoBatchRunner.Phase phase, List<UserEventScanner.Group> groups) {
+        if (groups.isEmpty()) return;
+        phase.submit(groups, groups.get(groups.size() - 1).userId(), chunk -> {
+            for (UserEventScanner.Group group : chunk) {
+                userProfileService.rebuildUserProfile(group.userId(), group.events());
+            }
+        });
+    }
+
+    private void submitRecos(RecoBatchRunner.Phase phase, List<Map.Entry<Long, List<Long>>> entries) {
+        if (entries.isEmpty()) return;
+        phase.submit(entries, entries.get(entries.size() - 1).getKey(), chunk -> {
+            for (Map.Entry<Long, List<Long>> entry : chunk) {
+                recommendationService.rebuildUserReco(entry.getKey(), entry.getValue());
+            }
+        });
+    }
+}
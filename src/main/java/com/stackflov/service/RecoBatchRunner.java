@@ -0,0 +1,237 @@
+package com.stackflov.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 추천 배치의 사용자 청크 실행기.
+ * - 청크마다 짧은 트랜잭션 하나 (실패해도 그 청크만 롤백, 영속성 컨텍스트는 청크 크기로 제한)
+ * - 청크는 가상 스레드에서 돌고, DB 동시 실행 수는 세마포어로 제한 (커넥션 풀 고갈 방지)
+ * - 제출 쪽은 진행 중 청크 수 상한에서 대기 (스캔 중 메모리가 쌓이지 않도록)
+ * - 실패한 청크는 backoff 후 재시도, 끝까지 실패하면 건너뛰고 집계에만 남김
+ * - user_id 순으로 제출하고, 앞에서부터 연속으로 끝난 청크의 마지막 id를 Redis 체크포인트로 기록
+ *   → 실행이 중간에 죽으면 다음 실행은 (체크포인트 TTL 안이면) 그 실행 id를 이어받아 그 다음 사용자부터 처리
+ * - 체크포인트 키는 실행 id별이고 단계가 끝나면 지우므로, 끝난 실행의 체크포인트를 다음 정기 실행이 이어받지 않음
+ */
+@Slf4j
+@Component
+public class RecoBatchRunner {
+
+    private static final String CHECKPOINT_KEY = "reco:batch:checkpoint:";
+    private static final String RUN_KEY = "reco:batch:run:";
+
+    private final TransactionTemplate transactionTemplate;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry registry;
+    private final Semaphore dbPermits;
+
+    @Value("${app.reco.batch.chunk-size:100}")
+    private int chunkSize;
+
+    @Value("${app.reco.batch.max-in-flight:8}")
+    private int maxInFlight;
+
+    @Value("${app.reco.batch.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${app.reco.batch.retry-backoff-ms:500}")
+    private long retryBackoffMillis;
+
+    @Value("${app.reco.batch.checkpoint-ttl-minutes:180}")
+    private long checkpointTtlMinutes;
+
+    public RecoBatchRunner(PlatformTransactionManager transactionManager,
+                           StringRedisTemplate redisTemplate,
+                           MeterRegistry registry,
+                           @Value("${app.reco.batch.db-concurrency:4}") int dbConcurrency) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.redisTemplate = redisTemplate;
+        this.registry = registry;
+        this.dbPermits = new Semaphore(Math.max(1, dbConcurrency));
+    }
+
+    public record Report(String phase, long users, int chunks, int failedChunks, long elapsedMs) {
+
+        public double usersPerSecond() {
+            return elapsedMs == 0 ? users : users * 1000.0 / elapsedMs;
+        }
+    }
+
+    public int chunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * 실행 id. 같은 종류(mode)의 이전 실행이 끝나지 못했으면(실행 키가 남아 있으면) 그 id를 이어받고, 아니면 새로 만듭니다.
+     * 정상적으로 끝나면 closeRun으로 지웁니다.
+     */
+    public String openRun(String mode) {
+        String runId = UUID.randomUUID().toString();
+        Boolean created = redisTemplate.opsForValue().setIfAbsent(RUN_KEY + mode, runId, Duration.ofMinutes(checkpointTtlMinutes));
+        if (Boolean.TRUE.equals(created)) return runId;
+        String previous = redisTemplate.opsForValue().get(RUN_KEY + mode);
+        if (previous == null) {
+            // 그 사이 만료됨
+            redisTemplate.opsForValue().set(RUN_KEY + mode, runId, Duration.ofMinutes(checkpointTtlMinutes));
+            return runId;
+        }
+        log.info("[RecoBatch] {} - 끝나지 않은 실행 {}을(를) 이어서 처리", mode, previous);
+        return previous;
+    }
+
+    public void closeRun(String mode, String runId) {
+        if (runId.equals(redisTemplate.opsForValue().get(RUN_KEY + mode))) {
+            redisTemplate.delete(RUN_KEY + mode);
+        }
+    }
+
+    public Phase begin(String runId, String name) {
+        String key = CHECKPOINT_KEY + runId + ":" + name;
+        String saved = redisTemplate.opsForValue().get(key);
+        long resumeAfter = saved == null ? Long.MIN_VALUE : Long.parseLong(saved);
+        if (saved != null) log.info("[RecoBatch] {} - 체크포인트 이후부터 이어서 처리 (userId > {})", name, resumeAfter);
+        return new Phase(name, key, resumeAfter);
+    }
+
+    /**
+     * 한 단계(프로필, 추천 등)의 청크 묶음. submit은 한 스레드에서 userId 오름차순으로 호출합니다.
+     */
+    public final class Phase {
+
+        private final String name;
+        private final String checkpointKey;
+        private final long resumeAfter;
+        private final long startedAt = System.currentTimeMillis();
+        private final Semaphore inFlight = new Semaphore(maxInFlight);
+        private final List<Thread> workers = new ArrayList<>();
+        private final AtomicLong users = new AtomicLong();
+        private final AtomicInteger failedChunks = new AtomicInteger();
+
+        // 체크포인트: 제출 순서(seq)대로 끝난 청크가 연속일 때만 앞으로 이동
+        private final TreeMap<Integer, Long> finished = new TreeMap<>();
+        private final Map<Integer, Long> lastKeys = new HashMap<>();
+        private int nextSeq;
+        private int contiguous;
+        private int firstFailedSeq = Integer.MAX_VALUE;
+
+        private Phase(String name, String checkpointKey, long resumeAfter) {
+            this.name = name;
+            this.checkpointKey = checkpointKey;
+            this.resumeAfter = resumeAfter;
+        }
+
+        /** 이전 실행에서 이미 처리한 사용자면 true */
+        public boolean isDone(long userId) {
+            return userId <= resumeAfter;
+        }
+
+        /**
+         * 청크를 워커에 넘깁니다. 진행 중 청크가 상한이면 빈자리가 날 때까지 대기.
+         * @param lastUserId 청크의 마지막(가장 큰) userId (체크포인트용)
+         */
+        public <T> void submit(List<T> items, long lastUserId, Consumer<List<T>> work) {
+            if (items.isEmpty()) return;
+            inFlight.acquireUninterruptibly();
+            int seq;
+            synchronized (this) {
+                seq = nextSeq++;
+                lastKeys.put(seq, lastUserId);
+            }
+            List<T> chunk = List.copyOf(items);
+            workers.add(Thread.ofVirtual().name("reco-" + name + "-" + seq).start(() -> {
+                try {
+                    boolean ok = runChunk(chunk, work);
+                    if (ok) users.addAndGet(chunk.size());
+                    else failedChunks.incrementAndGet();
+                    complete(seq, ok);
+                } finally {
+                    inFlight.release();
+                }
+            }));
+        }
+
+        /** 제출한 청크가 모두 끝날 때까지 기다리고 결과를 집계합니다. */
+        public Report await() {
+            for (Thread worker : workers) {
+                try {
+                    worker.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("추천 배치 대기 중 인터럽트되었습니다.", e);
+                }
+            }
+            // 단계가 끝났으면 실패 청크가 있어도 지움 (건너뛴 사용자는 다음 정기 실행에서 다시 처리)
+            redisTemplate.delete(checkpointKey);
+            Report report = new Report(name, users.get(), workers.size(), failedChunks.get(),
+                    System.currentTimeMillis() - startedAt);
+            log.info("[RecoBatch] {} 완료 - 사용자 {}명, 청크 {}개(실패 {}), {}ms, {}명/s",
+                    name, report.users(), report.chunks(), report.failedChunks(), report.elapsedMs(),
+                    String.format("%.1f", report.usersPerSecond()));
+            return report;
+        }
+
+        private <T> boolean runChunk(List<T> chunk, Consumer<List<T>> work) {
+            for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+                long start = System.nanoTime();
+                dbPermits.acquireUninterruptibly();
+                try {
+                    transactionTemplate.executeWithoutResult(status -> work.accept(chunk));
+                    record("success", start, chunk.size());
+                    return true;
+                } catch (RuntimeException e) {
+                    record("failure", start, 0);
+                    log.warn("[RecoBatch] {} 청크 실패 ({}/{}): {}", name, attempt, maxAttempts, e.toString());
+                } finally {
+                    dbPermits.release();
+                }
+                if (attempt < maxAttempts) pause(retryBackoffMillis * attempt);
+            }
+            log.error("[RecoBatch] {} 청크 {}명 처리 실패 - 건너뜁니다.", name, chunk.size());
+            return false;
+        }
+
+        private void record(String outcome, long startNanos, int processed) {
+            registry.timer("reco.batch.chunk", "phase", name, "outcome", outcome)
+                    .record(Duration.ofNanos(System.nanoTime() - startNanos));
+            if (processed > 0) registry.counter("reco.batch.users", "phase", name).increment(processed);
+        }
+
+        // 실패한 청크 뒤로는 체크포인트를 옮기지 않음 (다음 실행에서 그 청크부터 다시)
+        private synchronized void complete(int seq, boolean ok) {
+            Long lastUserId = lastKeys.remove(seq);
+            if (!ok) {
+                firstFailedSeq = Math.min(firstFailedSeq, seq);
+                return;
+            }
+            finished.put(seq, lastUserId);
+            Long advancedTo = null;
+            while (contiguous < firstFailedSeq && finished.containsKey(contiguous)) {
+                advancedTo = finished.remove(contiguous++);
+            }
+            if (advancedTo != null) {
+                redisTemplate.opsForValue().set(checkpointKey, String.valueOf(advancedTo),
+                        Duration.ofMinutes(checkpointTtlMinutes));
+            }
+        }
+    }
+
+    private static void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
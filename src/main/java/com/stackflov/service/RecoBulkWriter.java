@@ -0,0 +1,165 @@
+package com.stackflov.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * 추천 테이블(user_reco, item_sim, user_feature_score, item_feature, item_sim 델타 저장소) 대량 쓰기.
+ * - replace: 키(user_id / board_a / board_id)의 기존 행을 지우고 INSERT ... ON DUPLICATE KEY UPDATE를 JDBC 배치로
+ *   (rewriteBatchedStatements=true면 드라이버가 배치를 다중 행 INSERT 한 문장으로 합침)
+ * - swapLoad: 전체 재생성용. 빈 복제 테이블에 채운 뒤 RENAME TABLE로 한 번에 교체 (읽는 쪽은 항상 완성된 테이블만 봄)
+ *   행을 여러 번에 나눠 채워야 하면 beginStaging → insertStaged → promoteStaging을 직접 호출
+ * flush마다 행 수/소요 시간을 reco.bulk.flush 타이머와 reco.bulk.rows 카운터(table 태그)로 남깁니다.
+ */
+@Slf4j
+@Component
+public class RecoBulkWriter {
+
+    public enum Table {
+        USER_RECO("user_reco", "user_id",
+                List.of("user_id", "board_id", "score", "reason", "generated_at"),
+                List.of("score", "reason", "generated_at")),
+        ITEM_SIM("item_sim", "board_a",
+                List.of("board_a", "board_b", "sim", "updated_at"),
+                List.of("sim", "updated_at")),
+        USER_FEATURE_SCORE("user_feature_score", "user_id",
+                List.of("user_id", "feature_type", "feature_value", "score", "updated_at"),
+                List.of("score", "updated_at")),
+        ITEM_FEATURE("item_feature", "board_id",
+                List.of("board_id", "feature_type", "feature_value", "weight"),
+                List.of("weight")),
+        // item_sim 증분 갱신용 델타 저장소 (ItemSimDeltaStore, 전체 재생성 때 교체)
+        ITEM_USER_BOARD("item_user_board", "user_id",
+                List.of("user_id", "board_id", "last_at"),
+                List.of("last_at")),
+        ITEM_USER_COUNT("item_user_count", "board_id",
+                List.of("board_id", "user_count", "dirty"),
+                List.of("user_count", "dirty")),
+        ITEM_COOC("item_cooc", "board_a",
+                List.of("board_a", "board_b", "cnt"),
+                List.of("cnt"));
+
+        private final String name;
+        private final String keyColumn;
+        private final List<String> columns;
+        private final List<String> updateColumns;
+
+        Table(String name, String keyColumn, List<String> columns, List<String> updateColumns) {
+            this.name = name;
+            this.keyColumn = keyColumn;
+            this.columns = columns;
+            this.updateColumns = updateColumns;
+        }
+
+        private String insertSql(String target) {
+            String placeholders = columns.stream().map(c -> "?").collect(Collectors.joining(", "));
+            String updates = updateColumns.stream().map(c -> c + " = VALUES(" + c + ")").collect(Collectors.joining(", "));
+            return "INSERT INTO " + target + " (" + String.join(", ", columns) + ") VALUES (" + placeholders + ")"
+                    + " ON DUPLICATE KEY UPDATE " + updates;
+        }
+    }
+
+    /** swapLoad에서 행을 넘기는 쪽 (batchSize마다 자동 flush) */
+    public interface Sink {
+        void add(Object... row);
+    }
+
+    // DELETE ... IN (...) 한 번에 넣는 키 수
+    private static final int DELETE_KEYS_PER_STATEMENT = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry registry;
+
+    @Value("${app.reco.bulk.batch-size:1000}")
+    private int batchSize;
+
+    public RecoBulkWriter(JdbcTemplate jdbcTemplate, MeterRegistry registry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.registry = registry;
+    }
+
+    /**
+     * keys에 해당하는 기존 행을 지우고 rows로 다시 채웁니다. 호출자 트랜잭션 안에서 실행됩니다.
+     * @param rows Table.columns 순서의 값 배열
+     */
+    public void replace(Table table, Collection<Long> keys, List<Object[]> rows) {
+        List<Long> keyList = new ArrayList<>(new LinkedHashSet<>(keys));
+        for (int from = 0; from < keyList.size(); from += DELETE_KEYS_PER_STATEMENT) {
+            List<Long> part = keyList.subList(from, Math.min(keyList.size(), from + DELETE_KEYS_PER_STATEMENT));
+            String in = part.stream().map(k -> "?").collect(Collectors.joining(", "));
+            jdbcTemplate.update("DELETE FROM " + table.name + " WHERE " + table.keyColumn + " IN (" + in + ")",
+                    part.toArray());
+        }
+        insert(table, table.name, rows);
+    }
+
+    public void replace(Table table, Long key, List<Object[]> rows) {
+        replace(table, List.of(key), rows);
+    }
+
+    /**
+     * 전체 재생성: {table}_new에 loader가 넘긴 행을 채운 뒤 원래 테이블과 원자적으로 교체합니다.
+     * DDL이 들어가므로 트랜잭션 밖에서 호출해야 합니다.
+     */
+    public long swapLoad(Table table, Consumer<Sink> loader) {
+        beginStaging(table);
+        List<Object[]> buffer = new ArrayList<>(batchSize);
+        long[] total = {0};
+        loader.accept(row -> {
+            buffer.add(row);
+            if (buffer.size() >= batchSize) {
+                total[0] += insertStaged(table, buffer);
+                buffer.clear();
+            }
+        });
+        total[0] += insertStaged(table, buffer);
+        promoteStaging(table);
+        log.info("[RecoBulk] {} 교체 완료 - {}행", table.name, total[0]);
+        return total[0];
+    }
+
+    /** 빈 {table}_new 준비 (이전 실행이 남긴 것은 버림) */
+    public void beginStaging(Table table) {
+        String staging = table.name + "_new";
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + staging);
+        jdbcTemplate.execute("CREATE TABLE " + staging + " LIKE " + table.name);
+    }
+
+    public int insertStaged(Table table, List<Object[]> rows) {
+        return insert(table, table.name + "_new", rows);
+    }
+
+    /** {table}_new를 원래 테이블과 원자적으로 교체 */
+    public void promoteStaging(Table table) {
+        String staging = table.name + "_new";
+        String retired = table.name + "_old";
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + retired);
+        jdbcTemplate.execute("RENAME TABLE " + table.name + " TO " + retired + ", " + staging + " TO " + table.name);
+        jdbcTemplate.execute("DROP TABLE " + retired);
+    }
+
+    private int insert(Table table, String target, List<Object[]> rows) {
+        if (rows.isEmpty()) return 0;
+        String sql = table.insertSql(target);
+        int written = 0;
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            List<Object[]> part = rows.subList(from, Math.min(rows.size(), from + batchSize));
+            long start = System.nanoTime();
+            jdbcTemplate.batchUpdate(sql, part);
+            long elapsed = System.nanoTime() - start;
+            registry.timer("reco.bulk.flush", "table", table.name).record(Duration.ofNanos(elapsed));
+            registry.counter("reco.bulk.rows", "table", table.name).increment(part.size());
+            log.debug("[RecoBulk] {} flush - {}행, {}ms", target, part.size(), elapsed / 1_000_000);
+            written += part.size();
+        }
+        return written;
+    }
+}
@@ -2,18 +2,22 @@ package com.stackflov.service;
 
 import com.stackflov.domain.EventType;
 import com.stackflov.domain.ItemSim;
-import com.stackflov.domain.UserReco;
+import com.stackflov.reco.ItemSimSnapshot;
 import com.stackflov.repository.ItemSimRepository;
-import com.stackflov.repository.UserRecoRepository;
 import com.stackflov.repository.UserEventRepository;
+import com.stackflov.repository.UserRecoRepository;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.Query;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class RecommendationService {
@@ -22,6 +26,17 @@ public class RecommendationService {
     private final UserEventRepository userEventRepository;
     private final ItemSimRepository itemSimRepository;
     private final UserRecoRepository userRecoRepository;
+    private final RecoBulkWriter bulkWriter;
+    // 준비돼 있으면 item_sim 조회를 메모리 매핑 스냅샷으로 (seed마다 DB 조회하지 않음)
+    private final ItemSimIndex itemSimIndex;
+    private final UserProfileService userProfileService;
+    private final StringRedisTemplate redisTemplate;
+
+    // 요청 시점 계산 표시 (이 기간엔 결과가 비어도 다시 계산하지 않음)
+    private static final String ON_DEMAND_KEY_PREFIX = "reco:on-demand:";
+
+    @Value("${app.reco.on-demand-ttl-ms:600000}")
+    private long onDemandTtlMs;
 
     // 튜닝값 (처음엔 하드코딩으로 OK)
     private final int profileDays = 30;
@@ -30,6 +45,9 @@ public class RecommendationService {
     private final int candidateFromCf = 300;
     private final int topSimilarPerSeed = 50;
 
+    // CF 후보에 쓰는 최근 seed 개수
+    public static final int MAX_SEEDS = 20;
+
     private final double wContent = 0.55;
     private final double wCf = 0.45;
 
@@ -40,36 +58,66 @@ public class RecommendationService {
             EntityManager em,
             UserEventRepository userEventRepository,
             ItemSimRepository itemSimRepository,
-            UserRecoRepository userRecoRepository
+            UserRecoRepository userRecoRepository,
+            RecoBulkWriter bulkWriter,
+            ItemSimIndex itemSimIndex,
+            UserProfileService userProfileService,
+            StringRedisTemplate redisTemplate
     ) {
         this.em = em;
         this.userEventRepository = userEventRepository;
         this.itemSimRepository = itemSimRepository;
         this.userRecoRepository = userRecoRepository;
+        this.bulkWriter = bulkWriter;
+        this.itemSimIndex = itemSimIndex;
+        this.userProfileService = userProfileService;
+        this.redisTemplate = redisTemplate;
     }
 
     @Transactional
     public void rebuildUserReco(Long userId) {
         // 유저의 최근 positive seed(협업필터링용)
         LocalDateTime since = LocalDateTime.now().minusDays(profileDays);
-        List<Long> seedBoards = userEventRepository.findRecentPositiveBoardIds(userId, since, POSITIVE);
+        rebuildUserReco(userId, userEventRepository.findRecentPositiveBoardIds(userId, since, POSITIVE));
+    }
 
+    /**
+     * 추천 캐시가 없는 사용자(아직 배치가 돌지 않은 신규/복귀 사용자)면 요청 시점에 프로필부터 다시 만들고 추천을 계산합니다.
+     * 이벤트가 없는 사용자는 계산해도 행이 0개라, Redis 표시(on-demand-ttl-ms)로 기간마다 한 번만 계산합니다. (동시 요청 중복 방지 겸용)
+     * 피드 조회 트랜잭션보다 먼저, 따로 커밋해야 조회 쪽에서 새 행이 보입니다.
+     * @return 새로 계산했으면 true
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean ensureUserReco(Long userId) {
+        if (userRecoRepository.existsByUserId(userId)) return false;
+        Boolean first = redisTemplate.opsForValue()
+                .setIfAbsent(ON_DEMAND_KEY_PREFIX + userId, "1", onDemandTtlMs, TimeUnit.MILLISECONDS);
+        if (!Boolean.TRUE.equals(first)) return false;
+
+        userProfileService.rebuildUserProfile(userId);
+        rebuildUserReco(userId);
+        return true;
+    }
+
+    /**
+     * seed(최근 positive 게시글, 최신순)를 이미 알고 있을 때 (배치 스트리밍 스캔용)
+     */
+    @Transactional
+    public void rebuildUserReco(Long userId, List<Long> seedBoards) {
         Map<Long, Double> scoreB = generateContentCandidates(userId);
         Map<Long, Double> scoreC = generateCfCandidates(seedBoards);
 
         Map<Long, Double> finalScore = hybrid(scoreB, scoreC);
 
-        // 저장(기존 삭제 후 상위 N개 캐시)
-        userRecoRepository.deleteAllByUserId(userId);
-
+        // 저장(기존 삭제 후 상위 N개 캐시, 다중 행 INSERT)
         LocalDateTime now = LocalDateTime.now();
-        List<UserReco> rows = finalScore.entrySet().stream()
+        List<Object[]> rows = finalScore.entrySet().stream()
                 .sorted((a,b) -> Double.compare(b.getValue(), a.getValue()))
                 .limit(300)
-                .map(e -> new UserReco(userId, e.getKey(), e.getValue(), "hybrid", now))
+                .map(e -> new Object[]{userId, e.getKey(), e.getValue(), "hybrid", now})
                 .toList();
 
-        userRecoRepository.saveAll(rows);
+        bulkWriter.replace(RecoBulkWriter.Table.USER_RECO, userId, rows);
     }
 
     /**
@@ -119,11 +167,16 @@ public class RecommendationService {
         Map<Long, Double> out = new HashMap<>();
         if (seedBoards == null || seedBoards.isEmpty()) return out;
 
-        int seedLimit = Math.min(20, seedBoards.size());
+        ItemSimSnapshot index = itemSimIndex.snapshot();
+        int seedLimit = Math.min(MAX_SEEDS, seedBoards.size());
         for (int i = 0; i < seedLimit; i++) {
             Long seed = seedBoards.get(i);
             double seedWeight = 1.0 / (1.0 + i); // 최근일수록 가중
 
+            if (index != null) {
+                index.forEachSimilar(seed, topSimilarPerSeed, (cand, sim) -> out.merge(cand, sim * seedWeight, Double::sum));
+                continue;
+            }
             List<ItemSim> sims = itemSimRepository.findTopSimilar(seed, PageRequest.of(0, topSimilarPerSeed));
             for (ItemSim s : sims) {
                 Long cand = s.getId().getBoardB();
@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.concurrent.TimeUnit;
 
 @Service
@@ -23,4 +24,9 @@ public class RedisService {
     public void delete(String key) {
         redisTemplate.delete(key);
     }
+
+    public void delete(Collection<String> keys) {
+        if (keys.isEmpty()) return;
+        redisTemplate.delete(keys);
+    }
 }
@@ -0,0 +1,236 @@
+package com.stackflov.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 오래된 데이터 정리 배치 (테이블별 보존 정책).
+ * - PK 순서로 조건에 맞는 행을 청크 단위로 잠가서 삭제 (청크마다 짧은 트랜잭션 + 잠깐 쉼)
+ * - 정책별 진행 위치(마지막 PK)를 Redis에 저장 → 실행 시간 상한에 걸려 멈춰도 다음 실행에서 이어서 처리
+ * - 한 바퀴를 다 돌면 진행 위치를 초기화
+ * - 여러 노드 중 한 곳에서만 실행 (Redis 락)
+ * - 비활성 행은 비활성화된 시각(deactivated_at) 기준. 값이 없는 옛 행은 정리 전에 현재 시각으로 채워서 그때부터 보존 기간을 셈
+ * 보존 일수가 0 이하인 정책은 건너뜁니다.
+ */
+@Slf4j
+@Component
+public class RetentionJob {
+
+    private static final String LOCK_KEY = "retention:lock";
+    private static final String CHECKPOINT_KEY = "retention:checkpoint:";
+    private static final Duration CHECKPOINT_TTL = Duration.ofDays(7);
+    // soft delete 테이블: 비활성화된 지 보존 기간이 지난 행
+    private static final String INACTIVE_CONDITION = "active = false AND deactivated_at < :cutoff";
+
+    /**
+     * @param condition   삭제 조건 (:cutoff 사용 가능)
+     * @param deactivated active/deactivated_at 컬럼이 있는 soft delete 테이블인지 (deactivated_at 채우기 대상)
+     * @param dependents  본 행보다 먼저 지울 참조 행 (:ids 사용)
+     */
+    private record Policy(String name, String table, String idColumn, String condition,
+                          int retentionDays, boolean deactivated, List<String> dependents) {}
+
+
+    private record ChunkResult(int deleted, long lastId) {}
+
+    public record PolicyReport(String policy, long deleted, long elapsedMillis, boolean completed) {}
+
+    private final EntityManager em;
+    private final StringRedisTemplate redisTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry registry;
+    private final List<Policy> policies;
+
+    @Value("${app.retention.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.retention.pause-ms:100}")
+    private long pauseMillis;
+
+    @Value("${app.retention.max-run-ms:1800000}")
+    private long maxRunMillis;
+
+    public RetentionJob(EntityManager em,
+                        StringRedisTemplate redisTemplate,
+                        PlatformTransactionManager transactionManager,
+                        MeterRegistry registry,
+                        @Value("${app.retention.read-notification-days:90}") int readNotificationDays,
+                        @Value("${app.retention.dead-outbox-days:30}") int deadOutboxDays,
+                        @Value("${app.retention.user-event-days:180}") int userEventDays,
+                        @Value("${app.retention.inactive-like-days:30}") int inactiveLikeDays,
+                        @Value("${app.retention.inactive-bookmark-days:30}") int inactiveBookmarkDays,
+                        @Value("${app.retention.inactive-comment-days:90}") int inactiveCommentDays,
+                        @Value("${app.retention.inactive-board-days:180}") int inactiveBoardDays) {
+        this.em = em;
+        this.redisTemplate = redisTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.registry = registry;
+
+        // 게시글은 참조하는 행이 많으므로 마지막에 (좋아요/북마크/댓글 정리 후)
+        this.policies = List.of(
+                new Policy("read-notifications", "notifications", "notification_id",
+                        "`read` = true AND created_at < :cutoff", readNotificationDays, false, List.of()),
+                new Policy("dead-outbox", "notification_outbox", "outbox_id",
+                        "status = 'DEAD' AND created_at < :cutoff", deadOutboxDays, false, List.of()),
+                new Policy("user-events", "user_event", "user_event_id",
+                        "created_at < :cutoff", userEventDays, false, List.of()),
+                new Policy("inactive-likes", "likes", "like_id",
+                        INACTIVE_CONDITION, inactiveLikeDays, true, List.of()),
+                new Policy("inactive-bookmarks", "bookmarks", "bookmark_id",
+                        INACTIVE_CONDITION, inactiveBookmarkDays, true, List.of()),
+                new Policy("inactive-comments", "comments", "comment_id",
+                        INACTIVE_CONDITION, inactiveCommentDays, true, List.of(
+                        "DELETE FROM mentions WHERE comment_id IN (:ids)")),
+                new Policy("inactive-boards", "boards", "board_id",
+                        INACTIVE_CONDITION, inactiveBoardDays, true, List.of(
+                        "DELETE FROM mentions WHERE board_id IN (:ids) " +
+                                "OR comment_id IN (SELECT comment_id FROM comments WHERE board_id IN (:ids))",
+                        "DELETE FROM comments WHERE board_id IN (:ids)",
+                        "DELETE FROM likes WHERE board_id IN (:ids)",
+                        "DELETE FROM bookmarks WHERE board_id IN (:ids)",
+                        "DELETE FROM board_hashtags WHERE board_id IN (:ids)",
+                        "DELETE FROM board_images WHERE board_id IN (:ids)"))
+        );
+    }
+
+    // 매일 새벽(트래픽 적은 시간)에 실행
+    @Scheduled(cron = "${app.retention.cron:0 0 3 * * *}")
+    public void purgeAll() {
+        String owner = UUID.randomUUID().toString();
+        Boolean locked = redisTemplate.opsForValue()
+                .setIfAbsent(LOCK_KEY, owner, maxRunMillis + 60_000, TimeUnit.MILLISECONDS);
+        if (!Boolean.TRUE.equals(locked)) {
+            log.info("[Retention] 다른 노드에서 실행 중 - 건너뜁니다.");
+            return;
+        }
+        try {
+            long deadline = System.currentTimeMillis() + maxRunMillis;
+            List<PolicyReport> reports = new ArrayList<>();
+            for (Policy policy : policies) {
+                if (policy.retentionDays() <= 0) continue;
+                PolicyReport report = purge(policy, deadline);
+                reports.add(report);
+                if (!report.completed()) break;
+            }
+            long total = reports.stream().mapToLong(PolicyReport::deleted).sum();
+            log.info("[Retention] 정리 완료 - 총 {}건 삭제 {}", total, reports);
+        } finally {
+            if (owner.equals(redisTemplate.opsForValue().get(LOCK_KEY))) {
+                redisTemplate.delete(LOCK_KEY);
+            }
+        }
+    }
+
+    private PolicyReport purge(Policy policy, long deadline) {
+        long start = System.currentTimeMillis();
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(policy.retentionDays());
+        long afterId = loadCheckpoint(policy);
+        long deleted = 0;
+        boolean completed = false;
+
+        try {
+            if (policy.deactivated()) stampDeactivatedAt(policy, deadline);
+            while (System.currentTimeMillis() < deadline) {
+                final long cursor = afterId;
+                ChunkResult result = transactionTemplate.execute(status -> purgeChunk(policy, cutoff, cursor));
+                if (result == null || result.lastId() == cursor) {
+                    completed = true;
+                    break;
+                }
+                deleted += result.deleted();
+                afterId = result.lastId();
+                saveCheckpoint(policy, afterId);
+                pause();
+            }
+        } catch (RuntimeException e) {
+            // 진행 위치는 저장되어 있으므로 다음 실행에서 이어서 처리
+            log.error("[Retention] {} 정리 중 오류 - 마지막 위치 {}", policy.name(), afterId, e);
+        }
+        if (completed) redisTemplate.delete(CHECKPOINT_KEY + policy.name());
+
+        long elapsed = System.currentTimeMillis() - start;
+        registry.counter("retention.deleted", "policy", policy.name()).increment(deleted);
+        registry.timer("retention.duration", "policy", policy.name()).record(Duration.ofMillis(elapsed));
+        log.info("[Retention] {} - {}건 삭제, {}ms{}", policy.name(), deleted, elapsed,
+                completed ? "" : " (시간 초과, 위치 " + afterId + "부터 이어서)");
+        return new PolicyReport(policy.name(), deleted, elapsed, completed);
+    }
+
+    // deactivated_at이 없는 비활성 행(컬럼 추가 전 데이터, 벌크 UPDATE 누락분)은 지금 비활성화된 것으로 봄
+    private void stampDeactivatedAt(Policy policy, long deadline) {
+        LocalDateTime now = LocalDateTime.now();
+        long stamped = 0;
+        while (System.currentTimeMillis() < deadline) {
+            Integer updated = transactionTemplate.execute(status -> em.createNativeQuery(
+                            "UPDATE " + policy.table() + " SET deactivated_at = :now" +
+                                    " WHERE active = false AND deactivated_at IS NULL LIMIT :limit")
+                    .setParameter("now", now)
+                    .setParameter("limit", chunkSize)
+                    .executeUpdate());
+            if (updated == null || updated == 0) break;
+            stamped += updated;
+            pause();
+        }
+        if (stamped > 0) log.info("[Retention] {} - deactivated_at 없는 비활성 행 {}건에 현재 시각 기록", policy.name(), stamped);
+    }
+
+    private ChunkResult purgeChunk(Policy policy, LocalDateTime cutoff, long afterId) {
+        @SuppressWarnings("unchecked")
+        List<Number> rows = em.createNativeQuery(
+                        "SELECT " + policy.idColumn() + " FROM " + policy.table() +
+                                " WHERE " + policy.idColumn() + " > :afterId AND " + policy.condition() +
+                                " ORDER BY " + policy.idColumn() + " LIMIT :limit FOR UPDATE")
+                .setParameter("afterId", afterId)
+                .setParameter("cutoff", cutoff)
+                .setParameter("limit", chunkSize)
+                .getResultList();
+        if (rows.isEmpty()) return new ChunkResult(0, afterId);
+
+        List<Long> ids = rows.stream().map(Number::longValue).toList();
+        for (String dependent : policy.dependents()) {
+            em.createNativeQuery(dependent).setParameter("ids", ids).executeUpdate();
+        }
+        int deleted = em.createNativeQuery("DELETE FROM " + policy.table() +
+                        " WHERE " + policy.idColumn() + " IN (:ids)")
+                .setParameter("ids", ids)
+                .executeUpdate();
+        return new ChunkResult(deleted, ids.get(ids.size() - 1));
+    }
+
+    private long loadCheckpoint(Policy policy) {
+        String value = redisTemplate.opsForValue().get(CHECKPOINT_KEY + policy.name());
+        if (value == null) return 0L;
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    private void saveCheckpoint(Policy policy, long lastId) {
+        redisTemplate.opsForValue().set(CHECKPOINT_KEY + policy.name(), String.valueOf(lastId), CHECKPOINT_TTL);
+    }
+
+    private void pause() {
+        if (pauseMillis <= 0) return;
+        try {
+            Thread.sleep(pauseMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
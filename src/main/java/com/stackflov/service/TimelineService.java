@@ -0,0 +1,307 @@
+package com.stackflov.service;
+
+import com.stackflov.domain.Board;
+import com.stackflov.repository.BoardRepository;
+import com.stackflov.repository.FollowRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 팔로잉 피드용 홈 타임라인 (Redis ZSET, timeline:{userId}, member/score = 게시글 id).
+ * - 쓰기 시 전파(fan-out on write): 게시글 작성 커밋 이후 팔로워들의 타임라인에 id 추가 (최대 max-size개 유지)
+ * - 팔로워가 많은 작성자(celebrity-threshold 이상)는 전파하지 않고, 읽을 때 DB에서 가져와 합침 (fan-out on read)
+ * - 타임라인은 처음 읽을 때 DB에서 채우고(TTL), 키가 없는 사용자에게는 전파하지 않음
+ * - 팔로우/언팔로우/게시글 삭제/탈퇴 시 해당 id를 채우거나 지움
+ * - 게시글 작성/삭제 전파는 커밋 이후 고정 크기 스레드 풀(fanout-concurrency, DB 커넥션 풀보다 작게)에서 실행하고,
+ *   대기열(fanout-queue-size)이 차면 버림 (삭제된 글은 조회 시 걸러지고, 타임라인은 TTL 후 DB에서 다시 채워짐)
+ * 이미 비활성화된 게시글은 조회 측(hydrate)에서 한 번 더 걸러집니다.
+ */
+@Slf4j
+@Service
+public class TimelineService {
+
+    private static final String KEY_PREFIX = "timeline:";
+    private static final String CELEBRITIES = "timeline:celebrities";
+    // 초기화 표시 (score +inf → id 범위 조회에 걸리지 않고, 길이 제한 시에도 지워지지 않음)
+    private static final String INIT = "init";
+
+    // 타임라인이 있을 때만 추가 후 길이 제한 (init 포함 max-size + 1개 유지)
+    private static final String ADD_IF_PRESENT =
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end " +
+            "redis.call('ZADD', KEYS[1], ARGV[1], ARGV[1]) " +
+            "redis.call('ZREMRANGEBYRANK', KEYS[1], 0, -(tonumber(ARGV[2]) + 2)) " +
+            "return 1";
+
+    private final StringRedisTemplate redisTemplate;
+    private final FollowRepository followRepository;
+    private final BoardRepository boardRepository;
+
+    @Value("${app.timeline.max-size:800}")
+    private int maxSize;
+
+    @Value("${app.timeline.celebrity-threshold:10000}")
+    private long celebrityThreshold;
+
+    @Value("${app.timeline.fanout-chunk-size:1000}")
+    private int fanoutChunkSize;
+
+    @Value("${app.timeline.ttl-days:7}")
+    private long ttlDays;
+
+    private final ThreadPoolExecutor fanoutExecutor;
+
+    public TimelineService(StringRedisTemplate redisTemplate,
+                           FollowRepository followRepository,
+                           BoardRepository boardRepository,
+                           @Value("${app.timeline.fanout-concurrency:2}") int fanoutConcurrency,
+                           @Value("${app.timeline.fanout-queue-size:10000}") int fanoutQueueSize) {
+        this.redisTemplate = redisTemplate;
+        this.followRepository = followRepository;
+        this.boardRepository = boardRepository;
+        int threads = Math.max(1, fanoutConcurrency);
+        this.fanoutExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, fanoutQueueSize)),
+                Thread.ofPlatform().name("timeline-fanout-", 0).daemon(true).factory());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        fanoutExecutor.shutdown();
+    }
+
+    /**
+     * beforeId보다 작은(=더 오래된) 게시글 id를 최신순으로 최대 limit개.
+     * 전파된 타임라인 + 팔로우 중인 celebrity의 최근 글을 합칩니다.
+     */
+    public List<Long> readIds(Long userId, long beforeId, int limit) {
+        List<Long> followingIds = followRepository.findActiveFollowedIds(userId);
+        if (followingIds.isEmpty() || limit <= 0) return List.of();
+
+        try {
+            List<Long> celebrities = celebritiesAmong(followingIds);
+            List<Long> pushedAuthors = followingIds.stream().filter(id -> !celebrities.contains(id)).toList();
+            String key = key(userId);
+            ensureMaterialized(key, pushedAuthors);
+
+            double max = beforeId == Long.MAX_VALUE ? Double.MAX_VALUE : beforeId - 1;
+            List<Long> pushed = toIds(redisTemplate.opsForZSet().reverseRangeByScore(key, 1, max, 0, limit));
+            Long size = redisTemplate.opsForZSet().zCard(key);
+            redisTemplate.expire(key, Duration.ofDays(ttlDays));
+
+            // 타임라인 길이 제한보다 오래된 구간은 DB에서 직접
+            if (pushed.size() < limit && size != null && size - 1 >= maxSize) {
+                return boardRepository.findActiveIdsByAuthorIdsBefore(followingIds, beforeId, Limit.of(limit));
+            }
+            if (celebrities.isEmpty()) return pushed;
+
+            List<Long> pulled = boardRepository.findActiveIdsByAuthorIdsBefore(celebrities, beforeId, Limit.of(limit));
+            TreeSet<Long> merged = new TreeSet<>(Comparator.reverseOrder());
+            merged.addAll(pushed);
+            merged.addAll(pulled);
+            return merged.stream().limit(limit).toList();
+        } catch (Exception e) {
+            log.warn("[Timeline] Redis 조회 실패 - DB 조회로 대체: {}", e.getMessage());
+            return boardRepository.findActiveIdsByAuthorIdsBefore(followingIds, beforeId, Limit.of(limit));
+        }
+    }
+
+    // === 변경 (커밋 이후 반영) ===
+
+    /** 게시글 작성: 팔로워 타임라인에 전파 (celebrity면 읽기 시 합치도록 표시만) */
+    public void onBoardCreated(Board board) {
+        Long authorId = board.getAuthor().getId();
+        Long boardId = board.getId();
+        afterCommit(() -> submitFanout("boardId: " + boardId, () -> {
+            try {
+                if (followRepository.countByFollowedIdAndActiveTrue(authorId) >= celebrityThreshold) {
+                    redisTemplate.opsForSet().add(CELEBRITIES, String.valueOf(authorId));
+                    return;
+                }
+                redisTemplate.opsForSet().remove(CELEBRITIES, String.valueOf(authorId));
+                forEachFollowerChunk(authorId, followerIds -> addToTimelines(followerIds, boardId));
+            } catch (Exception e) {
+                log.warn("[Timeline] 전파 실패 - boardId: {}, {}", boardId, e.getMessage());
+            }
+        }));
+    }
+
+    /** 게시글 비활성화: 팔로워 타임라인에서 제거 */
+    public void onBoardRemoved(Board board) {
+        Long authorId = board.getAuthor().getId();
+        String member = String.valueOf(board.getId());
+        afterCommit(() -> submitFanout("boardId: " + member + " (제거)", () -> {
+            try {
+                forEachFollowerChunk(authorId, followerIds -> redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    byte[] value = member.getBytes(StandardCharsets.UTF_8);
+                    followerIds.forEach(id -> connection.zSetCommands().zRem(bytes(key(id)), value));
+                    return null;
+                }));
+            } catch (Exception e) {
+                log.warn("[Timeline] 제거 전파 실패 - boardId: {}, {}", member, e.getMessage());
+            }
+        }));
+    }
+
+    /** 팔로우: 타임라인이 이미 있으면 상대의 최근 글로 채움 (celebrity는 읽기 시 합쳐지므로 생략) */
+    public void onFollowed(Long followerId, Long followedId) {
+        afterCommit(() -> {
+            try {
+                String timeline = key(followerId);
+                if (!Boolean.TRUE.equals(redisTemplate.hasKey(timeline)) || isCelebrity(followedId)) return;
+                List<Long> ids = boardRepository.findActiveIdsByAuthorIdsBefore(
+                        List.of(followedId), Long.MAX_VALUE, Limit.of(maxSize));
+                addAll(timeline, ids);
+            } catch (Exception e) {
+                log.warn("[Timeline] 팔로우 채우기 실패 - 무효화합니다: {}", e.getMessage());
+                safeDelete(key(followerId));
+            }
+        });
+    }
+
+    /** 언팔로우: 상대의 글을 타임라인에서 제거 */
+    public void onUnfollowed(Long followerId, Long followedId) {
+        List<Long> ids = boardRepository.findRecentIdsByAuthorId(followedId, Limit.of(maxSize));
+        afterCommit(() -> removeAll(key(followerId), ids));
+    }
+
+    /** 탈퇴/정지: 본인 타임라인 삭제 + 팔로워 타임라인에서 본인 글 제거 (팔로우 관계 비활성화 전에 호출) */
+    public void onUserDeactivated(Long userId) {
+        List<Long> boardIds = boardRepository.findRecentIdsByAuthorId(userId, Limit.of(maxSize));
+        List<Long> followerIds = boardIds.isEmpty() ? List.of() : followRepository.findActiveFollowerIds(userId);
+        afterCommit(() -> {
+            safeDelete(key(userId));
+            try {
+                redisTemplate.opsForSet().remove(CELEBRITIES, String.valueOf(userId));
+            } catch (Exception e) {
+                log.warn("[Timeline] celebrity 표시 삭제 실패 - userId: {}, {}", userId, e.getMessage());
+            }
+            followerIds.forEach(id -> removeAll(key(id), boardIds));
+        });
+    }
+
+    // === 내부 ===
+
+    private void submitFanout(String what, Runnable task) {
+        try {
+            fanoutExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            log.warn("[Timeline] 전파 대기열이 가득 차 건너뜁니다 - {}", what);
+        }
+    }
+
+    private void ensureMaterialized(String key, List<Long> authorIds) {
+        if (Boolean.TRUE.equals(redisTemplate.hasKey(key))) return;
+        List<Long> ids = authorIds.isEmpty() ? List.of()
+                : boardRepository.findActiveIdsByAuthorIdsBefore(authorIds, Long.MAX_VALUE, Limit.of(maxSize));
+        Set<ZSetOperations.TypedTuple<String>> tuples = new HashSet<>();
+        tuples.add(ZSetOperations.TypedTuple.of(INIT, Double.POSITIVE_INFINITY));
+        ids.forEach(id -> tuples.add(ZSetOperations.TypedTuple.of(String.valueOf(id), id.doubleValue())));
+        redisTemplate.opsForZSet().add(key, tuples);
+        redisTemplate.expire(key, Duration.ofDays(ttlDays));
+    }
+
+    private void addToTimelines(List<Long> followerIds, Long boardId) {
+        byte[] script = ADD_IF_PRESENT.getBytes(StandardCharsets.UTF_8);
+        byte[] member = bytes(String.valueOf(boardId));
+        byte[] cap = bytes(String.valueOf(maxSize));
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            followerIds.forEach(id ->
+                    connection.scriptingCommands().eval(script, ReturnType.INTEGER, 1, bytes(key(id)), member, cap));
+            return null;
+        });
+    }
+
+    private void addAll(String key, List<Long> ids) {
+        if (ids.isEmpty()) return;
+        Set<ZSetOperations.TypedTuple<String>> tuples = new HashSet<>();
+        ids.forEach(id -> tuples.add(ZSetOperations.TypedTuple.of(String.valueOf(id), id.doubleValue())));
+        redisTemplate.opsForZSet().add(key, tuples);
+        redisTemplate.opsForZSet().removeRange(key, 0, -(maxSize + 2L));
+    }
+
+    private void removeAll(String key, List<Long> ids) {
+        if (ids.isEmpty()) return;
+        try {
+            redisTemplate.opsForZSet().remove(key, ids.stream().map(String::valueOf).toArray());
+        } catch (Exception e) {
+            log.warn("[Timeline] 제거 실패 - 무효화합니다 ({}): {}", key, e.getMessage());
+            safeDelete(key);
+        }
+    }
+
+    private void forEachFollowerChunk(Long authorId, Consumer<List<Long>> action) {
+        long afterId = 0L;
+        while (true) {
+            List<Long> followerIds = followRepository.findActiveFollowerIdsAfter(authorId, afterId, Limit.of(fanoutChunkSize));
+            if (followerIds.isEmpty()) break;
+            action.accept(followerIds);
+            afterId = followerIds.get(followerIds.size() - 1);
+            if (followerIds.size() < fanoutChunkSize) break;
+        }
+    }
+
+    private List<Long> celebritiesAmong(List<Long> followingIds) {
+        Map<Object, Boolean> flags = redisTemplate.opsForSet()
+                .isMember(CELEBRITIES, followingIds.stream().map(String::valueOf).toArray());
+        if (flags == null) return List.of();
+        return followingIds.stream()
+                .filter(id -> Boolean.TRUE.equals(flags.get(String.valueOf(id))))
+                .toList();
+    }
+
+    private boolean isCelebrity(Long userId) {
+        return Boolean.TRUE.equals(redisTemplate.opsForSet().isMember(CELEBRITIES, String.valueOf(userId)));
+    }
+
+    private static List<Long> toIds(Set<String> members) {
+        if (members == null) return List.of();
+        return members.stream().filter(m -> !INIT.equals(m)).map(Long::valueOf).toList();
+    }
+
+    private void safeDelete(String key) {
+        try {
+            redisTemplate.delete(key);
+        } catch (Exception e) {
+            log.warn("[Timeline] 타임라인 삭제 실패 - {}: {}", key, e.getMessage());
+        }
+    }
+
+    private static String key(Long userId) {
+        return KEY_PREFIX + userId;
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void afterCommit(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.stackflov.service;
+
+import com.stackflov.dto.TrendingHashtagDto;
+import com.stackflov.trending.SlidingWindowHeavyHitters;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 실시간 인기 해시태그 (1시간 / 24시간 / 7일).
+ * - 게시글에 태그가 새로 붙을 때, 게시글이 조회될 때 가중치를 더함
+ * - 윈도우마다 시간 버킷별 CountMinSketch + Space-Saving 후보로 집계 (메모리 고정, DB 집계 없음)
+ * - 기록은 태그별 DoubleAdder에만 더하고(잠금 없음), fold 주기마다 스케치에 한 번에 반영 (조회 경로가 스케치 잠금을 기다리지 않음)
+ * - 주기적으로 / 종료 시 로컬 파일에 스냅샷을 남기고 기동 시 복구 (노드별 집계)
+ */
+@Slf4j
+@Service
+public class TrendingHashtagService {
+
+    public enum Window {
+        HOUR("1h"), DAY("24h"), WEEK("7d");
+
+        private final String code;
+
+        Window(String code) {
+            this.code = code;
+        }
+
+        public static Window from(String code) {
+            for (Window w : values()) {
+                if (w.code.equalsIgnoreCase(code)) return w;
+            }
+            throw new IllegalArgumentException("지원하지 않는 기간입니다. (1h, 24h, 7d)");
+        }
+    }
+
+    private static final long MINUTE = 60_000L;
+    private static final long HOUR = 60 * MINUTE;
+    private static final int SNAPSHOT_MAGIC = 0x54524E44; // "TRND"
+    private static final int MAX_LIMIT = 50;
+
+    private final float postWeight;
+    private final float viewWeight;
+    private final int sketchWidth;
+    private final int candidatesPerBucket;
+    private final String snapshotPath;
+
+    // 접근은 모두 synchronized (this)
+    private EnumMap<Window, SlidingWindowHeavyHitters> windows;
+    // 태그(소문자) -> 아직 스케치에 반영하지 않은 가중치 (한 주기 동안 기록이 없던 태그는 fold에서 제거)
+    private final Map<String, DoubleAdder> buffered = new ConcurrentHashMap<>();
+
+    public TrendingHashtagService(@Value("${app.trending.post-weight:5}") float postWeight,
+                                  @Value("${app.trending.view-weight:1}") float viewWeight,
+                                  @Value("${app.trending.sketch-width:1024}") int sketchWidth,
+                                  @Value("${app.trending.candidates-per-bucket:128}") int candidatesPerBucket,
+                                  @Value("${app.trending.snapshot-path:./data/trending-hashtags.bin}") String snapshotPath) {
+        this.postWeight = postWeight;
+        this.viewWeight = viewWeight;
+        this.sketchWidth = sketchWidth;
+        this.candidatesPerBucket = candidatesPerBucket;
+        this.snapshotPath = snapshotPath;
+        this.windows = createWindows();
+    }
+
+    // 윈도우 / 버킷 수 / 감쇠 반감기
+    private EnumMap<Window, SlidingWindowHeavyHitters> createWindows() {
+        EnumMap<Window, SlidingWindowHeavyHitters> created = new EnumMap<>(Window.class);
+        created.put(Window.HOUR, new SlidingWindowHeavyHitters(HOUR, 12, 20 * MINUTE, 4, sketchWidth, candidatesPerBucket));
+        created.put(Window.DAY, new SlidingWindowHeavyHitters(24 * HOUR, 24, 6 * HOUR, 4, sketchWidth, candidatesPerBucket));
+        created.put(Window.WEEK, new SlidingWindowHeavyHitters(7 * 24 * HOUR, 28, 2 * 24 * HOUR, 4, sketchWidth, candidatesPerBucket));
+        return created;
+    }
+
+    /** 게시글에 새로 붙은 태그 */
+    public void recordTagged(Collection<String> tags) {
+        record(tags, postWeight);
+    }
+
+    /** 게시글 조회 (그 게시글의 태그들) */
+    public void recordViewed(Collection<String> tags) {
+        record(tags, viewWeight);
+    }
+
+    public List<TrendingHashtagDto> getTrending(String window, int limit) {
+        Window w = Window.from(window);
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+        List<SlidingWindowHeavyHitters.Entry> top;
+        fold();
+        synchronized (this) {
+            top = windows.get(w).top(size, System.currentTimeMillis());
+        }
+        return top.stream()
+                .map(e -> new TrendingHashtagDto(e.key(), Math.round(e.score() * 100) / 100.0))
+                .toList();
+    }
+
+    private void record(Collection<String> tags, float weight) {
+        if (tags == null || tags.isEmpty()) return;
+        for (String tag : tags) {
+            if (tag == null || tag.isBlank()) continue;
+            String key = tag.toLowerCase(Locale.ROOT);
+            DoubleAdder adder = buffered.computeIfAbsent(key, k -> new DoubleAdder());
+            adder.add(weight);
+            // 그 사이 fold가 이 태그를 지웠으면 남은 값을 새 항목으로 옮김
+            if (buffered.get(key) != adder) moveOver(key, adder);
+        }
+    }
+
+    /** 버퍼에 쌓인 가중치를 현재 시각 버킷으로 스케치에 반영 */
+    @Scheduled(fixedDelayString = "${app.trending.fold-ms:1000}")
+    public void fold() {
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            for (Map.Entry<String, DoubleAdder> e : buffered.entrySet()) {
+                double weight = e.getValue().sumThenReset();
+                if (weight > 0) {
+                    for (SlidingWindowHeavyHitters hitters : windows.values()) {
+                        hitters.add(e.getKey(), (float) weight, now);
+                    }
+                } else if (buffered.remove(e.getKey(), e.getValue())) {
+                    moveOver(e.getKey(), e.getValue());
+                }
+            }
+        }
+    }
+
+    private void moveOver(String key, DoubleAdder removed) {
+        double late = removed.sumThenReset();
+        if (late > 0) buffered.computeIfAbsent(key, k -> new DoubleAdder()).add(late);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        Path path = Paths.get(snapshotPath);
+        if (!Files.exists(path)) return;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(path))))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) throw new IOException("스냅샷 형식이 아닙니다.");
+            // 다 읽은 뒤에 교체 (기동 직후 들어온 집계는 버림)
+            EnumMap<Window, SlidingWindowHeavyHitters> restored = createWindows();
+            for (SlidingWindowHeavyHitters hitters : restored.values()) {
+                hitters.readFrom(in);
+            }
+            synchronized (this) {
+                this.windows = restored;
+            }
+            log.info("[Trending] 인기 해시태그 스냅샷 복구 완료");
+        } catch (IOException e) {
+            log.warn("[Trending] 스냅샷 복구 실패 - 빈 상태로 시작합니다: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.trending.snapshot-ms:300000}", initialDelayString = "${app.trending.snapshot-ms:300000}")
+    public void snapshot() {
+        Path target = Paths.get(snapshotPath);
+        try {
+            if (target.getParent() != null) Files.createDirectories(target.getParent());
+            // 락은 메모리 직렬화 동안만 잡고, 압축/파일 쓰기는 밖에서
+            fold();
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(buffer)) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                synchronized (this) {
+                    for (SlidingWindowHeavyHitters hitters : windows.values()) {
+                        hitters.writeTo(out);
+                    }
+                }
+            }
+            Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp))) {
+                buffer.writeTo(out);
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("[Trending] 스냅샷 저장 실패 - {}: {}", target, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        snapshot();
+    }
+}
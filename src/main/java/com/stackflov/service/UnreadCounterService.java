@@ -0,0 +1,188 @@
+package com.stackflov.service;
+
+import com.stackflov.dto.UnreadBadgeDto;
+import com.stackflov.repository.ChatMessageRepository;
+import com.stackflov.repository.NotificationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * 사용자별 안 읽은 알림/채팅 수를 Redis 해시(unread:{userId})로 유지합니다.
+ * - 필드: n(알림), r:{roomId}(방별 채팅), _init(초기화 표시)
+ * - 키가 없으면(첫 조회, TTL 만료, 오류 후 무효화) DB에서 한 번 집계해서 채움
+ * - 증감은 키가 있을 때만 반영 (없으면 다음 조회 때 DB 기준으로 다시 채워지므로)
+ * - 변경은 모두 커밋 이후에 반영하고, 바뀐 배지를 /sub/badge/{userId} 로 푸시
+ */
+@Slf4j
+@Service
+public class UnreadCounterService {
+
+    private static final String KEY_PREFIX = "unread:";
+    private static final String INIT = "_init";
+    private static final String NOTIFICATIONS = "n";
+    private static final String ROOM_PREFIX = "r:";
+
+    // 키가 있을 때만 증감 (0 미만으로는 내려가지 않음)
+    private static final DefaultRedisScript<Long> INCR_IF_PRESENT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end " +
+            "local v = redis.call('HINCRBY', KEYS[1], ARGV[1], ARGV[2]) " +
+            "if v < 0 then redis.call('HSET', KEYS[1], ARGV[1], 0) end " +
+            "return 1", Long.class);
+
+    // 키가 있을 때만 0으로
+    private static final DefaultRedisScript<Long> RESET_IF_PRESENT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end " +
+            "redis.call('HSET', KEYS[1], ARGV[1], 0) " +
+            "return 1", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final NotificationRepository notificationRepository;
+    private final ChatMessageRepository chatMessageRepository;
+    private final SimpMessageSendingOperations messagingTemplate;
+    private final Duration ttl;
+
+    public UnreadCounterService(StringRedisTemplate redisTemplate,
+                                NotificationRepository notificationRepository,
+                                ChatMessageRepository chatMessageRepository,
+                                SimpMessageSendingOperations messagingTemplate,
+                                @Value("${app.unread.ttl-hours:168}") long ttlHours) {
+        this.redisTemplate = redisTemplate;
+        this.notificationRepository = notificationRepository;
+        this.chatMessageRepository = chatMessageRepository;
+        this.messagingTemplate = messagingTemplate;
+        this.ttl = Duration.ofHours(ttlHours);
+    }
+
+    public UnreadBadgeDto getBadge(Long userId) {
+        Map<Object, Object> fields;
+        try {
+            fields = redisTemplate.opsForHash().entries(key(userId));
+            if (fields.isEmpty()) fields = rebuild(userId);
+        } catch (Exception e) {
+            log.warn("[Unread] Redis 조회 실패 - DB 집계로 대체: {}", e.getMessage());
+            fields = countFromDb(userId);
+        }
+        return toBadge(fields);
+    }
+
+    /** 방별 안 읽은 수 (채팅방 목록용) */
+    public Map<Long, Long> getRoomCounts(Long userId) {
+        return getBadge(userId).getRooms();
+    }
+
+    // === 변경 (커밋 이후 반영) ===
+
+    public void notificationsAdded(Long userId, int count) {
+        afterCommit(() -> apply(userId, INCR_IF_PRESENT, NOTIFICATIONS, count));
+    }
+
+    public void notificationRead(Long userId) {
+        afterCommit(() -> apply(userId, INCR_IF_PRESENT, NOTIFICATIONS, -1));
+    }
+
+    public void notificationsCleared(Long userId) {
+        afterCommit(() -> apply(userId, RESET_IF_PRESENT, NOTIFICATIONS, 0));
+    }
+
+    public void chatMessageReceived(Long userId, Long roomId) {
+        afterCommit(() -> apply(userId, INCR_IF_PRESENT, ROOM_PREFIX + roomId, 1));
+    }
+
+    public void chatRoomRead(Long userId, Long roomId) {
+        afterCommit(() -> apply(userId, RESET_IF_PRESENT, ROOM_PREFIX + roomId, 0));
+    }
+
+    /** 정확한 증감을 알기 어려운 경우 (선택 삭제 등): 키를 지워서 다음 조회 때 DB 기준으로 재집계 */
+    public void invalidate(Long userId) {
+        afterCommit(() -> {
+            safeDelete(userId);
+            pushBadge(userId);
+        });
+    }
+
+    private void apply(Long userId, DefaultRedisScript<Long> script, String field, long delta) {
+        try {
+            redisTemplate.execute(script, List.of(key(userId)), field, String.valueOf(delta));
+        } catch (Exception e) {
+            log.warn("[Unread] 카운터 갱신 실패 - userId: {}, {}", userId, e.getMessage());
+            safeDelete(userId);
+        }
+        pushBadge(userId);
+    }
+
+    private void pushBadge(Long userId) {
+        try {
+            messagingTemplate.convertAndSend("/sub/badge/" + userId, getBadge(userId));
+        } catch (Exception e) {
+            log.warn("[Unread] 배지 푸시 실패 - userId: {}, {}", userId, e.getMessage());
+        }
+    }
+
+    private Map<Object, Object> rebuild(Long userId) {
+        Map<Object, Object> fields = countFromDb(userId);
+        String key = key(userId);
+        redisTemplate.opsForHash().putAll(key, fields);
+        redisTemplate.expire(key, ttl);
+        return fields;
+    }
+
+    private Map<Object, Object> countFromDb(Long userId) {
+        Map<Object, Object> fields = new HashMap<>();
+        fields.put(INIT, "1");
+        fields.put(NOTIFICATIONS, String.valueOf(notificationRepository.countByReceiver_IdAndIsReadFalse(userId)));
+        chatMessageRepository.countUnreadByRoomForUser(userId)
+                .forEach(row -> fields.put(ROOM_PREFIX + row.getId(), String.valueOf(row.getCnt())));
+        return fields;
+    }
+
+    private static UnreadBadgeDto toBadge(Map<Object, Object> fields) {
+        long notifications = 0;
+        long chats = 0;
+        Map<Long, Long> rooms = new LinkedHashMap<>();
+        for (Map.Entry<Object, Object> e : fields.entrySet()) {
+            String field = String.valueOf(e.getKey());
+            long value = Math.max(0, Long.parseLong(String.valueOf(e.getValue())));
+            if (NOTIFICATIONS.equals(field)) {
+                notifications = value;
+            } else if (field.startsWith(ROOM_PREFIX) && value > 0) {
+                rooms.put(Long.parseLong(field.substring(ROOM_PREFIX.length())), value);
+                chats += value;
+            }
+        }
+        return new UnreadBadgeDto(notifications, chats, rooms);
+    }
+
+    private void safeDelete(Long userId) {
+        try {
+            redisTemplate.delete(key(userId));
+        } catch (Exception e) {
+            log.warn("[Unread] 카운터 삭제 실패 - userId: {}, {}", userId, e.getMessage());
+        }
+    }
+
+    private static String key(Long userId) {
+        return KEY_PREFIX + userId;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
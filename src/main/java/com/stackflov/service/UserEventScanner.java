@@ -0,0 +1,110 @@
+package com.stackflov.service;
+
+import com.stackflov.domain.EventType;
+import com.stackflov.domain.UserEvent;
+import com.stackflov.repository.UserEventRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * user_event를 (user_id, created_at) 순으로 한 번만 훑으면서 사용자별 이벤트 묶음을 넘겨주는 배치용 리더.
+ * - forward-only 스트리밍이라 메모리에는 현재 사용자 한 명의 이벤트만 올라감
+ * - 스캔은 읽기 전용 트랜잭션 하나의 커넥션을 끝까지 점유하므로,
+ *   consumer 안에서 DB 작업이 필요하면 REQUIRES_NEW 트랜잭션(다른 커넥션)으로 실행해야 합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserEventScanner {
+
+    public static final Set<EventType> POSITIVE =
+            EnumSet.of(EventType.LIKE, EventType.BOOKMARK, EventType.CLICK, EventType.DWELL);
+
+    @FunctionalInterface
+    public interface GroupConsumer {
+        void accept(Group group);
+    }
+
+    /** 한 사용자의 이벤트 (created_at 오름차순) */
+    public record Group(Long userId, List<UserEvent> events) {
+
+        public LocalDateTime lastEventAt() {
+            return events.get(events.size() - 1).getCreatedAt();
+        }
+
+        public boolean isActiveSince(LocalDateTime since) {
+            return !lastEventAt().isBefore(since);
+        }
+
+        /**
+         * since 이후 positive 이벤트의 게시글을 마지막 이벤트 시각 최신순으로 중복 없이 limit개까지
+         * (UserEventRepository.findRecentPositiveBoardIds와 같은 순서)
+         */
+        public List<Long> recentPositiveBoardIds(LocalDateTime since, int limit) {
+            return recentPositiveBoards(since, limit).stream().map(PositiveBoard::boardId).toList();
+        }
+
+        /** recentPositiveBoardIds와 같고, 게시글마다 마지막 positive 이벤트 시각을 함께 */
+        public List<PositiveBoard> recentPositiveBoards(LocalDateTime since, int limit) {
+            Set<Long> seen = new HashSet<>();
+            List<PositiveBoard> boards = new ArrayList<>();
+            for (int i = events.size() - 1; i >= 0 && boards.size() < limit; i--) {
+                UserEvent e = events.get(i);
+                if (e.getCreatedAt().isBefore(since)) break;
+                if (POSITIVE.contains(e.getEventType()) && seen.add(e.getBoardId())) {
+                    boards.add(new PositiveBoard(e.getBoardId(), e.getCreatedAt()));
+                }
+            }
+            return boards;
+        }
+    }
+
+    public record PositiveBoard(Long boardId, LocalDateTime lastAt) {}
+
+    public record ScanResult(int users, long events) {}
+
+    private final UserEventRepository userEventRepository;
+    private final EntityManager em;
+
+    /**
+     * since 이후 이벤트를 한 번 스캔해서 사용자가 바뀔 때마다 모든 consumer에 묶음을 순서대로 전달합니다.
+     */
+    @Transactional(readOnly = true)
+    public ScanResult scan(LocalDateTime since, GroupConsumer... consumers) {
+        int users = 0;
+        long events = 0;
+        Long current = null;
+        List<UserEvent> buffer = new ArrayList<>();
+
+        try (Stream<UserEvent> stream = userEventRepository.streamAllSince(since)) {
+            Iterator<UserEvent> it = stream.iterator();
+            while (it.hasNext()) {
+                UserEvent e = it.next();
+                // 영속성 컨텍스트에 쌓이지 않도록 바로 분리
+                em.detach(e);
+                events++;
+                if (current != null && !current.equals(e.getUserId())) {
+                    emit(new Group(current, List.copyOf(buffer)), consumers);
+                    users++;
+                    buffer.clear();
+                }
+                current = e.getUserId();
+                buffer.add(e);
+            }
+        }
+        if (current != null) {
+            emit(new Group(current, List.copyOf(buffer)), consumers);
+            users++;
+        }
+        return new ScanResult(users, events);
+    }
+
+    private void emit(Group group, GroupConsumer[] consumers) {
+        for (GroupConsumer consumer : consumers) consumer.accept(group);
+    }
+}
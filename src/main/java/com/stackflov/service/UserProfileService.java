@@ -1,45 +1,61 @@
 package com.stackflov.service;
 
 import com.stackflov.domain.*;
+import com.stackflov.reco.FeatureDictionary;
+import com.stackflov.reco.FeatureVector;
 import com.stackflov.repository.ItemFeatureRepository;
 import com.stackflov.repository.UserEventRepository;
-import com.stackflov.repository.UserFeatureScoreRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.*;
-import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 public class UserProfileService {
 
     private final UserEventRepository userEventRepository;
     private final ItemFeatureRepository itemFeatureRepository;
-    private final UserFeatureScoreRepository userFeatureScoreRepository;
+    private final RecoBulkWriter bulkWriter;
+    private final FeatureDictionaryService featureDictionaryService;
 
     // 튜닝값(원하면 나중에 yml로 뺄 수 있음)
     private final int profileDays = 30;
     private final double decayLambda = 0.10; // exp(-lambda * daysAgo)
+    private final double[] decayByDay;
 
     public UserProfileService(
             UserEventRepository userEventRepository,
             ItemFeatureRepository itemFeatureRepository,
-            UserFeatureScoreRepository userFeatureScoreRepository
+            RecoBulkWriter bulkWriter,
+            FeatureDictionaryService featureDictionaryService
     ) {
         this.userEventRepository = userEventRepository;
         this.itemFeatureRepository = itemFeatureRepository;
-        this.userFeatureScoreRepository = userFeatureScoreRepository;
+        this.bulkWriter = bulkWriter;
+        this.featureDictionaryService = featureDictionaryService;
+        this.decayByDay = new double[profileDays + 2];
+        for (int d = 0; d < decayByDay.length; d++) decayByDay[d] = Math.exp(-decayLambda * d);
     }
 
     @Transactional
     public void rebuildUserProfile(Long userId) {
         LocalDateTime since = LocalDateTime.now().minusDays(profileDays);
 
-        List<UserEvent> events = userEventRepository.findRecentEvents(userId, since);
+        rebuildUserProfile(userId, userEventRepository.findRecentEvents(userId, since));
+    }
+
+    /**
+     * 이미 읽어 둔 이벤트로 프로필 재생성 (배치 스트리밍 스캔용, profileDays 밖의 이벤트는 무시)
+     */
+    @Transactional
+    public void rebuildUserProfile(Long userId, List<UserEvent> recentEvents) {
+        LocalDateTime since = LocalDateTime.now().minusDays(profileDays);
+        List<UserEvent> events = recentEvents.stream()
+                .filter(e -> !e.getCreatedAt().isBefore(since))
+                .toList();
         if (events.isEmpty()) {
-            userFeatureScoreRepository.deleteAllByUserId(userId);
+            bulkWriter.replace(RecoBulkWriter.Table.USER_FEATURE_SCORE, userId, List.of());
             return;
         }
 
@@ -49,38 +65,54 @@ public class UserProfileService {
                 .distinct()
                 .toList();
 
-        // boardId -> features
-        Map<Long, List<ItemFeature>> featuresByBoard =
-                itemFeatureRepository.findByBoardIds(boardIds).stream()
-                        .collect(Collectors.groupingBy(f -> f.getId().getBoardId()));
+        // boardId -> (feature id[], weight[]) : 문자열 키 대신 사전의 정수 id
+        Map<Long, BoardFeatures> featuresByBoard = loadBoardFeatures(boardIds);
 
-        // feature 점수 누적 (key = "TYPE|VALUE")
-        Map<String, Double> scoreMap = new HashMap<>();
-        LocalDate today = LocalDate.now();
+        // feature 점수 누적 (이벤트 루프 안에서는 객체를 만들지 않음)
+        FeatureVector scores = new FeatureVector(64);
+        long today = LocalDate.now().toEpochDay();
 
         for (UserEvent e : events) {
-            double wEvent = eventWeight(e);
-            double decay = timeDecay(today, e.getCreatedAt().toLocalDate());
-
-            List<ItemFeature> feats = featuresByBoard.getOrDefault(e.getBoardId(), List.of());
-            for (ItemFeature f : feats) {
-                String key = f.getId().getFeatureType() + "|" + f.getId().getFeatureValue();
-                double add = wEvent * decay * f.getWeight();
-                scoreMap.merge(key, add, Double::sum);
+            BoardFeatures feats = featuresByBoard.get(e.getBoardId());
+            if (feats == null) continue;
+            double base = eventWeight(e) * timeDecay(today, e.getCreatedAt().toLocalDate().toEpochDay());
+            for (int k = 0; k < feats.ids().length; k++) {
+                if (feats.ids()[k] < 0) continue; // 사전 등록에 실패한 feature
+                scores.add(feats.ids()[k], base * feats.weights()[k]);
             }
         }
 
-        // 기존 프로필 삭제 후 재생성(단순/안전)
-        userFeatureScoreRepository.deleteAllByUserId(userId);
-
+        // 기존 프로필 삭제 후 재생성(단순/안전, 다중 행 INSERT)
+        FeatureDictionary dictionary = featureDictionaryService.dictionary();
         LocalDateTime now = LocalDateTime.now();
-        List<UserFeatureScore> rows = new ArrayList<>(scoreMap.size());
-        for (Map.Entry<String, Double> en : scoreMap.entrySet()) {
-            if (en.getValue() <= 0) continue;
-            String[] parts = en.getKey().split("\\|", 2);
-            rows.add(new UserFeatureScore(userId, parts[0], parts[1], en.getValue(), now));
+        List<Object[]> rows = new ArrayList<>(scores.size());
+        scores.forEach((featureId, score) -> {
+            if (score <= 0) return;
+            rows.add(new Object[]{userId, dictionary.typeOf(featureId), dictionary.valueOf(featureId), score, now});
+        });
+        bulkWriter.replace(RecoBulkWriter.Table.USER_FEATURE_SCORE, userId, rows);
+    }
+
+    // 게시글별 feature를 사전 id 배열로 (사전에 없던 feature는 이때 등록, 실패한 것은 -1)
+    private Map<Long, BoardFeatures> loadBoardFeatures(List<Long> boardIds) {
+        List<ItemFeature> features = itemFeatureRepository.findByBoardIds(boardIds);
+        int[] featureIds = featureDictionaryService.intern(features);
+
+        Map<Long, Integer> counts = new HashMap<>();
+        for (ItemFeature f : features) counts.merge(f.getId().getBoardId(), 1, Integer::sum);
+
+        Map<Long, BoardFeatures> out = new HashMap<>(counts.size() * 2);
+        Map<Long, Integer> filled = new HashMap<>();
+        for (int i = 0; i < features.size(); i++) {
+            ItemFeature f = features.get(i);
+            Long boardId = f.getId().getBoardId();
+            BoardFeatures bf = out.computeIfAbsent(boardId,
+                    b -> new BoardFeatures(new int[counts.get(b)], new double[counts.get(b)]));
+            int k = filled.merge(boardId, 1, Integer::sum) - 1;
+            bf.ids()[k] = featureIds[i];
+            bf.weights()[k] = f.getWeight();
         }
-        userFeatureScoreRepository.saveAll(rows);
+        return out;
     }
 
     private double eventWeight(UserEvent e) {
@@ -90,14 +122,17 @@ public class UserProfileService {
             case LIKE -> 5.0;
             case BOOKMARK -> 6.0;
             case DWELL -> {
-                int ms = Optional.ofNullable(e.getValue()).orElse(0);
-                yield Math.min(ms / 3000.0, 3.0); // 0~3
+                Integer ms = e.getValue();
+                yield ms == null ? 0.0 : Math.min(ms / 3000.0, 3.0); // 0~3
             }
         };
     }
 
-    private double timeDecay(LocalDate today, LocalDate eventDate) {
-        long daysAgo = Math.max(0, ChronoUnit.DAYS.between(eventDate, today));
-        return Math.exp(-decayLambda * daysAgo);
+    // exp(-lambda * daysAgo)는 profileDays까지 미리 계산해 둔 표에서
+    private double timeDecay(long todayEpochDay, long eventEpochDay) {
+        long daysAgo = Math.max(0, todayEpochDay - eventEpochDay);
+        return daysAgo < decayByDay.length ? decayByDay[(int) daysAgo] : Math.exp(-decayLambda * daysAgo);
     }
-}
\ No newline at end of file
+
+    private record BoardFeatures(int[] ids, double[] weights) {}
+}
@@ -0,0 +1,168 @@
+package com.stackflov.service;
+
+import com.stackflov.repository.BoardRepository;
+import com.stackflov.repository.NoticeRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+/**
+ * 게시글/공지 조회수 write-behind 버퍼.
+ * - 조회 시에는 메모리 카운터(LongAdder, 스트라이프 구조)만 증가시키고
+ * - 주기적으로 누적 증가분을 모아 "같은 증가분끼리" 묶어 UPDATE 합니다.
+ * - 조회 응답에는 DB 값 + 아직 반영되지 않은 증가분을 더해서 내려줍니다.
+ */
+@Slf4j
+@Service
+public class ViewCountService {
+
+    private final Counter boardCounter;
+    private final Counter noticeCounter;
+
+    public ViewCountService(BoardRepository boardRepository,
+                            NoticeRepository noticeRepository,
+                            MeterRegistry meterRegistry) {
+        this.boardCounter = new Counter("board", boardRepository::addViewCount, meterRegistry);
+        this.noticeCounter = new Counter("notice", noticeRepository::addViewCount, meterRegistry);
+    }
+
+    public void increaseBoardView(Long boardId) {
+        boardCounter.increment(boardId);
+    }
+
+    public void increaseNoticeView(Long noticeId) {
+        noticeCounter.increment(noticeId);
+    }
+
+    // DB에 저장된 조회수 + 아직 flush되지 않은 증가분
+    public int boardViewCount(Long boardId, int persisted) {
+        return persisted + (int) boardCounter.pending(boardId);
+    }
+
+    public int noticeViewCount(Long noticeId, int persisted) {
+        return persisted + (int) noticeCounter.pending(noticeId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.view-count.flush-interval-ms:5000}")
+    public void flush() {
+        boardCounter.flush();
+        noticeCounter.flush();
+    }
+
+    // 종료 시 남은 증가분 반영
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private static class Counter {
+
+        private final String name;
+        private final BiFunction<Integer, Collection<Long>, Integer> updater;
+
+        // id -> 아직 반영되지 않은 증가분 (한 주기 동안 조회가 없던 항목은 flush에서 제거 → 최근 조회된 글 수로 제한)
+        private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+        // flush 중(트랜잭션 진행 중)인 증가분: 그 사이 조회에서도 빠지지 않게 유지
+        private final Map<Long, Long> inFlight = new ConcurrentHashMap<>();
+
+        private final AtomicLong lastFlushAt = new AtomicLong(System.currentTimeMillis());
+        private final DistributionSummary flushSize;
+        private final Timer flushTimer;
+
+        Counter(String name, BiFunction<Integer, Collection<Long>, Integer> updater, MeterRegistry registry) {
+            this.name = name;
+            this.updater = updater;
+            this.flushSize = DistributionSummary.builder("view_count.flush.size")
+                    .description("flush 한 번에 반영된 행 수")
+                    .tag("target", name)
+                    .register(registry);
+            this.flushTimer = Timer.builder("view_count.flush.duration")
+                    .tag("target", name)
+                    .register(registry);
+            Gauge.builder("view_count.flush.lag.seconds", lastFlushAt,
+                            t -> (System.currentTimeMillis() - t.get()) / 1000.0)
+                    .description("마지막 flush 성공 이후 경과 시간")
+                    .tag("target", name)
+                    .register(registry);
+            Gauge.builder("view_count.pending", pending,
+                            m -> m.values().stream().mapToLong(LongAdder::sum).sum())
+                    .description("아직 DB에 반영되지 않은 조회수 합계")
+                    .tag("target", name)
+                    .register(registry);
+        }
+
+        void increment(Long id) {
+            if (id == null) return;
+            LongAdder adder = pending.computeIfAbsent(id, k -> new LongAdder());
+            adder.increment();
+            // 그 사이 flush가 이 항목을 지웠으면 남은 값을 새 항목으로 옮김 (지운 쪽과 나눠 가져가도 sumThenReset이라 중복/유실 없음)
+            if (pending.get(id) != adder) moveOver(id, adder);
+        }
+
+        private void moveOver(Long id, LongAdder removed) {
+            long late = removed.sumThenReset();
+            if (late > 0) pending.computeIfAbsent(id, k -> new LongAdder()).add(late);
+        }
+
+        long pending(Long id) {
+            LongAdder adder = pending.get(id);
+            long buffered = (adder == null) ? 0L : adder.sum();
+            return buffered + inFlight.getOrDefault(id, 0L);
+        }
+
+        synchronized void flush() {
+            // 1) 증가분을 떼어내서 in-flight로 옮김 (sumThenReset은 셀 단위 getAndSet이라 유실 없음)
+            Map<Long, Long> deltas = new HashMap<>();
+            for (Map.Entry<Long, LongAdder> e : pending.entrySet()) {
+                long delta = e.getValue().sumThenReset();
+                if (delta > 0) {
+                    inFlight.merge(e.getKey(), delta, Long::sum);
+                    deltas.put(e.getKey(), delta);
+                } else if (pending.remove(e.getKey(), e.getValue())) {
+                    // 지난 주기 이후 조회가 없던 항목 정리 (지우는 순간 들어온 증가분은 다시 넣음)
+                    moveOver(e.getKey(), e.getValue());
+                }
+            }
+            if (deltas.isEmpty()) {
+                lastFlushAt.set(System.currentTimeMillis());
+                return;
+            }
+
+            // 2) 같은 증가분끼리 묶어서 UPDATE ... WHERE id IN (...) 한 번씩
+            Map<Long, List<Long>> idsByDelta = new HashMap<>();
+            deltas.forEach((id, delta) -> idsByDelta.computeIfAbsent(delta, k -> new ArrayList<>()).add(id));
+
+            long start = System.nanoTime();
+            boolean failed = false;
+            for (Map.Entry<Long, List<Long>> group : idsByDelta.entrySet()) {
+                int delta = (int) Math.min(group.getKey(), Integer.MAX_VALUE);
+                List<Long> ids = group.getValue();
+                try {
+                    updater.apply(delta, ids);
+                } catch (Exception ex) {
+                    failed = true;
+                    // 실패분은 다시 버퍼로 되돌려 다음 주기에 재시도
+                    log.warn("[ViewCount] {} flush 실패 - {}건 재시도 예정: {}", name, ids.size(), ex.getMessage());
+                    ids.forEach(id -> pending.computeIfAbsent(id, k -> new LongAdder()).add(delta));
+                } finally {
+                    ids.forEach(id -> inFlight.computeIfPresent(id, (k, v) -> (v - delta) <= 0 ? null : v - delta));
+                }
+            }
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            flushSize.record(deltas.size());
+            if (!failed) lastFlushAt.set(System.currentTimeMillis());
+        }
+    }
+}
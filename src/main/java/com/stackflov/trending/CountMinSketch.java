@@ -0,0 +1,80 @@
+package com.stackflov.trending;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Count-Min Sketch (가중치 float, conservative update).
+ * 키 개수와 무관하게 depth × width 칸만 사용하며, 추정값은 실제보다 작지 않습니다.
+ */
+public class CountMinSketch {
+
+    private static final int[] SEEDS = {0x9E3779B1, 0x85EBCA77, 0xC2B2AE3D, 0x27D4EB2F, 0x165667B1, 0xD3A2646C};
+
+    private final int depth;
+    private final int mask;
+    private final float[][] table;
+
+    public CountMinSketch(int depth, int width) {
+        if (depth < 1 || depth > SEEDS.length) throw new IllegalArgumentException("depth는 1~" + SEEDS.length + " 사이여야 합니다.");
+        if (Integer.bitCount(width) != 1) throw new IllegalArgumentException("width는 2의 거듭제곱이어야 합니다.");
+        this.depth = depth;
+        this.mask = width - 1;
+        this.table = new float[depth][width];
+    }
+
+    public void add(String key, float weight) {
+        int h = key.hashCode();
+        int[] slots = new int[depth];
+        float min = Float.MAX_VALUE;
+        for (int d = 0; d < depth; d++) {
+            slots[d] = slot(h, d);
+            min = Math.min(min, table[d][slots[d]]);
+        }
+        // 최솟값이 올라갈 만큼만 올림 → 과대 추정 완화
+        float target = min + weight;
+        for (int d = 0; d < depth; d++) {
+            if (table[d][slots[d]] < target) table[d][slots[d]] = target;
+        }
+    }
+
+    public float estimate(String key) {
+        int h = key.hashCode();
+        float min = Float.MAX_VALUE;
+        for (int d = 0; d < depth; d++) {
+            min = Math.min(min, table[d][slot(h, d)]);
+        }
+        return min;
+    }
+
+    public void clear() {
+        for (float[] row : table) Arrays.fill(row, 0f);
+    }
+
+    private int slot(int hash, int d) {
+        int x = hash * SEEDS[d];
+        x ^= x >>> 15;
+        x *= 0x2C1B3C6D;
+        x ^= x >>> 12;
+        return x & mask;
+    }
+
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(depth);
+        out.writeInt(mask + 1);
+        for (float[] row : table) {
+            for (float v : row) out.writeFloat(v);
+        }
+    }
+
+    void readFrom(DataInputStream in) throws IOException {
+        if (in.readInt() != depth || in.readInt() != mask + 1) {
+            throw new IOException("스케치 크기가 스냅샷과 다릅니다.");
+        }
+        for (float[] row : table) {
+            for (int i = 0; i < row.length; i++) row[i] = in.readFloat();
+        }
+    }
+}
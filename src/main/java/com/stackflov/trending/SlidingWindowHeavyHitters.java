@@ -0,0 +1,102 @@
+package com.stackflov.trending;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * 시간 버킷 링으로 구성한 슬라이딩 윈도우 heavy hitter.
+ * - 버킷마다 CountMinSketch(빈도 추정) + SpaceSavingTopK(후보)를 두고, 윈도우를 벗어난 버킷은 재사용
+ * - 점수 = Σ 버킷 추정값 × 0.5^(버킷 경과 시간 / 반감기)
+ * - 메모리는 buckets × (depth × width + capacity) 로 고정 (태그 종류 수와 무관)
+ * 스레드 안전하지 않음: 동기화는 호출 측에서 담당
+ */
+public class SlidingWindowHeavyHitters {
+
+    public record Entry(String key, double score) {}
+
+    private final long bucketMillis;
+    private final long halfLifeMillis;
+    private final long[] bucketStarts;
+    private final CountMinSketch[] sketches;
+    private final SpaceSavingTopK[] candidates;
+
+    public SlidingWindowHeavyHitters(long windowMillis, int bucketCount, long halfLifeMillis,
+                                     int sketchDepth, int sketchWidth, int candidatesPerBucket) {
+        this.bucketMillis = windowMillis / bucketCount;
+        this.halfLifeMillis = halfLifeMillis;
+        this.bucketStarts = new long[bucketCount];
+        this.sketches = new CountMinSketch[bucketCount];
+        this.candidates = new SpaceSavingTopK[bucketCount];
+        Arrays.fill(bucketStarts, Long.MIN_VALUE);
+        for (int i = 0; i < bucketCount; i++) {
+            sketches[i] = new CountMinSketch(sketchDepth, sketchWidth);
+            candidates[i] = new SpaceSavingTopK(candidatesPerBucket);
+        }
+    }
+
+    public void add(String key, float weight, long nowMillis) {
+        int i = bucketFor(nowMillis);
+        sketches[i].add(key, weight);
+        candidates[i].add(key, weight);
+    }
+
+    public List<Entry> top(int limit, long nowMillis) {
+        long windowStart = nowMillis - bucketMillis * bucketStarts.length;
+        Set<String> keys = new HashSet<>();
+        for (int i = 0; i < bucketStarts.length; i++) {
+            if (bucketStarts[i] > windowStart) keys.addAll(candidates[i].keys());
+        }
+
+        PriorityQueue<Entry> heap = new PriorityQueue<>(Comparator.comparingDouble(Entry::score));
+        for (String key : keys) {
+            double score = 0;
+            for (int i = 0; i < bucketStarts.length; i++) {
+                if (bucketStarts[i] <= windowStart) continue;
+                long age = Math.max(0, nowMillis - (bucketStarts[i] + bucketMillis / 2));
+                score += sketches[i].estimate(key) * Math.pow(0.5, (double) age / halfLifeMillis);
+            }
+            if (score <= 0) continue;
+            heap.add(new Entry(key, score));
+            if (heap.size() > limit) heap.poll();
+        }
+        List<Entry> result = new ArrayList<>(heap);
+        result.sort(Comparator.comparingDouble(Entry::score).reversed());
+        return result;
+    }
+
+    private int bucketFor(long nowMillis) {
+        long start = Math.floorDiv(nowMillis, bucketMillis) * bucketMillis;
+        int i = (int) Math.floorMod(Math.floorDiv(nowMillis, bucketMillis), (long) bucketStarts.length);
+        if (bucketStarts[i] != start) {
+            // 한 바퀴 지난 버킷 → 비우고 재사용
+            bucketStarts[i] = start;
+            sketches[i].clear();
+            candidates[i].clear();
+        }
+        return i;
+    }
+
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(bucketStarts.length);
+        out.writeLong(bucketMillis);
+        for (int i = 0; i < bucketStarts.length; i++) {
+            out.writeLong(bucketStarts[i]);
+            sketches[i].writeTo(out);
+            candidates[i].writeTo(out);
+        }
+    }
+
+    /** 설정(버킷 수/크기)이 바뀐 스냅샷이면 IOException */
+    public void readFrom(DataInputStream in) throws IOException {
+        if (in.readInt() != bucketStarts.length || in.readLong() != bucketMillis) {
+            throw new IOException("윈도우 설정이 스냅샷과 다릅니다.");
+        }
+        for (int i = 0; i < bucketStarts.length; i++) {
+            bucketStarts[i] = in.readLong();
+            sketches[i].readFrom(in);
+            candidates[i].readFrom(in);
+        }
+    }
+}
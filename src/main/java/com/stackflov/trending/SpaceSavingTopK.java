@@ -0,0 +1,70 @@
+package com.stackflov.trending;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Space-Saving 상위 K 후보 추적. 최대 capacity개의 키만 유지하고,
+ * 꽉 찬 상태에서 새 키가 오면 가장 작은 항목을 밀어내고 그 값을 이어받습니다.
+ * (정확한 값은 CountMinSketch로 추정하고, 여기서는 "후보 목록"만 사용)
+ */
+public class SpaceSavingTopK {
+
+    private final int capacity;
+    private final Map<String, float[]> counts = new HashMap<>();
+
+    public SpaceSavingTopK(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public void add(String key, float weight) {
+        float[] count = counts.get(key);
+        if (count != null) {
+            count[0] += weight;
+            return;
+        }
+        if (counts.size() < capacity) {
+            counts.put(key, new float[]{weight});
+            return;
+        }
+        // 가장 작은 항목 교체 (capacity가 작으므로 선형 탐색)
+        String minKey = null;
+        float min = Float.MAX_VALUE;
+        for (Map.Entry<String, float[]> e : counts.entrySet()) {
+            if (e.getValue()[0] < min) {
+                min = e.getValue()[0];
+                minKey = e.getKey();
+            }
+        }
+        counts.remove(minKey);
+        counts.put(key, new float[]{min + weight});
+    }
+
+    public Set<String> keys() {
+        return Collections.unmodifiableSet(counts.keySet());
+    }
+
+    public void clear() {
+        counts.clear();
+    }
+
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(counts.size());
+        for (Map.Entry<String, float[]> e : counts.entrySet()) {
+            out.writeUTF(e.getKey());
+            out.writeFloat(e.getValue()[0]);
+        }
+    }
+
+    void readFrom(DataInputStream in) throws IOException {
+        counts.clear();
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            String key = in.readUTF();
+            float count = in.readFloat();
+            if (counts.size() < capacity) counts.put(key, new float[]{count});
+        }
+    }
+}
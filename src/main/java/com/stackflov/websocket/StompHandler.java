@@ -75,6 +75,18 @@ public class StompHandler implements ChannelInterceptor {
         if (roomId != null) {
             ensureParticipant(acc, roomId);
         }
+        // /sub/badge/{userId} 는 본인만 구독
+        if (dest != null && dest.startsWith("/sub/badge/")) {
+            ensureSelf(acc, dest.substring("/sub/badge/".length()));
+        }
+    }
+
+    private void ensureSelf(StompHeaderAccessor acc, String userId) {
+        if (!(acc.getUser() instanceof UsernamePasswordAuthenticationToken token)
+                || !(token.getPrincipal() instanceof CustomUserPrincipal p)
+                || !String.valueOf(p.getId()).equals(userId)) {
+            throw new org.springframework.security.access.AccessDeniedException("본인 배지만 구독할 수 있습니다.");
+        }
     }
 
     private void handleSend(Message<?> message, StompHeaderAccessor acc) {
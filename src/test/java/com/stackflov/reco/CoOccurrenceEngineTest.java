@@ -0,0 +1,168 @@
+package com.stackflov.reco;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoOccurrenceEngineTest {
+
+    private static final int MAX_BASKET = 5;
+    private static final int TOP_K = 4;
+
+    // 고정 데이터: 사용자 300명, 게시글 40개 (중복/한 개짜리 바구니 포함)
+    private static List<long[]> fixedBaskets() {
+        Random random = new Random(7);
+        List<long[]> baskets = new ArrayList<>();
+        for (int u = 0; u < 300; u++) {
+            long[] basket = new long[1 + random.nextInt(8)];
+            for (int i = 0; i < basket.length; i++) basket[i] = 1000 + random.nextInt(40);
+            baskets.add(basket);
+        }
+        return baskets;
+    }
+
+    @Test
+    void matchesBoxedCosineOnFixedDataset() {
+        List<long[]> baskets = fixedBaskets();
+        Map<Long, List<Map.Entry<Long, Double>>> expected = boxedReference(baskets, MAX_BASKET, TOP_K);
+
+        Map<Long, List<Map.Entry<Long, Double>>> actual = new HashMap<>();
+        CoOccurrenceEngine engine = new CoOccurrenceEngine(MAX_BASKET, 4); // 작게 시작해서 grow도 거침
+        for (long[] basket : baskets) engine.addBasket(basket, basket.length);
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            engine.compute(pool, 7, TOP_K, (a, bs, sims, n) -> {
+                List<Map.Entry<Long, Double>> row = new ArrayList<>();
+                for (int i = 0; i < n; i++) row.add(Map.entry(bs[i], sims[i]));
+                assertNull(actual.put(a, row), "boardA가 두 번 나옴: " + a);
+            });
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(expected.keySet(), actual.keySet());
+        for (Long a : expected.keySet()) {
+            List<Map.Entry<Long, Double>> want = expected.get(a);
+            List<Map.Entry<Long, Double>> got = actual.get(a);
+            assertEquals(want.size(), got.size(), "boardA " + a);
+            for (int i = 0; i < want.size(); i++) {
+                assertEquals(want.get(i).getKey(), got.get(i).getKey(), "boardA " + a + " 순위 " + i);
+                assertEquals(want.get(i).getValue(), got.get(i).getValue(), 1e-12);
+            }
+        }
+    }
+
+    @Test
+    void exposesRawCountsForDeltaStore() {
+        List<long[]> baskets = fixedBaskets();
+        Map<Long, Integer> expectedUsers = new HashMap<>();
+        Map<List<Long>, Integer> expectedPairs = new HashMap<>();
+        for (long[] basket : baskets) {
+            List<Long> list = new ArrayList<>(new LinkedHashSet<>(Arrays.stream(basket).boxed().toList()));
+            if (list.size() > MAX_BASKET) list = list.subList(0, MAX_BASKET);
+            for (Long a : list) {
+                expectedUsers.merge(a, 1, Integer::sum);
+                for (Long b : list) {
+                    if (!a.equals(b)) expectedPairs.merge(List.of(a, b), 1, Integer::sum);
+                }
+            }
+        }
+
+        CoOccurrenceEngine engine = new CoOccurrenceEngine(MAX_BASKET);
+        for (long[] basket : baskets) engine.addBasket(basket, basket.length);
+        Map<Long, Integer> users = new HashMap<>();
+        engine.forEachBoard((boardId, count) -> assertNull(users.put(boardId, count), "게시글이 두 번 나옴: " + boardId));
+        Map<List<Long>, Integer> pairs = new HashMap<>();
+        engine.forEachCooccurrence((a, bs, counts, n) -> {
+            for (int i = 0; i < n; i++) assertNull(pairs.put(List.of(a, bs[i]), counts[i]), "쌍이 두 번 나옴");
+        });
+
+        assertEquals(expectedUsers, users);
+        assertEquals(expectedPairs, pairs);
+    }
+
+    @Test
+    void removesDuplicatesBeforeBasketCap() {
+        CoOccurrenceEngine engine = new CoOccurrenceEngine(3);
+        // 중복을 빼면 10, 20, 30 → 세 개 모두 바구니에 들어가야 함
+        engine.addBasket(new long[]{10, 10, 20, 10, 30, 40}, 6);
+        engine.addBasket(new long[]{20, 30}, 2);
+
+        Map<Long, Set<Long>> neighbors = new HashMap<>();
+        ForkJoinPool pool = new ForkJoinPool(1);
+        try {
+            engine.compute(pool, 1, 10, (a, bs, sims, n) -> {
+                Set<Long> set = new HashSet<>();
+                for (int i = 0; i < n; i++) set.add(bs[i]);
+                neighbors.put(a, set);
+            });
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(Set.of(20L, 30L), neighbors.get(10L));
+        assertFalse(neighbors.containsKey(40L));
+        assertEquals(3, engine.boardCount());
+        assertEquals(3 * 2 + 2, engine.pairCount());
+    }
+
+    @Test
+    void singleBoardBasketsCountButProduceNoRows() {
+        CoOccurrenceEngine engine = new CoOccurrenceEngine(MAX_BASKET);
+        engine.addBasket(new long[]{1, 2}, 2);
+        engine.addBasket(new long[]{1}, 1);
+
+        Map<Long, Double> sims = new HashMap<>();
+        ForkJoinPool pool = new ForkJoinPool(1);
+        try {
+            engine.compute(pool, 2, TOP_K, (a, bs, s, n) -> {
+                for (int i = 0; i < n; i++) sims.put(a * 100 + bs[i], s[i]);
+            });
+        } finally {
+            pool.shutdown();
+        }
+        // cnt(1) = 2, cnt(2) = 1, co = 1
+        assertEquals(1 / Math.sqrt(2), sims.get(102L), 1e-12);
+        assertEquals(1 / Math.sqrt(2), sims.get(201L), 1e-12);
+        assertEquals(2, sims.size());
+    }
+
+    /**
+     * 기존 ItemSimilarityService의 박싱 방식 (중복 제거 후 상한).
+     * 기존 코드는 동점 순서가 HashMap 순회에 달려 있었으므로, 엔진과 같이 먼저 등장한 게시글을 앞에 둡니다.
+     */
+    private static Map<Long, List<Map.Entry<Long, Double>>> boxedReference(List<long[]> baskets, int maxBasket, int topK) {
+        Map<Long, Integer> boardCnt = new HashMap<>();
+        Map<Long, Integer> firstSeen = new HashMap<>();
+        Map<Long, Map<Long, Integer>> co = new HashMap<>();
+        for (long[] basket : baskets) {
+            LinkedHashSet<Long> unique = new LinkedHashSet<>();
+            for (long b : basket) unique.add(b);
+            List<Long> list = new ArrayList<>(unique);
+            if (list.size() > maxBasket) list = list.subList(0, maxBasket);
+            for (Long a : list) {
+                boardCnt.merge(a, 1, Integer::sum);
+                firstSeen.putIfAbsent(a, firstSeen.size());
+            }
+            for (int i = 0; i < list.size(); i++) {
+                for (int j = 0; j < list.size(); j++) {
+                    if (i == j) continue;
+                    co.computeIfAbsent(list.get(i), k -> new HashMap<>()).merge(list.get(j), 1, Integer::sum);
+                }
+            }
+        }
+
+        Map<Long, List<Map.Entry<Long, Double>>> out = new HashMap<>();
+        co.forEach((a, row) -> {
+            int cntA = boardCnt.get(a);
+            out.put(a, row.entrySet().stream()
+                    .map(en -> Map.entry(en.getKey(), en.getValue() / Math.sqrt((double) cntA * boardCnt.get(en.getKey()))))
+                    .sorted(Map.Entry.<Long, Double>comparingByValue().reversed().thenComparing(en -> firstSeen.get(en.getKey())))
+                    .limit(topK)
+                    .toList());
+        });
+        return out;
+    }
+}
@@ -0,0 +1,31 @@
+package com.stackflov.reco;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeatureDictionaryTest {
+
+    @Test
+    void looksUpValuesIgnoringCaseLikeTheDbCollation() {
+        FeatureDictionary dictionary = new FeatureDictionary();
+        dictionary.put(3, "TAG", "java");
+
+        assertEquals(3, dictionary.get("TAG", "Java"));
+        assertEquals(3, dictionary.get("TAG", "JAVA"));
+        assertEquals("java", dictionary.valueOf(3));
+        assertEquals(-1, dictionary.get("AUTHOR", "java"));
+    }
+
+    @Test
+    void growsPastInitialCapacity() {
+        FeatureDictionary dictionary = new FeatureDictionary();
+        dictionary.put(5000, "CATEGORY", "3");
+        dictionary.put(1, "CATEGORY", "4");
+
+        assertEquals(5000, dictionary.get("CATEGORY", "3"));
+        assertEquals("CATEGORY", dictionary.typeOf(5000));
+        assertEquals(2, dictionary.size());
+        assertNull(dictionary.typeOf(999_999));
+    }
+}
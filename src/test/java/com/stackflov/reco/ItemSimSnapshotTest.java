@@ -0,0 +1,99 @@
+package com.stackflov.reco;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemSimSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripsRowsInWrittenOrder() throws IOException {
+        Path file = dir.resolve("item-sim-7.csr");
+        try (ItemSimSnapshot.Writer writer = ItemSimSnapshot.writer(file, 7)) {
+            writer.add(10, 11, 0.9f);
+            writer.add(10, 12, 0.5f);
+            writer.add(20, 10, 0.8f);
+            // boardA 1500개: Writer 내부 표가 커지는 경로
+            for (long a = 100; a < 1600; a++) writer.add(a, a + 1, 0.1f);
+            writer.finish();
+            assertEquals(1502, writer.rows());
+            assertEquals(1503, writer.pairs());
+        }
+
+        ItemSimSnapshot snapshot = ItemSimSnapshot.open(file);
+        assertEquals(7, snapshot.generation());
+        assertEquals(1502, snapshot.rows());
+        assertEquals(1503, snapshot.pairs());
+
+        List<String> neighbors = new ArrayList<>();
+        assertEquals(2, snapshot.forEachSimilar(10, 50, (b, sim) -> neighbors.add(b + ":" + sim)));
+        assertEquals(List.of("11:0.9", "12:0.5"), neighbors);
+
+        neighbors.clear();
+        assertEquals(1, snapshot.forEachSimilar(20, 50, (b, sim) -> neighbors.add(b + ":" + sim)));
+        assertEquals(List.of("10:0.8"), neighbors);
+
+        neighbors.clear();
+        assertEquals(1, snapshot.forEachSimilar(1599, 50, (b, sim) -> neighbors.add(b + ":" + sim)));
+        assertEquals(List.of("1600:0.1"), neighbors);
+    }
+
+    @Test
+    void cutsOffAtLimit() throws IOException {
+        Path file = dir.resolve("limit.csr");
+        try (ItemSimSnapshot.Writer writer = ItemSimSnapshot.writer(file, 1)) {
+            for (int b = 0; b < 5; b++) writer.add(1, 100 + b, 1.0f - b * 0.1f);
+            writer.finish();
+        }
+
+        List<Long> neighbors = new ArrayList<>();
+        assertEquals(3, ItemSimSnapshot.open(file).forEachSimilar(1, 3, (b, sim) -> neighbors.add(b)));
+        assertEquals(List.of(100L, 101L, 102L), neighbors);
+    }
+
+    @Test
+    void returnsZeroForMissingBoard() throws IOException {
+        Path file = dir.resolve("missing.csr");
+        try (ItemSimSnapshot.Writer writer = ItemSimSnapshot.writer(file, 1)) {
+            writer.add(5, 6, 0.3f);
+            writer.add(9, 6, 0.2f);
+            writer.finish();
+        }
+
+        ItemSimSnapshot snapshot = ItemSimSnapshot.open(file);
+        for (long missing : new long[]{1, 7, 100}) {
+            assertEquals(0, snapshot.forEachSimilar(missing, 10, (b, sim) -> fail("이웃이 없어야 함: " + b)));
+        }
+    }
+
+    @Test
+    void opensEmptySnapshot() throws IOException {
+        Path file = dir.resolve("empty.csr");
+        try (ItemSimSnapshot.Writer writer = ItemSimSnapshot.writer(file, 3)) {
+            writer.finish();
+        }
+
+        ItemSimSnapshot snapshot = ItemSimSnapshot.open(file);
+        assertEquals(3, snapshot.generation());
+        assertEquals(0, snapshot.rows());
+        assertEquals(0, snapshot.pairs());
+        assertEquals(0, snapshot.forEachSimilar(1, 10, (b, sim) -> fail("이웃이 없어야 함: " + b)));
+    }
+
+    @Test
+    void rejectsBoardAOutOfOrder() throws IOException {
+        try (ItemSimSnapshot.Writer writer = ItemSimSnapshot.writer(dir.resolve("order.csr"), 1)) {
+            writer.add(5, 6, 0.3f);
+            assertThrows(IllegalArgumentException.class, () -> writer.add(4, 6, 0.3f));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.stackflov.reco;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongIntHashMapTest {
+
+    @Test
+    void keepsAllEntriesAcrossResizes() {
+        LongIntHashMap map = new LongIntHashMap(4);
+        for (long key = 1; key <= 10_000; key++) {
+            assertEquals((int) key, map.putIfAbsent(key * 31, (int) key));
+        }
+        assertEquals(10_000, map.size());
+        for (long key = 1; key <= 10_000; key++) {
+            assertEquals((int) key, map.get(key * 31, -1));
+        }
+        assertEquals(-1, map.get(7, -1));
+    }
+
+    @Test
+    void putIfAbsentKeepsExistingValue() {
+        LongIntHashMap map = new LongIntHashMap();
+        assertEquals(5, map.putIfAbsent(42, 5));
+        assertEquals(5, map.putIfAbsent(42, 9));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void addToAccumulatesIncludingNegativeKeys() {
+        LongIntHashMap map = new LongIntHashMap(2);
+        for (int i = 0; i < 1_000; i++) {
+            map.addTo(-(i % 50) - 1, 2);
+        }
+        assertEquals(50, map.size());
+        assertEquals(40, map.get(-1, 0));
+        assertEquals(40, map.addTo(-50, 0));
+    }
+
+    @Test
+    void handlesZeroKeySeparately() {
+        LongIntHashMap map = new LongIntHashMap();
+        assertEquals(-1, map.get(0, -1));
+        assertEquals(3, map.putIfAbsent(0, 3));
+        assertEquals(3, map.putIfAbsent(0, 8));
+        assertEquals(5, map.addTo(0, 2));
+        map.addTo(1, 1);
+        assertEquals(2, map.size());
+
+        Map<Long, Integer> seen = new HashMap<>();
+        map.forEach(seen::put);
+        assertEquals(Map.of(0L, 5, 1L, 1), seen);
+
+        map.clear();
+        assertEquals(0, map.size());
+        assertEquals(-1, map.get(0, -1));
+        assertEquals(-1, map.get(1, -1));
+    }
+}
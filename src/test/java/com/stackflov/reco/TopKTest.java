@@ -0,0 +1,58 @@
+package com.stackflov.reco;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopKTest {
+
+    @Test
+    void keepsHighestScoresInDescendingOrder() {
+        TopK heap = new TopK(3);
+        double[] scores = {0.5, 0.9, 0.1, 0.7, 0.3, 0.8};
+        for (int id = 0; id < scores.length; id++) heap.offer(id, scores[id]);
+
+        int[] ids = new int[3];
+        double[] out = new double[3];
+        assertEquals(3, heap.drainDescending(ids, out));
+        assertArrayEquals(new int[]{1, 5, 3}, ids);
+        assertArrayEquals(new double[]{0.9, 0.8, 0.7}, out);
+        assertEquals(0, heap.size());
+    }
+
+    @Test
+    void prefersSmallerIdOnTies() {
+        TopK heap = new TopK(2);
+        heap.offer(9, 1.0);
+        heap.offer(4, 1.0);
+        heap.offer(7, 1.0);
+        heap.offer(2, 0.5);
+
+        int[] ids = new int[2];
+        double[] out = new double[2];
+        assertEquals(2, heap.drainDescending(ids, out));
+        assertArrayEquals(new int[]{4, 7}, ids);
+    }
+
+    @Test
+    void returnsFewerThanKAndCanBeReused() {
+        TopK heap = new TopK(4);
+        heap.offer(1, 0.2);
+        heap.offer(2, 0.6);
+
+        int[] ids = new int[4];
+        double[] out = new double[4];
+        assertEquals(2, heap.drainDescending(ids, out));
+        assertEquals(2, ids[0]);
+        assertEquals(1, ids[1]);
+
+        heap.offer(3, 0.1);
+        assertEquals(1, heap.drainDescending(ids, out));
+        assertEquals(3, ids[0]);
+    }
+
+    @Test
+    void rejectsNonPositiveK() {
+        assertThrows(IllegalArgumentException.class, () -> new TopK(0));
+    }
+}